@@ -0,0 +1,72 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.io.error.RdfWriterException;
+import com.apicatalog.rdf.io.error.UnsupportedContentException;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfCanonicalizer;
+import io.setl.rdf.normalization.RdfNormalize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the URDNA2015 canonicalization of the RDF dataset of a verifiable credential with <code>RdfNormalize</code>, and with the
+ * {@link RdfCanonicalizer}: to a canonical dataset, and to the canonical N-Quads which are signed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CanonicalizationBenchmark {
+
+	@Param({"organisation", "dataProduct"})
+	private String verifiableCredential;
+
+	private RdfDataset rdfDataset;
+
+	@Setup
+	public void setup() {
+		final JsonLdRdfEmitter emitter = new JsonLdRdfEmitter(Fixtures.formatProvider(), () -> Fixtures.BASE_IRI);
+		rdfDataset = emitter.toRdfDataset("organisation".equals(verifiableCredential)
+				? Fixtures.organisationVerifiableCredential()
+				: Fixtures.dataProductVerifiableCredential(10));
+	}
+
+	@Benchmark
+	public RdfDataset rdfNormalize() {
+		return RdfNormalize.normalize(rdfDataset);
+	}
+
+	@Benchmark
+	public RdfDataset rdfCanonicalizer() {
+		return RdfCanonicalizer.canonicalize(rdfDataset);
+	}
+
+	@Benchmark
+	public void rdfNormalizeNQuads() throws IOException, RdfWriterException, UnsupportedContentException {
+		RdfProvider.provider().createWriter(MediaType.N_QUADS, Writer.nullWriter()).write(RdfNormalize.normalize(rdfDataset));
+	}
+
+	@Benchmark
+	public void rdfCanonicalizerNQuads() throws IOException {
+		RdfCanonicalizer.writeNQuads(rdfDataset, OutputStream.nullOutputStream());
+	}
+}
@@ -0,0 +1,67 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Distribution;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Location;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.PersonalDataPolicy;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.serialization.JacksonModuleFactory;
+import com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Verifiable credentials and serialization configuration shared by the benchmarks, built from the
+ * {@link VerifiableCredentialFixtures} of the model tests
+ */
+public class Fixtures {
+
+	public static final String BASE_IRI = "https://dawex.com";
+
+	private Fixtures() {
+		// no instance allowed
+	}
+
+	public static FormatProvider formatProvider() {
+		return VerifiableCredentialFixtures.getFormatProvider();
+	}
+
+	public static ObjectMapper objectMapper() {
+		final FormatProvider formatProvider = formatProvider();
+		final ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.registerModule(JacksonModuleFactory.organisationSerializationModule(formatProvider, () -> BASE_IRI));
+		objectMapper.registerModule(JacksonModuleFactory.dataProductSerializationModule(formatProvider, () -> BASE_IRI));
+		return objectMapper;
+	}
+
+	public static OrganisationVerifiableCredential organisationVerifiableCredential() {
+		return VerifiableCredentialFixtures.getOrganisationVerifiableCredential();
+	}
+
+	/**
+	 * Returns a data product verifiable credential with the specified number of distributions
+	 */
+	public static DataProductVerifiableCredential dataProductVerifiableCredential(int distributionCount) {
+		return VerifiableCredentialFixtures.getDataProductVerifiableCredential(List.of(
+				VerifiableCredentialFixtures.getAggregationOf("62bac14584fd784b1541e9cb", PersonalDataPolicy.NO_PERSONAL_DATA,
+						IntStream.range(0, distributionCount)
+								.mapToObj(Fixtures::distribution)
+								.toList())));
+	}
+
+	private static Distribution distribution(int index) {
+		return Distribution.builder()
+				.title("tangerine-%d.csv".formatted(index))
+				.mediaType("text/csv")
+				.byteSize(139855L + index)
+				.fileHash("37f5d519788d497dcaaa345ba0cb9629fb13ffe23011eb7751796153985a86fb")
+				.algorithm("SHA-256")
+				.location(Location.builder()
+						.dataCenterLocation("Europe (Ireland)")
+						.build())
+				.build();
+	}
+}
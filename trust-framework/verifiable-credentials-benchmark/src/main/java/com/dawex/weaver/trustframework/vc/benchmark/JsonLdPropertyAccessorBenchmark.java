@@ -0,0 +1,61 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdPropertyAccessor;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the JSON-LD properties of a {@link DataProductVerifiableCredential} through {@link Method#invoke} (the former
+ * serialization path) and through the generated {@link JsonLdPropertyAccessor}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLdPropertyAccessorBenchmark {
+
+	private DataProductVerifiableCredential verifiableCredential;
+
+	private Method[] readMethods;
+
+	private JsonLdPropertyAccessor[] accessors;
+
+	@Setup
+	public void setup() {
+		verifiableCredential = Fixtures.dataProductVerifiableCredential(1);
+		final var properties = JsonLdSerializationPlan.of(DataProductVerifiableCredential.class).getProperties();
+		readMethods = properties.stream().map(JsonLdSerializationPlan.Property::readMethod).toArray(Method[]::new);
+		accessors = properties.stream().map(JsonLdSerializationPlan.Property::accessor).toArray(JsonLdPropertyAccessor[]::new);
+	}
+
+	@Benchmark
+	public void methodInvoke(Blackhole blackhole) throws InvocationTargetException, IllegalAccessException {
+		for (Method readMethod : readMethods) {
+			blackhole.consume(readMethod.invoke(verifiableCredential));
+		}
+	}
+
+	@Benchmark
+	public void generatedAccessor(Blackhole blackhole) {
+		for (JsonLdPropertyAccessor accessor : accessors) {
+			blackhole.consume(accessor.get(verifiableCredential));
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.dawex.weaver.trustframework.vc.core.jose.DetachedJwsSigner;
+import com.dawex.weaver.trustframework.vc.core.jose.JwkSetUtils;
+import com.nimbusds.jose.HeaderParameterNames;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the detached PS256 signing of a canonical document digest through a Nimbus <code>JWSObject</code>, as done before, with the
+ * {@link DetachedJwsSigner}, which reuses the encoded header and the initialized signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwsSigningBenchmark {
+
+	private static final String DIGEST = "4f2d3c6a2a1c8f4e0b0a7e8e6b2ad0c2c6f1f3b1e9f1d4c1a0b6a9c4d0f8e7a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f60718293a4b5c6d7e8f9";
+
+	private RSASSASigner nimbusSigner;
+
+	private DetachedJwsSigner detachedJwsSigner;
+
+	@Setup
+	public void setup() throws JOSEException {
+		final RSAKey rsaKey = (RSAKey) JwkSetUtils.createKeys("Benchmark", 1).jwkSet().getKeys().get(0);
+		nimbusSigner = new RSASSASigner(rsaKey);
+		detachedJwsSigner = new DetachedJwsSigner(rsaKey);
+	}
+
+	@Benchmark
+	public String nimbusJwsObject() throws JOSEException {
+		final JWSObject jwsObject = new JWSObject(
+				new JWSHeader.Builder(JWSAlgorithm.PS256)
+						.base64URLEncodePayload(false)
+						.criticalParams(Set.of(HeaderParameterNames.BASE64_URL_ENCODE_PAYLOAD))
+						.build(),
+				new Payload(DIGEST));
+		jwsObject.sign(nimbusSigner);
+		return jwsObject.serialize(true);
+	}
+
+	@Benchmark
+	public String detachedJwsSigner() throws JOSEException {
+		return detachedJwsSigner.sign(DIGEST);
+	}
+}
@@ -0,0 +1,56 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfCanonicalizer;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and the parallel canonicalization to N-Quads of the RDF dataset of a {@link DataProductVerifiableCredential}
+ * with many distributions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelCanonicalizationBenchmark {
+
+	@Param({"100", "1000"})
+	private int distributionCount;
+
+	private RdfDataset rdfDataset;
+
+	@Setup
+	public void setup() {
+		final JsonLdRdfEmitter emitter = new JsonLdRdfEmitter(Fixtures.formatProvider(), () -> Fixtures.BASE_IRI);
+		rdfDataset = emitter.toRdfDataset(Fixtures.dataProductVerifiableCredential(distributionCount));
+	}
+
+	@Benchmark
+	public void sequential() throws IOException {
+		RdfCanonicalizer.writeNQuads(rdfDataset, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void parallel() throws IOException {
+		RdfCanonicalizer.writeNQuads(rdfDataset, OutputStream.nullOutputStream(), ForkJoinPool.commonPool(), 0);
+	}
+}
@@ -0,0 +1,64 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares getting the RDF dataset of a {@link DataProductVerifiableCredential} by serializing it to JSON-LD and expanding it with
+ * titanium (the signature path for a serialized document), and by emitting it with the {@link JsonLdRdfEmitter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RdfDatasetBenchmark {
+
+	@Param({"1", "10"})
+	private int distributionCount;
+
+	private DataProductVerifiableCredential verifiableCredential;
+
+	private ObjectMapper objectMapper;
+
+	private JsonLdRdfEmitter emitter;
+
+	@Setup
+	public void setup() {
+		verifiableCredential = Fixtures.dataProductVerifiableCredential(distributionCount);
+		objectMapper = Fixtures.objectMapper();
+		emitter = new JsonLdRdfEmitter(Fixtures.formatProvider(), () -> Fixtures.BASE_IRI);
+	}
+
+	@Benchmark
+	public RdfDataset serializeAndExpand() throws JsonProcessingException, JsonLdError {
+		final String json = objectMapper.writeValueAsString(verifiableCredential);
+		return JsonLd.toRdf(JsonDocument.of(new StringReader(json))).get();
+	}
+
+	@Benchmark
+	public RdfDataset emit() {
+		return emitter.toRdfDataset(verifiableCredential);
+	}
+}
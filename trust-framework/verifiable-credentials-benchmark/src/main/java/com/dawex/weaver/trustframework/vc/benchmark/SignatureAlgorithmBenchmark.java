@@ -0,0 +1,68 @@
+package com.dawex.weaver.trustframework.vc.benchmark;
+
+import com.dawex.weaver.trustframework.vc.core.jose.DetachedJwsSigner;
+import com.dawex.weaver.trustframework.vc.core.jose.JwkSetUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.Keyring;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.jwk.JWK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the signing and the verification of a detached JWS with the supported key algorithms: PS256 with 2048-bit RSA keys, ES256
+ * with P-256 EC keys, and EdDSA with Ed25519 keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+	private static final String DIGEST = "4f2d3c6a2a1c8f4e0b0a7e8e6b2ad0c2c6f1f3b1e9f1d4c1a0b6a9c4d0f8e7a1";
+
+	@Param({"RSA", "EC_P256", "ED25519"})
+	private JwkSetUtils.KeyAlgorithm keyAlgorithm;
+
+	private DetachedJwsSigner signer;
+
+	private Keyring keyring;
+
+	private String keyId;
+
+	private String signature;
+
+	@Setup
+	public void setup() throws JOSEException {
+		final JWK jwk = JwkSetUtils.createKeys("Benchmark", 1, keyAlgorithm).jwkSet().getKeys().get(0);
+		signer = new DetachedJwsSigner(jwk);
+		keyring = Keyring.builder().key(jwk.toPublicJWK()).build();
+		keyId = jwk.getKeyID();
+		signature = signer.sign(DIGEST);
+	}
+
+	@Benchmark
+	public String sign() throws JOSEException {
+		return signer.sign(DIGEST);
+	}
+
+	@Benchmark
+	public boolean verify() throws JOSEException, ParseException {
+		return JWSObject.parse(signature, new Payload(DIGEST)).verify(keyring.getVerifier(keyId));
+	}
+}
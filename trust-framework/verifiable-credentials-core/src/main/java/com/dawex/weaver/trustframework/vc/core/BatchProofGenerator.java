@@ -0,0 +1,268 @@
+package com.dawex.weaver.trustframework.vc.core;
+
+import com.dawex.weaver.trustframework.vc.core.jose.DetachedJwsSigner;
+import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.SignatureConfiguration;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter;
+import com.dawex.weaver.trustframework.vc.core.serialization.JsonLdWriter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates the proofs of many documents, each document being serialized (or emitted as an RDF dataset), canonicalized and signed on
+ * a thread of the executor. The results are returned in the order of the documents, one per document: a document which cannot be
+ * signed gets a failed result, without failing the others.
+ * <p>
+ * At most <code>maxInFlight</code> documents are being signed or waiting to be consumed at the same time, so that a stream of
+ * documents is signed without being loaded in memory at once.
+ * <p>
+ * By default, the documents are signed on a dedicated pool of the generator, with a thread per processor: its threads are daemon
+ * threads which stop when idle, so that it does not need to be shut down, and a document submitted while the pool is saturated is
+ * signed by the consuming thread. An executor set through the builder is not shut down by the generator, but by its caller.
+ */
+public class BatchProofGenerator {
+
+	private final DetachedJwsSigner signer;
+
+	private final String verificationMethod;
+
+	private final String proofType;
+
+	private final SignatureConfiguration configuration;
+
+	private final JsonLdWriter jsonLdWriter;
+
+	private final JsonLdRdfEmitter rdfEmitter;
+
+	private final Executor executor;
+
+	private final int maxInFlight;
+
+	private BatchProofGenerator(DetachedJwsSigner signer, String verificationMethod, String proofType,
+			SignatureConfiguration configuration, JsonLdWriter jsonLdWriter, JsonLdRdfEmitter rdfEmitter, Executor executor,
+			int maxInFlight) {
+		this.signer = signer;
+		this.verificationMethod = verificationMethod;
+		this.proofType = proofType;
+		this.configuration = configuration;
+		this.jsonLdWriter = jsonLdWriter;
+		this.rdfEmitter = rdfEmitter;
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+	}
+
+	public static BatchProofGeneratorBuilder builder() {
+		return new BatchProofGeneratorBuilder();
+	}
+
+	/**
+	 * Signs the documents, and returns their results in the same order
+	 */
+	public <T> List<SigningResult<T>> generateProofs(Collection<? extends T> payloads) {
+		try (Stream<SigningResult<T>> results = generateProofs(payloads.stream())) {
+			return results.toList();
+		}
+	}
+
+	/**
+	 * Returns the results of the documents of the stream, in the same order. The documents are signed as the results are consumed,
+	 * and closing the returned stream closes the stream of documents.
+	 */
+	public <T> Stream<SigningResult<T>> generateProofs(Stream<? extends T> payloads) {
+		final Iterator<? extends T> iterator = payloads.iterator();
+		final Spliterator<SigningResult<T>> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+
+			private final Deque<CompletableFuture<SigningResult<T>>> inFlight = new ArrayDeque<>();
+
+			private long index;
+
+			@Override
+			public boolean tryAdvance(Consumer<? super SigningResult<T>> action) {
+				while (inFlight.size() < maxInFlight && iterator.hasNext()) {
+					final long payloadIndex = index++;
+					final T payload = iterator.next();
+					inFlight.add(CompletableFuture.supplyAsync(() -> generateProof(payloadIndex, payload), executor));
+				}
+				final CompletableFuture<SigningResult<T>> next = inFlight.poll();
+				if (next == null) {
+					return false;
+				}
+				action.accept(next.join());
+				return true;
+			}
+		};
+		return StreamSupport.stream(spliterator, false).onClose(payloads::close);
+	}
+
+	private <T> SigningResult<T> generateProof(long index, T payload) {
+		try {
+			final Proof proof = rdfEmitter != null
+					? ProofGenerator.generateProof(rdfEmitter.toRdfDataset(payload), proofType, verificationMethod, signer, configuration)
+					: ProofGenerator.generateProof(jsonLdWriter.writeAsBytes(payload), proofType, verificationMethod, signer, configuration);
+			return new SigningResult<>(index, payload, new SignedObject<>(payload, proof), null);
+		} catch (Throwable e) {
+			// the errors, e.g. a StackOverflowError on a deeply nested document, only fail the document as well
+			return new SigningResult<>(index, payload, null, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BatchProofGenerator{" +
+				"signer=" + signer +
+				", verificationMethod='" + verificationMethod + '\'' +
+				", proofType='" + proofType + '\'' +
+				", configuration=" + configuration +
+				", executor=" + executor +
+				", maxInFlight=" + maxInFlight +
+				'}';
+	}
+
+	/**
+	 * The result of the signature of a document: either the signed document, or the error which prevented signing it
+	 *
+	 * @param index the position of the document in the batch
+	 */
+	public record SigningResult<T>(long index, T payload, SignedObject<T> signedObject, Throwable error) {
+
+		public boolean isSuccess() {
+			return error == null;
+		}
+	}
+
+	public static class BatchProofGeneratorBuilder {
+		private DetachedJwsSigner signer;
+
+		private String verificationMethod;
+
+		private String proofType = JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+
+		private SignatureConfiguration configuration = SignatureConfiguration.DEFAULT;
+
+		private JsonLdWriter jsonLdWriter;
+
+		private JsonLdRdfEmitter rdfEmitter;
+
+		private Executor executor;
+
+		private int maxInFlight = 4 * Runtime.getRuntime().availableProcessors();
+
+		BatchProofGeneratorBuilder() {
+		}
+
+		/**
+		 * Signs the documents with the signer, e.g. of a {@link com.dawex.weaver.trustframework.vc.core.jose.Keyring}
+		 */
+		public BatchProofGeneratorBuilder signer(DetachedJwsSigner signer) {
+			this.signer = Objects.requireNonNull(signer, "signer");
+			return this;
+		}
+
+		public BatchProofGeneratorBuilder verificationMethod(String verificationMethod) {
+			this.verificationMethod = verificationMethod;
+			return this;
+		}
+
+		public BatchProofGeneratorBuilder proofType(String proofType) {
+			this.proofType = Objects.requireNonNull(proofType, "proofType");
+			return this;
+		}
+
+		/**
+		 * Canonicalizes the documents with the canonicalizer of the proof type in the configuration, instead of the default one
+		 */
+		public BatchProofGeneratorBuilder configuration(SignatureConfiguration configuration) {
+			this.configuration = Objects.requireNonNull(configuration, "configuration");
+			return this;
+		}
+
+		/**
+		 * Signs the documents serialized in UTF-8 by the writer
+		 */
+		public BatchProofGeneratorBuilder jsonLdWriter(JsonLdWriter jsonLdWriter) {
+			this.jsonLdWriter = Objects.requireNonNull(jsonLdWriter, "jsonLdWriter");
+			this.rdfEmitter = null;
+			return this;
+		}
+
+		/**
+		 * Signs the RDF datasets emitted from the documents, skipping their serialization and JSON-LD expansion
+		 */
+		public BatchProofGeneratorBuilder rdfEmitter(JsonLdRdfEmitter rdfEmitter) {
+			this.rdfEmitter = Objects.requireNonNull(rdfEmitter, "rdfEmitter");
+			this.jsonLdWriter = null;
+			return this;
+		}
+
+		/**
+		 * Signs the documents on the executor, which the caller shuts down once the generator is no longer used
+		 */
+		public BatchProofGeneratorBuilder executor(Executor executor) {
+			this.executor = Objects.requireNonNull(executor, "executor");
+			return this;
+		}
+
+		public BatchProofGeneratorBuilder maxInFlight(int maxInFlight) {
+			if (maxInFlight < 1) {
+				throw new IllegalArgumentException("The maximum number of documents in flight must be positive");
+			}
+			this.maxInFlight = maxInFlight;
+			return this;
+		}
+
+		/**
+		 * @throws NullPointerException If the signer, or both the JSON-LD writer and the RDF emitter are missing
+		 */
+		public BatchProofGenerator build() {
+			Objects.requireNonNull(signer, "signer");
+			if (jsonLdWriter == null && rdfEmitter == null) {
+				throw new NullPointerException("jsonLdWriter or rdfEmitter");
+			}
+			return new BatchProofGenerator(signer, verificationMethod, proofType, configuration, jsonLdWriter, rdfEmitter,
+					executor != null ? executor : newDefaultExecutor(maxInFlight), maxInFlight);
+		}
+
+		/**
+		 * Returns a bounded pool of daemon threads, which time out when idle so that the pool needs no shutdown
+		 */
+		private static Executor newDefaultExecutor(int maxInFlight) {
+			final int threads = Runtime.getRuntime().availableProcessors();
+			final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+					new LinkedBlockingQueue<>(maxInFlight), runnable -> {
+						final Thread thread = new Thread(runnable, "batch-proof-generator");
+						thread.setDaemon(true);
+						return thread;
+					}, new ThreadPoolExecutor.CallerRunsPolicy());
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			return threadPoolExecutor;
+		}
+
+		@Override
+		public String toString() {
+			return "BatchProofGeneratorBuilder{" +
+					"signer=" + signer +
+					", verificationMethod='" + verificationMethod + '\'' +
+					", proofType='" + proofType + '\'' +
+					", configuration=" + configuration +
+					", executor=" + executor +
+					", maxInFlight=" + maxInFlight +
+					'}';
+		}
+	}
+}
@@ -1,8 +1,12 @@
 package com.dawex.weaver.trustframework.vc.core;
 
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.jose.DetachedJwsSigner;
 import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.SignatureConfiguration;
 import com.nimbusds.jose.jwk.JWK;
 
+import java.io.InputStream;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -13,12 +17,90 @@ public class ProofGenerator {
 	 */
 	public static Proof generateProof(String jsonLd, String verificationMethod, JWK jwk) {
 		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, jwk);
-		return toProof(signature, verificationMethod);
+		return toProof(signature, JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020, verificationMethod);
 	}
 
-	private static Proof toProof(String signature, String verificationMethod) {
+	/**
+	 * Generate the proof of the serialized JSON-LD document with the specified type, using the provided signer, e.g. of a
+	 * {@link com.dawex.weaver.trustframework.vc.core.jose.Keyring}.
+	 * The document is canonicalized with the canonicalizer of the proof type.
+	 */
+	public static Proof generateProof(String jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the serialized JSON-LD document with the specified type, using the provided signer, e.g. of a
+	 * {@link com.dawex.weaver.trustframework.vc.core.jose.Keyring}.
+	 * The document is canonicalized with the canonicalizer of the proof type in the configuration.
+	 */
+	public static Proof generateProof(String jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer,
+			SignatureConfiguration configuration) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType, configuration);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the JSON-LD document serialized in UTF-8 with the specified type, using the provided signer.
+	 * The document is canonicalized with the canonicalizer of the proof type.
+	 */
+	public static Proof generateProof(byte[] jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the JSON-LD document serialized in UTF-8 with the specified type, using the provided signer.
+	 * The document is canonicalized with the canonicalizer of the proof type in the configuration.
+	 */
+	public static Proof generateProof(byte[] jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer,
+			SignatureConfiguration configuration) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType, configuration);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the JSON-LD document read from the stream with the specified type, using the provided signer.
+	 * The document is canonicalized with the canonicalizer of the proof type.
+	 */
+	public static Proof generateProof(InputStream jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the JSON-LD document read from the stream with the specified type, using the provided signer.
+	 * The document is canonicalized with the canonicalizer of the proof type in the configuration.
+	 */
+	public static Proof generateProof(InputStream jsonLd, String proofType, String verificationMethod, DetachedJwsSigner signer,
+			SignatureConfiguration configuration) {
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, signer, proofType, configuration);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the RDF dataset of a JSON-LD document with the specified type, using the provided signer.
+	 * The dataset is canonicalized with the canonicalizer of the proof type.
+	 */
+	public static Proof generateProof(RdfDataset rdfDataset, String proofType, String verificationMethod, DetachedJwsSigner signer) {
+		final String signature = JsonWebSignatureUtils.generateSignature(rdfDataset, signer, proofType);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	/**
+	 * Generate the proof of the RDF dataset of a JSON-LD document with the specified type, using the provided signer.
+	 * The dataset is canonicalized with the canonicalizer of the proof type in the configuration.
+	 */
+	public static Proof generateProof(RdfDataset rdfDataset, String proofType, String verificationMethod, DetachedJwsSigner signer,
+			SignatureConfiguration configuration) {
+		final String signature = JsonWebSignatureUtils.generateSignature(rdfDataset, signer, proofType, configuration);
+		return toProof(signature, proofType, verificationMethod);
+	}
+
+	private static Proof toProof(String signature, String proofType, String verificationMethod) {
 		return Proof.builder()
-				.type("JsonWebSignature2020")
+				.type(proofType)
 				.created(ZonedDateTime.now(ZoneOffset.UTC))
 				.proofPurpose("assertionMethod")
 				.verificationMethod(verificationMethod)
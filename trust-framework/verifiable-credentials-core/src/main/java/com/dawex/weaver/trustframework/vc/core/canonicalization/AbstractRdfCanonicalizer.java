@@ -0,0 +1,61 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfCanonicalizer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Base class of the canonicalizers of RDF datasets: a JSON-LD document is converted to its RDF dataset first. The large datasets can be
+ * canonicalized in parallel, in a fork-join pool, and the canonicalization of untrusted documents can be bounded by
+ * {@link CanonicalizationLimits}.
+ */
+abstract class AbstractRdfCanonicalizer implements Canonicalizer {
+
+	private final JsonLdRdfConverter jsonLdRdfConverter;
+
+	private final RdfCanonicalizer.Algorithm algorithm;
+
+	private final ForkJoinPool pool;
+
+	private final int parallelThreshold;
+
+	private final CanonicalizationLimits limits;
+
+	AbstractRdfCanonicalizer(JsonLdRdfConverter jsonLdRdfConverter, RdfCanonicalizer.Algorithm algorithm, ForkJoinPool pool,
+			int parallelThreshold, CanonicalizationLimits limits) {
+		this.jsonLdRdfConverter = Objects.requireNonNull(jsonLdRdfConverter, "jsonLdRdfConverter");
+		this.algorithm = algorithm;
+		this.pool = pool;
+		this.parallelThreshold = parallelThreshold;
+		this.limits = Objects.requireNonNull(limits, "limits");
+	}
+
+	CanonicalizationLimits getLimits() {
+		return limits;
+	}
+
+	@Override
+	public void canonicalize(JsonDocument jsonLd, OutputStream output) throws IOException {
+		final RdfDataset rdfDataset;
+		try {
+			rdfDataset = jsonLdRdfConverter.toRdf(jsonLd);
+		} catch (JsonLdError e) {
+			throw new CanonicalizationException(e);
+		}
+		canonicalize(rdfDataset, output);
+	}
+
+	@Override
+	public void canonicalize(RdfDataset rdfDataset, OutputStream output) throws IOException {
+		RdfCanonicalizer.writeNQuads(rdfDataset, output, algorithm, pool, parallelThreshold, limits);
+	}
+}
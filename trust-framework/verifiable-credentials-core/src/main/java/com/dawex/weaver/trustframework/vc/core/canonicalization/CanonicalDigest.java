@@ -0,0 +1,49 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+import com.dawex.weaver.trustframework.vc.core.utils.Sha256Utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Computes the SHA-256 digest of a canonical form, without building it: the canonical form is written straight into the digest.
+ * The digests are reused by each thread.
+ */
+final class CanonicalDigest {
+
+	/**
+	 * Not shared with the RDF canonicalizer, whose own digests are used while this one is being updated
+	 */
+	private static final ThreadLocal<MessageDigest> SHA256_DIGESTS = ThreadLocal.withInitial(Sha256Utils::newDigest);
+
+	private CanonicalDigest() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns the lowercase hexadecimal SHA-256 digest of the bytes written by the specified canonicalization
+	 *
+	 * @throws CanonicalizationException If the canonicalization fails
+	 */
+	static String sha256Hex(CanonicalWriting canonicalWriting) {
+		final MessageDigest digest = SHA256_DIGESTS.get();
+		digest.reset();
+		try {
+			canonicalWriting.writeTo(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+		} catch (IOException e) {
+			throw new CanonicalizationException(e);
+		}
+		return Sha256Utils.toHex(digest.digest());
+	}
+
+	/**
+	 * Writes a canonical form to an output stream
+	 */
+	@FunctionalInterface
+	interface CanonicalWriting {
+		void writeTo(OutputStream output) throws IOException;
+	}
+}
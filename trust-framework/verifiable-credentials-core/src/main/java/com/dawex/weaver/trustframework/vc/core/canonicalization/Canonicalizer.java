@@ -0,0 +1,62 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Canonicalizes the documents before their signature, so that equivalent documents have the same signature.
+ * The canonicalizer of a proof is selected by its type, see
+ * {@link com.dawex.weaver.trustframework.vc.core.jose.SignatureConfiguration}.
+ * <p>
+ * The implementations must be thread-safe. The available implementations are:
+ * <ul>
+ *     <li>{@link Urdna2015Canonicalizer}, used by the <code>JsonWebSignature2020</code> proofs, with rdf-urdna by default</li>
+ *     <li>{@link Rdfc10Canonicalizer}, its standardized version</li>
+ *     <li>{@link JcsCanonicalizer}, for JSON documents which are not converted to RDF</li>
+ * </ul>
+ */
+public interface Canonicalizer {
+
+	/**
+	 * Returns the name of the canonicalization algorithm
+	 */
+	String getAlgorithm();
+
+	/**
+	 * Writes the canonical form of the JSON-LD document to the output, in UTF-8. The output is flushed but not closed.
+	 *
+	 * @throws CanonicalizationException If the document cannot be canonicalized
+	 * @throws IOException               If the canonical form cannot be written to the output
+	 */
+	void canonicalize(JsonDocument jsonLd, OutputStream output) throws IOException;
+
+	/**
+	 * Writes the canonical form of the RDF dataset of a JSON-LD document to the output, in UTF-8. The output is flushed but not closed.
+	 *
+	 * @throws CanonicalizationException If the dataset cannot be canonicalized, or if the algorithm does not apply to RDF datasets
+	 * @throws IOException               If the canonical form cannot be written to the output
+	 */
+	void canonicalize(RdfDataset rdfDataset, OutputStream output) throws IOException;
+
+	/**
+	 * Returns the lowercase hexadecimal SHA-256 hash of the canonical form of the JSON-LD document
+	 *
+	 * @throws CanonicalizationException If the document cannot be canonicalized
+	 */
+	default String digest(JsonDocument jsonLd) {
+		return CanonicalDigest.sha256Hex(output -> canonicalize(jsonLd, output));
+	}
+
+	/**
+	 * Returns the lowercase hexadecimal SHA-256 hash of the canonical form of the RDF dataset
+	 *
+	 * @throws CanonicalizationException If the dataset cannot be canonicalized, or if the algorithm does not apply to RDF datasets
+	 */
+	default String digest(RdfDataset rdfDataset) {
+		return CanonicalDigest.sha256Hex(output -> canonicalize(rdfDataset, output));
+	}
+}
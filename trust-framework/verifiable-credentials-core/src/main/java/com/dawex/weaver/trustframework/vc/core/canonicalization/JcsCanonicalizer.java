@@ -0,0 +1,176 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Canonicalizes JSON documents with the <a href="https://www.rfc-editor.org/rfc/rfc8785">JSON Canonicalization Scheme</a> (JCS):
+ * the object members are sorted by name, the strings and numbers are serialized as ECMAScript does, and the document is written
+ * without whitespace.
+ * <p>
+ * The document is not converted to RDF, which makes JCS much cheaper than the RDF canonicalizations, but its signature depends on its
+ * JSON structure: it fits the documents exchanged between the services knowing their JSON-LD contexts, not the interoperable ones.
+ * The RDF datasets cannot be canonicalized.
+ */
+public class JcsCanonicalizer implements Canonicalizer {
+
+	public static final String ALGORITHM = "JCS";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final int MAX_SIGNIFICANT_DIGITS = 17;
+
+	private static final int MAX_PLAIN_EXPONENT = 21;
+
+	private static final int MIN_PLAIN_EXPONENT = -6;
+
+	@Override
+	public String getAlgorithm() {
+		return ALGORITHM;
+	}
+
+	@Override
+	public void canonicalize(JsonDocument jsonLd, OutputStream output) throws IOException {
+		final JsonValue json = jsonLd.getJsonContent()
+				.orElseThrow(() -> new CanonicalizationException("The document has no JSON content"));
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		writeValue(json, writer);
+		writer.flush();
+	}
+
+	@Override
+	public void canonicalize(RdfDataset rdfDataset, OutputStream output) {
+		throw new CanonicalizationException("%s does not apply to RDF datasets".formatted(ALGORITHM));
+	}
+
+	private static void writeValue(JsonValue value, Writer writer) throws IOException {
+		switch (value.getValueType()) {
+			case OBJECT -> writeObject(value.asJsonObject(), writer);
+			case ARRAY -> writeArray(value.asJsonArray(), writer);
+			case STRING -> writeString(((JsonString) value).getString(), writer);
+			case NUMBER -> writer.write(formatNumber(((JsonNumber) value).doubleValue()));
+			case TRUE -> writer.write("true");
+			case FALSE -> writer.write("false");
+			case NULL -> writer.write("null");
+		}
+	}
+
+	private static void writeObject(JsonObject object, Writer writer) throws IOException {
+		writer.write('{');
+		// sorted by the UTF-16 code units of the names
+		final String[] names = object.keySet().toArray(String[]::new);
+		Arrays.sort(names);
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeString(names[i], writer);
+			writer.write(':');
+			writeValue(object.get(names[i]), writer);
+		}
+		writer.write('}');
+	}
+
+	private static void writeArray(JsonArray array, Writer writer) throws IOException {
+		writer.write('[');
+		for (int i = 0; i < array.size(); i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeValue(array.get(i), writer);
+		}
+		writer.write(']');
+	}
+
+	private static void writeString(String value, Writer writer) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '\b' -> writer.write("\\b");
+				case '\t' -> writer.write("\\t");
+				case '\n' -> writer.write("\\n");
+				case '\f' -> writer.write("\\f");
+				case '\r' -> writer.write("\\r");
+				case '"' -> writer.write("\\\"");
+				case '\\' -> writer.write("\\\\");
+				default -> {
+					if (c < 0x20) {
+						writer.write("\\u00");
+						writer.write(HEX_DIGITS[c >> 4]);
+						writer.write(HEX_DIGITS[c & 0x0f]);
+					} else {
+						writer.write(c);
+					}
+				}
+			}
+		}
+		writer.write('"');
+	}
+
+	/**
+	 * Formats a number as the ECMAScript <code>Number.prototype.toString()</code> does: with the fewest significant digits which
+	 * identify the double value, in plain notation for the decimal exponents from -6 to 21, otherwise in scientific notation
+	 */
+	static String formatNumber(double value) {
+		if (!Double.isFinite(value)) {
+			throw new CanonicalizationException("The number %s cannot be canonicalized".formatted(value));
+		}
+		if (value == 0) {
+			// including -0
+			return "0";
+		}
+		final BigDecimal shortest = getShortestDecimal(value).stripTrailingZeros();
+		final String digits = shortest.unscaledValue().abs().toString();
+		// value = 0.digits * 10^exponent
+		final int exponent = digits.length() - shortest.scale();
+		final StringBuilder formatted = new StringBuilder(value < 0 ? "-" : "");
+		if (exponent >= digits.length() && exponent <= MAX_PLAIN_EXPONENT) {
+			formatted.append(digits).append("0".repeat(exponent - digits.length()));
+		} else if (exponent > 0 && exponent <= MAX_PLAIN_EXPONENT) {
+			formatted.append(digits, 0, exponent).append('.').append(digits, exponent, digits.length());
+		} else if (exponent > MIN_PLAIN_EXPONENT && exponent <= 0) {
+			formatted.append("0.").append("0".repeat(-exponent)).append(digits);
+		} else {
+			formatted.append(digits.charAt(0));
+			if (digits.length() > 1) {
+				formatted.append('.').append(digits, 1, digits.length());
+			}
+			formatted.append('e').append(exponent - 1 > 0 ? "+" : "").append(exponent - 1);
+		}
+		return formatted.toString();
+	}
+
+	/**
+	 * Returns the decimal with the fewest significant digits which rounds to the double value, the closest one if there are several
+	 */
+	private static BigDecimal getShortestDecimal(double value) {
+		final BigDecimal exact = new BigDecimal(value);
+		for (int precision = 1; precision < MAX_SIGNIFICANT_DIGITS; precision++) {
+			for (RoundingMode roundingMode : new RoundingMode[]{RoundingMode.HALF_EVEN, RoundingMode.FLOOR, RoundingMode.CEILING}) {
+				final BigDecimal rounded = exact.round(new MathContext(precision, roundingMode));
+				if (rounded.doubleValue() == value) {
+					return rounded;
+				}
+			}
+		}
+		return exact.round(new MathContext(MAX_SIGNIFICANT_DIGITS, RoundingMode.HALF_EVEN));
+	}
+}
@@ -0,0 +1,56 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfCanonicalizer;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Canonicalizes the RDF dataset of a JSON-LD document with <a href="https://www.w3.org/TR/rdf-canon/">RDFC-1.0</a>, and writes it
+ * as canonical N-Quads, with the in-house {@link RdfCanonicalizer}: the large datasets can be canonicalized in parallel, and the
+ * canonicalization of untrusted documents can be bounded by {@link CanonicalizationLimits}. rdf-urdna does not implement RDFC-1.0,
+ * and the in-house implementation is not checked against the W3C RDF dataset canonicalization test suite yet.
+ * <p>
+ * RDFC-1.0 is the standardized version of URDNA2015; it differs by its canonical N-Quads, which escape the control characters of
+ * the literals with <code>\b</code>, <code>\t</code>, <code>\f</code> or an uppercase <code>&#92;u</code> sequence. These N-Quads
+ * are the ones hashed to label the blank nodes, and sorted, so the canonical form of a dataset with such literals differs from its
+ * URDNA2015 one, labels included.
+ */
+public class Rdfc10Canonicalizer extends AbstractRdfCanonicalizer {
+
+	public static final String ALGORITHM = "RDFC-1.0";
+
+	/**
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 */
+	public Rdfc10Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter) {
+		this(jsonLdRdfConverter, null, 0);
+	}
+
+	/**
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 * @param pool               the pool canonicalizing the large datasets in parallel, or null for canonicalizing all of them sequentially
+	 * @param parallelThreshold  the minimum number of quads of the datasets canonicalized in parallel
+	 */
+	public Rdfc10Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter, ForkJoinPool pool, int parallelThreshold) {
+		this(jsonLdRdfConverter, pool, parallelThreshold, CanonicalizationLimits.UNLIMITED);
+	}
+
+	/**
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 * @param pool               the pool canonicalizing the large datasets in parallel, or null for canonicalizing all of them sequentially
+	 * @param parallelThreshold  the minimum number of quads of the datasets canonicalized in parallel
+	 * @param limits             the limits of the canonicalization, exceeded with a {@link CanonicalizationAbortedException}
+	 */
+	public Rdfc10Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter, ForkJoinPool pool, int parallelThreshold,
+			CanonicalizationLimits limits) {
+		super(jsonLdRdfConverter, RdfCanonicalizer.Algorithm.RDFC_1_0, pool, parallelThreshold, limits);
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return ALGORITHM;
+	}
+}
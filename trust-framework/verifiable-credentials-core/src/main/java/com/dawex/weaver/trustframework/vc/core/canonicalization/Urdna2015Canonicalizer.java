@@ -0,0 +1,124 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfNQuad;
+import com.apicatalog.rdf.RdfValue;
+import com.apicatalog.rdf.io.error.RdfWriterException;
+import com.apicatalog.rdf.io.error.UnsupportedContentException;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException.Reason;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfCanonicalizer;
+import io.setl.rdf.normalization.RdfNormalize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Canonicalizes the RDF dataset of a JSON-LD document with
+ * <a href="https://w3c-ccg.github.io/rdf-dataset-canonicalization/spec/index.html">URDNA2015</a>, and writes it as N-Quads.
+ * <p>
+ * By default, the dataset is canonicalized by rdf-urdna (<code>RdfNormalize</code>), the reference of the signatures generated so far;
+ * only the quad and blank node limits of the {@link CanonicalizationLimits} are checked, before the canonicalization.
+ * The in-house {@link RdfCanonicalizer}, which is faster, can canonicalize the large datasets in parallel and is bounded by all the
+ * limits, is opt-in, see {@link #withRdfCanonicalizer(JsonLdRdfConverter, ForkJoinPool, int, CanonicalizationLimits)}: it is not
+ * checked against the W3C RDF dataset canonicalization test suite yet, and differs from rdf-urdna on a few datasets.
+ */
+public class Urdna2015Canonicalizer extends AbstractRdfCanonicalizer {
+
+	public static final String ALGORITHM = "URDNA2015";
+
+	private final boolean rdfCanonicalizer;
+
+	/**
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 */
+	public Urdna2015Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter) {
+		this(jsonLdRdfConverter, CanonicalizationLimits.UNLIMITED);
+	}
+
+	/**
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 * @param limits             the limits of the canonicalization, of which only the quad and blank node limits apply, exceeded with a
+	 *                           {@link CanonicalizationAbortedException}
+	 */
+	public Urdna2015Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter, CanonicalizationLimits limits) {
+		this(jsonLdRdfConverter, null, 0, limits, false);
+	}
+
+	private Urdna2015Canonicalizer(JsonLdRdfConverter jsonLdRdfConverter, ForkJoinPool pool, int parallelThreshold,
+			CanonicalizationLimits limits, boolean rdfCanonicalizer) {
+		super(jsonLdRdfConverter, RdfCanonicalizer.Algorithm.URDNA2015, pool, parallelThreshold, limits);
+		this.rdfCanonicalizer = rdfCanonicalizer;
+	}
+
+	/**
+	 * Returns a canonicalizer using the in-house {@link RdfCanonicalizer} instead of rdf-urdna
+	 *
+	 * @param jsonLdRdfConverter the converter of the JSON-LD documents to RDF datasets
+	 * @param pool               the pool canonicalizing the large datasets in parallel, or null for canonicalizing all of them sequentially
+	 * @param parallelThreshold  the minimum number of quads of the datasets canonicalized in parallel
+	 * @param limits             the limits of the canonicalization, exceeded with a {@link CanonicalizationAbortedException}
+	 */
+	public static Urdna2015Canonicalizer withRdfCanonicalizer(JsonLdRdfConverter jsonLdRdfConverter, ForkJoinPool pool,
+			int parallelThreshold, CanonicalizationLimits limits) {
+		return new Urdna2015Canonicalizer(jsonLdRdfConverter, pool, parallelThreshold, limits, true);
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return ALGORITHM;
+	}
+
+	@Override
+	public void canonicalize(RdfDataset rdfDataset, OutputStream output) throws IOException {
+		if (rdfCanonicalizer) {
+			super.canonicalize(rdfDataset, output);
+			return;
+		}
+		checkLimits(rdfDataset, getLimits());
+		final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+		try {
+			RdfProvider.provider().createWriter(MediaType.N_QUADS, writer).write(RdfNormalize.normalize(rdfDataset));
+		} catch (RdfWriterException | UnsupportedContentException e) {
+			throw new CanonicalizationException(e);
+		}
+		writer.flush();
+	}
+
+	private static void checkLimits(RdfDataset rdfDataset, CanonicalizationLimits limits) {
+		if (rdfDataset.size() > limits.getMaxQuads()) {
+			throw new CanonicalizationAbortedException(Reason.QUAD_LIMIT,
+					"The dataset has %d quads, more than the limit of %d".formatted(rdfDataset.size(), limits.getMaxQuads()));
+		}
+		if (limits.getMaxBlankNodes() == Integer.MAX_VALUE) {
+			return;
+		}
+		final Set<String> blankNodes = new HashSet<>();
+		for (RdfNQuad rdfNQuad : rdfDataset.toList()) {
+			addBlankNode(blankNodes, rdfNQuad.getSubject());
+			addBlankNode(blankNodes, rdfNQuad.getObject());
+			addBlankNode(blankNodes, rdfNQuad.getGraphName().orElse(null));
+		}
+		if (blankNodes.size() > limits.getMaxBlankNodes()) {
+			throw new CanonicalizationAbortedException(Reason.BLANK_NODE_LIMIT,
+					"The dataset has %d blank nodes, more than the limit of %d".formatted(blankNodes.size(), limits.getMaxBlankNodes()));
+		}
+	}
+
+	private static void addBlankNode(Set<String> blankNodes, RdfValue value) {
+		if (value != null && value.isBlankNode()) {
+			blankNodes.add(value.getValue());
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization.exception;
+
+import java.io.Serial;
+
+/**
+ * This exception is thrown when a canonicalization is aborted before its end, because the document exceeds one of the configured
+ * limits, or because it has been cancelled
+ */
+public class CanonicalizationAbortedException extends CanonicalizationException {
+
+	@Serial
+	private static final long serialVersionUID = -2967390164833472916L;
+
+	private final Reason reason;
+
+	public CanonicalizationAbortedException(Reason reason, String message) {
+		super(message);
+		this.reason = reason;
+	}
+
+	public Reason getReason() {
+		return reason;
+	}
+
+	public enum Reason {
+		QUAD_LIMIT,
+		BLANK_NODE_LIMIT,
+		N_DEGREE_ITERATION_LIMIT,
+		TIMEOUT,
+		CANCELLED
+	}
+}
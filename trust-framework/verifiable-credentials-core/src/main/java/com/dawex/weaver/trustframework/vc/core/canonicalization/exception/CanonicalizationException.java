@@ -0,0 +1,27 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization.exception;
+
+import java.io.Serial;
+
+/**
+ * This exception is thrown when an error occurs during the canonicalization of a document before its signature
+ */
+public class CanonicalizationException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 6310478526843127951L;
+
+	public CanonicalizationException() {
+	}
+
+	public CanonicalizationException(String message) {
+		super(message);
+	}
+
+	public CanonicalizationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public CanonicalizationException(Throwable cause) {
+		super(cause);
+	}
+}
@@ -0,0 +1,232 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.dawex.weaver.trustframework.vc.core.utils.BoundedCache;
+import com.dawex.weaver.trustframework.vc.core.utils.Sha256Utils;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.util.X509CertUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateExpiredException;
+import java.security.cert.CertificateNotYetValidException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A registry of the X.509 certificates of the issuers, which parses each PEM certificate once and keeps its verifier, identified by
+ * the SHA-256 thumbprint of the certificate (<code>x5t#S256</code>). The validity window of a certificate is read once, and is checked
+ * against the clock when its verifier is used. Once full, the least recently used certificates are evicted.
+ * <p>
+ * The verifiers are used with {@link JsonWebSignatureUtils#isSignatureValid(String, String, JWSVerifier, String)}.
+ */
+public class CertificateRegistry {
+
+	public static final int DEFAULT_MAX_SIZE = 4096;
+
+	private static final String PEM_BEGIN_MARKER = "-----BEGIN CERTIFICATE-----";
+
+	private static final String PEM_END_MARKER = "-----END CERTIFICATE-----";
+
+	private final BoundedCache<String, RegisteredCertificate> certificates;
+
+	private final Clock clock;
+
+	private final int maxSize;
+
+	private CertificateRegistry(int maxSize, Clock clock) {
+		this.certificates = new BoundedCache<>(maxSize);
+		this.clock = clock;
+		this.maxSize = maxSize;
+	}
+
+	public static CertificateRegistryBuilder builder() {
+		return new CertificateRegistryBuilder();
+	}
+
+	/**
+	 * Registers the PEM certificate, if not already registered, and returns it
+	 *
+	 * @throws KeyParsingException If the certificate cannot be parsed, or if its public key cannot be used for verifying
+	 */
+	public RegisteredCertificate register(String pemCertificate) {
+		final byte[] derCertificate = decodePem(pemCertificate);
+		final String thumbprint = Sha256Utils.toBase64UrlDigest(derCertificate);
+		RegisteredCertificate registeredCertificate = certificates.get(thumbprint);
+		if (registeredCertificate == null) {
+			final X509Certificate certificate = X509CertUtils.parse(derCertificate);
+			if (certificate == null) {
+				throw new KeyParsingException("The certificate cannot be parsed");
+			}
+			registeredCertificate = new RegisteredCertificate(certificate, thumbprint);
+			certificates.put(thumbprint, registeredCertificate);
+		}
+		return registeredCertificate;
+	}
+
+	/**
+	 * Returns the registered certificate with the SHA-256 thumbprint, if it is not evicted
+	 */
+	public Optional<RegisteredCertificate> find(String thumbprint) {
+		return Optional.ofNullable(certificates.get(thumbprint));
+	}
+
+	/**
+	 * Returns the verifier of the PEM certificate, which is registered if needed
+	 *
+	 * @throws KeyParsingException If the certificate cannot be parsed, or if its public key cannot be used for verifying
+	 * @throws SignatureException  If the certificate is not valid now
+	 */
+	public JWSVerifier getVerifier(String pemCertificate) {
+		return register(pemCertificate).getVerifier();
+	}
+
+	/**
+	 * Returns the number of registered certificates
+	 */
+	public int size() {
+		return certificates.size();
+	}
+
+	private static byte[] decodePem(String pemCertificate) {
+		final int begin = pemCertificate.indexOf(PEM_BEGIN_MARKER);
+		final int end = pemCertificate.indexOf(PEM_END_MARKER);
+		if (begin == -1 || end < begin) {
+			throw new KeyParsingException("The certificate is not a PEM certificate");
+		}
+		try {
+			return Base64.getMimeDecoder().decode(pemCertificate.substring(begin + PEM_BEGIN_MARKER.length(), end)
+					.getBytes(StandardCharsets.US_ASCII));
+		} catch (IllegalArgumentException e) {
+			throw new KeyParsingException("The certificate is not a PEM certificate", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CertificateRegistry{" +
+				"maxSize=" + maxSize +
+				", size=" + certificates.size() +
+				", clock=" + clock +
+				'}';
+	}
+
+	/**
+	 * A registered certificate, with its validity window and its verifier
+	 */
+	public class RegisteredCertificate {
+		private final X509Certificate certificate;
+
+		private final String thumbprint;
+
+		private final Instant notBefore;
+
+		private final Instant notAfter;
+
+		private final JWSVerifier verifier;
+
+		private RegisteredCertificate(X509Certificate certificate, String thumbprint) {
+			this.certificate = certificate;
+			this.thumbprint = thumbprint;
+			this.notBefore = certificate.getNotBefore().toInstant();
+			this.notAfter = certificate.getNotAfter().toInstant();
+			try {
+				this.verifier = JwsVerifiers.of(certificate.getPublicKey());
+			} catch (JOSEException e) {
+				throw new KeyParsingException("The certificate '%s' cannot be used for verifying".formatted(thumbprint), e);
+			}
+		}
+
+		public X509Certificate getCertificate() {
+			return certificate;
+		}
+
+		/**
+		 * Returns the SHA-256 thumbprint of the certificate
+		 */
+		public String getThumbprint() {
+			return thumbprint;
+		}
+
+		/**
+		 * Checks whether the certificate is valid now
+		 */
+		public boolean isValid() {
+			final Instant now = clock.instant();
+			return !now.isBefore(notBefore) && !now.isAfter(notAfter);
+		}
+
+		/**
+		 * Returns the verifier of the certificate public key, which is thread-safe
+		 *
+		 * @throws SignatureException If the certificate is not valid now
+		 */
+		public JWSVerifier getVerifier() {
+			final Instant now = clock.instant();
+			if (now.isBefore(notBefore)) {
+				throw new SignatureException(new CertificateNotYetValidException("The certificate '%s' is not valid before %s"
+						.formatted(thumbprint, notBefore)));
+			}
+			if (now.isAfter(notAfter)) {
+				throw new SignatureException(new CertificateExpiredException("The certificate '%s' expired on %s"
+						.formatted(thumbprint, notAfter)));
+			}
+			return verifier;
+		}
+
+		@Override
+		public String toString() {
+			return "RegisteredCertificate{" +
+					"thumbprint=" + thumbprint +
+					", subject=" + certificate.getSubjectX500Principal() +
+					", notBefore=" + notBefore +
+					", notAfter=" + notAfter +
+					'}';
+		}
+	}
+
+	public static class CertificateRegistryBuilder {
+		private int maxSize = DEFAULT_MAX_SIZE;
+
+		private Clock clock = Clock.systemUTC();
+
+		CertificateRegistryBuilder() {
+		}
+
+		/**
+		 * Sets the maximum number of registered certificates, {@value DEFAULT_MAX_SIZE} by default
+		 */
+		public CertificateRegistryBuilder maxSize(int maxSize) {
+			if (maxSize <= 0) {
+				throw new IllegalArgumentException("The maximum size must be positive");
+			}
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		/**
+		 * Sets the clock checking the validity of the certificates, the system UTC clock by default
+		 */
+		public CertificateRegistryBuilder clock(Clock clock) {
+			this.clock = Objects.requireNonNull(clock, "clock");
+			return this;
+		}
+
+		public CertificateRegistry build() {
+			return new CertificateRegistry(maxSize, clock);
+		}
+
+		@Override
+		public String toString() {
+			return "CertificateRegistryBuilder{" +
+					"maxSize=" + maxSize +
+					", clock=" + clock +
+					'}';
+		}
+	}
+}
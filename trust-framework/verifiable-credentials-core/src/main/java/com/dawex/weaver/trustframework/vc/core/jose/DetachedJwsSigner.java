@@ -0,0 +1,226 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.nimbusds.jose.HeaderParameterNames;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.NamedParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Signer of detached JSON Web Signatures with unencoded payload (<a href="https://www.rfc-editor.org/rfc/rfc7797">RFC 7797</a>), as
+ * the <code>JsonWebSignature2020</code> proofs: <code>&lt;header&gt;..&lt;signature&gt;</code>, the header being
+ * <code>{"alg":"&lt;algorithm&gt;","b64":false,"crit":["b64"]}</code>. The algorithm is chosen from the key type: PS256 for the RSA
+ * keys, ES256 for the P-256 EC keys, and EdDSA for the Ed25519 keys.
+ * <p>
+ * The header of an algorithm is the same for all the signatures, and is encoded once. The signing input is built in a byte buffer, and
+ * signed with a {@link Signature}, both confined to the calling thread and reused by its next signatures; the signer is then
+ * thread-safe. The signatures are verified as any other JWS, e.g. by
+ * {@link JsonWebSignatureUtils#isSignatureValid(String, String, com.nimbusds.jose.jwk.JWK)}.
+ */
+public class DetachedJwsSigner {
+
+	private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private final Algorithm algorithm;
+
+	private final PrivateKey privateKey;
+
+	/**
+	 * Creates a signer with the RSA, P-256 EC or Ed25519 private key
+	 *
+	 * @throws JOSEException If the key type is not supported
+	 */
+	public DetachedJwsSigner(PrivateKey privateKey) throws JOSEException {
+		this.algorithm = Algorithm.of(Objects.requireNonNull(privateKey, "privateKey"));
+		this.privateKey = privateKey;
+	}
+
+	/**
+	 * Creates a signer with the private key of the RSA, P-256 EC or Ed25519 JSON Web Key
+	 *
+	 * @throws JOSEException If the key has no private key, or if its type is not supported
+	 */
+	public DetachedJwsSigner(JWK jwk) throws JOSEException {
+		this(toPrivateKey(jwk));
+	}
+
+	private static PrivateKey toPrivateKey(JWK jwk) throws JOSEException {
+		final PrivateKey jwkPrivateKey;
+		if (jwk instanceof RSAKey rsaKey) {
+			jwkPrivateKey = rsaKey.toPrivateKey();
+		} else if (jwk instanceof ECKey ecKey && Curve.P_256.equals(ecKey.getCurve())) {
+			jwkPrivateKey = ecKey.toPrivateKey();
+		} else if (jwk instanceof OctetKeyPair octetKeyPair) {
+			jwkPrivateKey = Ed25519Keys.toPrivateKey(octetKeyPair);
+		} else {
+			throw new JOSEException("The key type %s is not supported: the keys must be RSA, P-256 EC or Ed25519 keys".formatted(jwk.getKeyType()));
+		}
+		if (jwkPrivateKey == null) {
+			throw new JOSEException("The %s key has no private key".formatted(jwk.getKeyType()));
+		}
+		return jwkPrivateKey;
+	}
+
+	/**
+	 * Returns the algorithm of the signatures
+	 */
+	public JWSAlgorithm getAlgorithm() {
+		return algorithm.jwsAlgorithm;
+	}
+
+	/**
+	 * Signs the payload, and returns the detached JWS
+	 *
+	 * @throws JOSEException If the payload cannot be signed with the private key
+	 */
+	public String sign(String payload) throws JOSEException {
+		final SigningContext context = algorithm.contexts.get();
+		try {
+			final int length = context.writeSigningInput(algorithm.encodedHeader, payload);
+			final Signature signature = context.getSignature(algorithm, privateKey);
+			signature.update(context.buffer, 0, length);
+			return algorithm.signaturePrefix + BASE64_URL_ENCODER.encodeToString(signature.sign());
+		} catch (GeneralSecurityException e) {
+			// the signature state is unknown after a failure
+			context.reset();
+			throw new JOSEException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DetachedJwsSigner{" +
+				"algorithm=" + algorithm.jwsAlgorithm +
+				'}';
+	}
+
+	/**
+	 * The supported algorithms, with their JCA signature and their encoded header
+	 */
+	private enum Algorithm {
+		PS256(JWSAlgorithm.PS256, "RSASSA-PSS", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1)),
+		// the JWS signature is the concatenation of R and S, as the IEEE P1363 format
+		ES256(JWSAlgorithm.ES256, "SHA256withECDSAinP1363Format", null),
+		EdDSA(JWSAlgorithm.EdDSA, Ed25519Keys.ALGORITHM, null);
+
+		private final JWSAlgorithm jwsAlgorithm;
+
+		private final String jcaAlgorithm;
+
+		private final AlgorithmParameterSpec parameters;
+
+		private final byte[] encodedHeader;
+
+		private final String signaturePrefix;
+
+		private final ThreadLocal<SigningContext> contexts = ThreadLocal.withInitial(SigningContext::new);
+
+		Algorithm(JWSAlgorithm jwsAlgorithm, String jcaAlgorithm, AlgorithmParameterSpec parameters) {
+			this.jwsAlgorithm = jwsAlgorithm;
+			this.jcaAlgorithm = jcaAlgorithm;
+			this.parameters = parameters;
+			final String header = new JWSHeader.Builder(jwsAlgorithm)
+					.base64URLEncodePayload(false)
+					.criticalParams(Set.of(HeaderParameterNames.BASE64_URL_ENCODE_PAYLOAD))
+					.build()
+					.toBase64URL()
+					.toString();
+			this.encodedHeader = header.getBytes(StandardCharsets.US_ASCII);
+			this.signaturePrefix = header + "..";
+		}
+
+		static Algorithm of(PrivateKey privateKey) throws JOSEException {
+			if ("RSA".equals(privateKey.getAlgorithm()) || "RSASSA-PSS".equals(privateKey.getAlgorithm())) {
+				return PS256;
+			}
+			if (privateKey instanceof ECPrivateKey ecPrivateKey && Curve.P_256.equals(Curve.forECParameterSpec(ecPrivateKey.getParams()))) {
+				return ES256;
+			}
+			if (privateKey instanceof EdECPrivateKey edECPrivateKey
+					&& NamedParameterSpec.ED25519.getName().equalsIgnoreCase(edECPrivateKey.getParams().getName())) {
+				return EdDSA;
+			}
+			throw new JOSEException("The %s private key is not supported: the keys must be RSA, P-256 EC or Ed25519 keys"
+					.formatted(privateKey.getAlgorithm()));
+		}
+	}
+
+	/**
+	 * The signing state of a thread: the signing input buffer, and the signature initialized with the last used private key
+	 */
+	private static class SigningContext {
+		private byte[] buffer = new byte[256];
+
+		private Signature signature;
+
+		private PrivateKey initializedKey;
+
+		/**
+		 * Writes the signing input <code>ASCII(header) || '.' || payload</code> in the buffer, and returns its length
+		 */
+		int writeSigningInput(byte[] encodedHeader, String payload) {
+			final int payloadLength = payload.length();
+			ensureCapacity(encodedHeader.length + 1 + payloadLength);
+			System.arraycopy(encodedHeader, 0, buffer, 0, encodedHeader.length);
+			int length = encodedHeader.length;
+			buffer[length++] = '.';
+			for (int i = 0; i < payloadLength; i++) {
+				final char c = payload.charAt(i);
+				if (c >= 0x80) {
+					// non-ASCII payloads, unlike the hexadecimal digests, are encoded at once
+					final byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+					ensureCapacity(encodedHeader.length + 1 + payloadBytes.length);
+					System.arraycopy(payloadBytes, 0, buffer, encodedHeader.length + 1, payloadBytes.length);
+					return encodedHeader.length + 1 + payloadBytes.length;
+				}
+				buffer[length++] = (byte) c;
+			}
+			return length;
+		}
+
+		Signature getSignature(Algorithm algorithm, PrivateKey privateKey) throws GeneralSecurityException {
+			if (signature == null) {
+				signature = Signature.getInstance(algorithm.jcaAlgorithm);
+				if (algorithm.parameters != null) {
+					signature.setParameter(algorithm.parameters);
+				}
+			}
+			if (privateKey != initializedKey) {
+				// a signature is reset to its initialized state after signing, and is reused while the key is the same
+				signature.initSign(privateKey);
+				initializedKey = privateKey;
+			}
+			return signature;
+		}
+
+		void reset() {
+			signature = null;
+			initializedKey = null;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.EdECPoint;
+import java.security.spec.EdECPrivateKeySpec;
+import java.security.spec.EdECPublicKeySpec;
+import java.security.spec.NamedParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+
+/**
+ * Conversions of the Ed25519 keys between their JSON Web Key form (an octet key pair holding the raw keys, as defined by
+ * <a href="https://www.rfc-editor.org/rfc/rfc8037">RFC 8037</a>) and the JCA keys of the <code>SunEC</code> provider
+ */
+final class Ed25519Keys {
+
+	static final String ALGORITHM = "Ed25519";
+
+	private static final int KEY_LENGTH = 32;
+
+	private Ed25519Keys() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns the JCA public key of the Ed25519 octet key pair
+	 *
+	 * @throws JOSEException If the key is not an Ed25519 key
+	 */
+	static PublicKey toPublicKey(OctetKeyPair octetKeyPair) throws JOSEException {
+		checkCurve(octetKeyPair);
+		// the public key is the little-endian encoding of the y coordinate, whose most significant bit is the parity of x
+		final byte[] encoded = octetKeyPair.getDecodedX();
+		if (encoded.length != KEY_LENGTH) {
+			throw new JOSEException("The Ed25519 public key must be %d bytes long".formatted(KEY_LENGTH));
+		}
+		final boolean xOdd = (encoded[KEY_LENGTH - 1] & 0x80) != 0;
+		final byte[] y = new byte[KEY_LENGTH];
+		for (int i = 0; i < KEY_LENGTH; i++) {
+			y[i] = encoded[KEY_LENGTH - 1 - i];
+		}
+		y[0] &= 0x7f;
+		try {
+			return KeyFactory.getInstance(ALGORITHM)
+					.generatePublic(new EdECPublicKeySpec(NamedParameterSpec.ED25519, new EdECPoint(xOdd, new BigInteger(1, y))));
+		} catch (GeneralSecurityException e) {
+			throw new JOSEException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the JCA private key of the Ed25519 octet key pair, or null if it has no private key
+	 *
+	 * @throws JOSEException If the key is not an Ed25519 key
+	 */
+	static PrivateKey toPrivateKey(OctetKeyPair octetKeyPair) throws JOSEException {
+		checkCurve(octetKeyPair);
+		if (octetKeyPair.getD() == null) {
+			return null;
+		}
+		try {
+			return KeyFactory.getInstance(ALGORITHM)
+					.generatePrivate(new EdECPrivateKeySpec(NamedParameterSpec.ED25519, octetKeyPair.getDecodedD()));
+		} catch (GeneralSecurityException e) {
+			throw new JOSEException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the raw encoding of the Ed25519 public key, as held by its octet key pair
+	 *
+	 * @throws JOSEException If the key is not an Ed25519 key
+	 */
+	static byte[] encode(PublicKey publicKey) throws JOSEException {
+		final EdECPoint point = toEdECPublicKey(publicKey).getPoint();
+		final byte[] y = point.getY().toByteArray();
+		final byte[] encoded = new byte[KEY_LENGTH];
+		// y is big-endian and may have a leading sign byte
+		for (int i = 0; i < KEY_LENGTH && i < y.length; i++) {
+			encoded[i] = y[y.length - 1 - i];
+		}
+		if (point.isXOdd()) {
+			encoded[KEY_LENGTH - 1] |= (byte) 0x80;
+		}
+		return encoded;
+	}
+
+	/**
+	 * Returns the Ed25519 public key as a key of the <code>SunEC</code> provider, e.g. for the keys of certificates parsed by another
+	 * provider
+	 *
+	 * @throws JOSEException If the key is not an Ed25519 key
+	 */
+	static EdECPublicKey toEdECPublicKey(PublicKey publicKey) throws JOSEException {
+		if (publicKey instanceof EdECPublicKey edECPublicKey) {
+			return edECPublicKey;
+		}
+		try {
+			final PublicKey translated = KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(publicKey.getEncoded()));
+			return (EdECPublicKey) translated;
+		} catch (GeneralSecurityException | ClassCastException e) {
+			throw new JOSEException("The public key is not an Ed25519 key", e);
+		}
+	}
+
+	/**
+	 * Checks whether the public key is an Ed25519 key
+	 */
+	static boolean isEd25519(PublicKey publicKey) {
+		if (publicKey instanceof EdECPublicKey edECPublicKey) {
+			return NamedParameterSpec.ED25519.getName().equalsIgnoreCase(edECPublicKey.getParams().getName());
+		}
+		return ALGORITHM.equalsIgnoreCase(publicKey.getAlgorithm());
+	}
+
+	private static void checkCurve(OctetKeyPair octetKeyPair) throws JOSEException {
+		if (!Curve.Ed25519.equals(octetKeyPair.getCurve())) {
+			throw new JOSEException("The octet key pair curve must be %s, not %s".formatted(Curve.Ed25519, octetKeyPair.getCurve()));
+		}
+	}
+}
@@ -0,0 +1,458 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.VerificationMethodResolutionException;
+import com.dawex.weaver.trustframework.vc.core.utils.BoundedCache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the HTTP(S) verification methods of the proofs, by retrieving the JSON Web Key set at their URL (without fragment), and
+ * caching it, so that the verification of a document does not wait for the network once the JWK set of its issuer is known:
+ * <ul>
+ *     <li>the JWK sets are fresh for the <code>max-age</code> of their <code>Cache-Control</code> header, or until their
+ *     <code>Expires</code> header, or for a default duration; <code>no-cache</code> makes them stale at once, and
+ *     <code>no-store</code> prevents caching them. A stale JWK set with an <code>ETag</code> is revalidated with a conditional
+ *     request</li>
+ *     <li>a stale JWK set is still returned during the <code>stale-while-revalidate</code> period of its <code>Cache-Control</code>
+ *     header (or a default one, unless the JWK set is <code>no-cache</code>), while being retrieved again in the background; if this
+ *     retrieval fails, the stale JWK set is kept</li>
+ *     <li>the concurrent retrievals of a JWK set are deduplicated: a single request is performed, whose result is shared</li>
+ *     <li>the failed retrievals (network errors, unsuccessful status codes, invalid JWK sets) are cached as well, for a shorter
+ *     duration, so that an unavailable issuer is not requested for each of its documents</li>
+ * </ul>
+ * The verification methods come from the documents being verified, so their URLs are untrusted: only HTTPS URLs are resolved by
+ * default, and their hosts can be restricted to an allow-list. The JWK sets are retrieved through a {@link JwksTransport}, by default
+ * an {@link HttpClient} only following the redirects to the same origin, and reading at most
+ * {@value JwksTransport#DEFAULT_MAX_BODY_SIZE} bytes. The resolver is thread-safe.
+ * <p>
+ * The stale JWK sets are retrieved again in the background by an executor. By default, each resolver has its own bounded pool of
+ * {@value DEFAULT_BACKGROUND_THREADS} daemon threads, which stop when idle, so that it does not need to be shut down; the retrievals
+ * beyond its queue of {@value DEFAULT_BACKGROUND_QUEUE_SIZE} retrievals are dropped. An executor set through the builder is not shut
+ * down by the resolver: it is owned, and shut down, by the caller.
+ */
+public class HttpVerificationMethodResolver implements VerificationMethodResolver {
+
+	public static final int DEFAULT_MAX_SIZE = 4096;
+
+	/**
+	 * The number of threads of the default executor
+	 */
+	public static final int DEFAULT_BACKGROUND_THREADS = 2;
+
+	/**
+	 * The number of background retrievals the default executor queues, beyond which they are dropped
+	 */
+	public static final int DEFAULT_BACKGROUND_QUEUE_SIZE = 256;
+
+	private final JwksTransport transport;
+
+	private final Executor executor;
+
+	private final Clock clock;
+
+	private final Duration defaultTimeToLive;
+
+	private final Duration defaultStaleWhileRevalidate;
+
+	private final Duration negativeTimeToLive;
+
+	private final boolean httpAllowed;
+
+	private final Set<String> allowedHosts;
+
+	private final BoundedCache<URI, CacheEntry> entries;
+
+	private final Map<URI, CompletableFuture<CacheEntry>> retrievals = new ConcurrentHashMap<>();
+
+	private HttpVerificationMethodResolver(JwksTransport transport, Executor executor, Clock clock, Duration defaultTimeToLive,
+			Duration defaultStaleWhileRevalidate, Duration negativeTimeToLive, boolean httpAllowed, Set<String> allowedHosts, int maxSize) {
+		this.transport = transport;
+		this.executor = executor;
+		this.clock = clock;
+		this.defaultTimeToLive = defaultTimeToLive;
+		this.defaultStaleWhileRevalidate = defaultStaleWhileRevalidate;
+		this.negativeTimeToLive = negativeTimeToLive;
+		this.httpAllowed = httpAllowed;
+		this.allowedHosts = Set.copyOf(allowedHosts);
+		this.entries = new BoundedCache<>(maxSize);
+	}
+
+	public static HttpVerificationMethodResolverBuilder builder() {
+		return new HttpVerificationMethodResolverBuilder();
+	}
+
+	@Override
+	public IndexedJwkSet resolve(String verificationMethod) {
+		final URI uri = toJwksUri(verificationMethod);
+		final CacheEntry entry = entries.get(uri);
+		if (entry != null) {
+			final Instant now = clock.instant();
+			if (now.isBefore(entry.freshUntil())) {
+				return entry.getJwkSet(uri);
+			}
+			if (entry.jwkSet() != null && now.isBefore(entry.staleUntil())) {
+				retrieve(uri, entry, true);
+				return entry.getJwkSet(uri);
+			}
+		}
+		return await(uri, retrieve(uri, entry, false)).getJwkSet(uri);
+	}
+
+	/**
+	 * Starts the retrieval of the JWK set, or returns the retrieval in progress
+	 *
+	 * @param previous   the cached entry of the JWK set, or null
+	 * @param background whether the JWK set is retrieved by the executor, or by the calling thread
+	 */
+	private CompletableFuture<CacheEntry> retrieve(URI uri, CacheEntry previous, boolean background) {
+		final CompletableFuture<CacheEntry> retrieval = new CompletableFuture<>();
+		final CompletableFuture<CacheEntry> inProgress = retrievals.putIfAbsent(uri, retrieval);
+		if (inProgress != null) {
+			return inProgress;
+		}
+		final Runnable task = () -> {
+			try {
+				final CacheEntry entry = load(uri, previous);
+				if (entry.stored()) {
+					entries.put(uri, entry);
+				} else {
+					entries.remove(uri);
+				}
+				retrievals.remove(uri, retrieval);
+				retrieval.complete(entry);
+			} catch (Throwable e) {
+				retrievals.remove(uri, retrieval);
+				retrieval.completeExceptionally(e);
+			}
+		};
+		if (background) {
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				// the stale JWK set is still returned, and retrieved again by a later resolution
+				retrievals.remove(uri, retrieval);
+				retrieval.completeExceptionally(e);
+			}
+		} else {
+			task.run();
+		}
+		return retrieval;
+	}
+
+	private CacheEntry load(URI uri, CacheEntry previous) throws InterruptedException {
+		final Map<String, String> requestHeaders = previous != null && previous.etag() != null
+				? Map.of("If-None-Match", previous.etag())
+				: Map.of();
+		CacheEntry entry;
+		try {
+			final JwksTransport.Response response = transport.get(uri, requestHeaders);
+			if (response.statusCode() == 304 && previous != null && previous.jwkSet() != null) {
+				entry = toEntry(previous.jwkSet(), response.headers().firstValue("ETag").orElse(previous.etag()), response.headers());
+			} else if (response.statusCode() >= 200 && response.statusCode() < 300) {
+				entry = toEntry(JwkSetUtils.parseIndexedJwkSet(response.body()), response.headers().firstValue("ETag").orElse(null),
+						response.headers());
+			} else {
+				entry = toFailedEntry("the response status is %d".formatted(response.statusCode()));
+			}
+		} catch (IOException | KeyParsingException e) {
+			entry = toFailedEntry(Objects.toString(e.getMessage(), e.getClass().getSimpleName()));
+		}
+		if (entry.jwkSet() == null && previous != null && previous.jwkSet() != null && clock.instant().isBefore(previous.staleUntil())) {
+			// the stale JWK set is kept until the end of its stale-while-revalidate period
+			return previous;
+		}
+		return entry;
+	}
+
+	private CacheEntry toEntry(IndexedJwkSet jwkSet, String etag, HttpHeaders headers) {
+		final Instant now = clock.instant();
+		boolean noCache = false;
+		boolean noStore = false;
+		Duration maxAge = null;
+		Duration staleWhileRevalidate = null;
+		for (String directive : headers.allValues("Cache-Control").stream().flatMap(value -> Stream.of(value.split(","))).toList()) {
+			final String[] nameAndValue = directive.trim().toLowerCase(Locale.ROOT).split("=", 2);
+			switch (nameAndValue[0]) {
+				case "no-cache" -> noCache = true;
+				case "no-store" -> noStore = true;
+				case "max-age" -> maxAge = parseSeconds(nameAndValue).orElse(maxAge);
+				case "stale-while-revalidate" -> staleWhileRevalidate = parseSeconds(nameAndValue).orElse(staleWhileRevalidate);
+				default -> {
+					// other directives do not apply to a private cache of JWK sets
+				}
+			}
+		}
+		if (noStore) {
+			return new CacheEntry(jwkSet, etag, null, now, now, false);
+		}
+		if (staleWhileRevalidate == null) {
+			staleWhileRevalidate = noCache ? Duration.ZERO : defaultStaleWhileRevalidate;
+		}
+		final Duration timeToLive;
+		if (noCache) {
+			timeToLive = Duration.ZERO;
+		} else if (maxAge != null) {
+			timeToLive = maxAge;
+		} else {
+			timeToLive = headers.firstValue("Expires")
+					.flatMap(HttpVerificationMethodResolver::parseHttpDate)
+					.map(expires -> Duration.between(headers.firstValue("Date").flatMap(HttpVerificationMethodResolver::parseHttpDate)
+							.orElse(now), expires))
+					.map(duration -> duration.isNegative() ? Duration.ZERO : duration)
+					.orElse(defaultTimeToLive);
+		}
+		final Instant freshUntil = now.plus(timeToLive);
+		return new CacheEntry(jwkSet, etag, null, freshUntil, freshUntil.plus(staleWhileRevalidate), true);
+	}
+
+	private CacheEntry toFailedEntry(String failure) {
+		final Instant freshUntil = clock.instant().plus(negativeTimeToLive);
+		return new CacheEntry(null, null, failure, freshUntil, freshUntil, true);
+	}
+
+	private static Optional<Duration> parseSeconds(String[] nameAndValue) {
+		try {
+			return nameAndValue.length == 2 ? Optional.of(Duration.ofSeconds(Long.parseLong(nameAndValue[1].trim()))) : Optional.empty();
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<Instant> parseHttpDate(String value) {
+		try {
+			return Optional.of(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+		} catch (DateTimeParseException e) {
+			return Optional.empty();
+		}
+	}
+
+	private static CacheEntry await(URI uri, CompletableFuture<CacheEntry> retrieval) {
+		try {
+			return retrieval.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new VerificationMethodResolutionException("The retrieval of the JWK set '%s' is interrupted".formatted(uri), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new VerificationMethodResolutionException("The JWK set '%s' cannot be retrieved".formatted(uri), e.getCause());
+		}
+	}
+
+	private URI toJwksUri(String verificationMethod) {
+		try {
+			final URI uri = new URI(verificationMethod);
+			if (!"https".equalsIgnoreCase(uri.getScheme()) && !(httpAllowed && "http".equalsIgnoreCase(uri.getScheme()))) {
+				throw new VerificationMethodResolutionException("The verification method '%s' is not an %s URL"
+						.formatted(verificationMethod, httpAllowed ? "HTTP" : "HTTPS"));
+			}
+			if (uri.getHost() == null || !allowedHosts.isEmpty() && !allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+				throw new VerificationMethodResolutionException("The host of the verification method '%s' is not allowed"
+						.formatted(verificationMethod));
+			}
+			return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
+		} catch (URISyntaxException e) {
+			throw new VerificationMethodResolutionException("The verification method '%s' is not a valid URL".formatted(verificationMethod), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HttpVerificationMethodResolver{" +
+				"defaultTimeToLive=" + defaultTimeToLive +
+				", defaultStaleWhileRevalidate=" + defaultStaleWhileRevalidate +
+				", negativeTimeToLive=" + negativeTimeToLive +
+				", httpAllowed=" + httpAllowed +
+				", allowedHosts=" + allowedHosts +
+				", size=" + entries.size() +
+				'}';
+	}
+
+	/**
+	 * A cached JWK set, or a cached failure if the JWK set is null
+	 *
+	 * @param stored whether the entry is cached, false for a <code>no-store</code> JWK set
+	 */
+	private record CacheEntry(IndexedJwkSet jwkSet, String etag, String failure, Instant freshUntil, Instant staleUntil, boolean stored) {
+
+		IndexedJwkSet getJwkSet(URI uri) {
+			if (jwkSet == null) {
+				throw new VerificationMethodResolutionException("The JWK set '%s' cannot be retrieved: %s".formatted(uri, failure));
+			}
+			return jwkSet;
+		}
+	}
+
+	public static class HttpVerificationMethodResolverBuilder {
+		private JwksTransport transport;
+
+		private Executor executor;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Duration defaultTimeToLive = Duration.ofMinutes(5);
+
+		private Duration defaultStaleWhileRevalidate = Duration.ofMinutes(1);
+
+		private Duration negativeTimeToLive = Duration.ofSeconds(30);
+
+		private boolean httpAllowed;
+
+		private final Set<String> allowedHosts = new HashSet<>();
+
+		private int maxBodySize = JwksTransport.DEFAULT_MAX_BODY_SIZE;
+
+		private int maxSize = DEFAULT_MAX_SIZE;
+
+		HttpVerificationMethodResolverBuilder() {
+		}
+
+		/**
+		 * Sets the transport retrieving the JWK sets, by default an {@link HttpClient} whose requests time out after 10 seconds, only
+		 * following the redirects to the same origin, and reading at most <code>maxBodySize</code> bytes
+		 */
+		public HttpVerificationMethodResolverBuilder transport(JwksTransport transport) {
+			this.transport = Objects.requireNonNull(transport, "transport");
+			return this;
+		}
+
+		/**
+		 * Sets the executor retrieving the stale JWK sets in the background, by default a bounded pool of the resolver. The resolver
+		 * does not shut the executor down, its caller does once the resolver is no longer used.
+		 */
+		public HttpVerificationMethodResolverBuilder executor(Executor executor) {
+			this.executor = Objects.requireNonNull(executor, "executor");
+			return this;
+		}
+
+		public HttpVerificationMethodResolverBuilder clock(Clock clock) {
+			this.clock = Objects.requireNonNull(clock, "clock");
+			return this;
+		}
+
+		/**
+		 * Sets how long the JWK sets without cache headers are fresh, 5 minutes by default
+		 */
+		public HttpVerificationMethodResolverBuilder defaultTimeToLive(Duration defaultTimeToLive) {
+			this.defaultTimeToLive = Objects.requireNonNull(defaultTimeToLive, "defaultTimeToLive");
+			return this;
+		}
+
+		/**
+		 * Sets how long the stale JWK sets without <code>stale-while-revalidate</code> directive are still returned, 1 minute by default
+		 */
+		public HttpVerificationMethodResolverBuilder defaultStaleWhileRevalidate(Duration defaultStaleWhileRevalidate) {
+			this.defaultStaleWhileRevalidate = Objects.requireNonNull(defaultStaleWhileRevalidate, "defaultStaleWhileRevalidate");
+			return this;
+		}
+
+		/**
+		 * Sets how long the failed retrievals are cached, 30 seconds by default
+		 */
+		public HttpVerificationMethodResolverBuilder negativeTimeToLive(Duration negativeTimeToLive) {
+			this.negativeTimeToLive = Objects.requireNonNull(negativeTimeToLive, "negativeTimeToLive");
+			return this;
+		}
+
+		/**
+		 * Allows resolving plain HTTP verification methods, whose JWK sets can be replaced by anyone on the network; only HTTPS
+		 * verification methods are resolved by default
+		 */
+		public HttpVerificationMethodResolverBuilder allowHttp(boolean httpAllowed) {
+			this.httpAllowed = httpAllowed;
+			return this;
+		}
+
+		/**
+		 * Restricts the resolved verification methods to the specified hosts, e.g. the hosts of the known issuers; any host is allowed
+		 * by default
+		 */
+		public HttpVerificationMethodResolverBuilder allowedHosts(Collection<String> allowedHosts) {
+			allowedHosts.forEach(allowedHost -> this.allowedHosts.add(allowedHost.toLowerCase(Locale.ROOT)));
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of the JWK sets retrieved by the default transport, {@value JwksTransport#DEFAULT_MAX_BODY_SIZE} bytes
+		 * by default
+		 */
+		public HttpVerificationMethodResolverBuilder maxBodySize(int maxBodySize) {
+			this.maxBodySize = maxBodySize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of cached JWK sets, {@value DEFAULT_MAX_SIZE} by default
+		 */
+		public HttpVerificationMethodResolverBuilder maxSize(int maxSize) {
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		public HttpVerificationMethodResolver build() {
+			final JwksTransport jwksTransport = transport != null
+					? transport
+					: JwksTransport.of(HttpClient.newBuilder()
+							.connectTimeout(Duration.ofSeconds(10))
+							.followRedirects(HttpClient.Redirect.NEVER)
+							.build(), Duration.ofSeconds(10), maxBodySize);
+			return new HttpVerificationMethodResolver(jwksTransport, executor != null ? executor : newDefaultExecutor(), clock, defaultTimeToLive, defaultStaleWhileRevalidate,
+					negativeTimeToLive, httpAllowed, allowedHosts, maxSize);
+		}
+
+		/**
+		 * Returns a bounded pool of daemon threads, which time out when idle so that the pool needs no shutdown
+		 */
+		private static Executor newDefaultExecutor() {
+			final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(DEFAULT_BACKGROUND_THREADS, DEFAULT_BACKGROUND_THREADS,
+					1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(DEFAULT_BACKGROUND_QUEUE_SIZE), runnable -> {
+						final Thread thread = new Thread(runnable, "verification-method-resolver");
+						thread.setDaemon(true);
+						return thread;
+					});
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			return threadPoolExecutor;
+		}
+
+		@Override
+		public String toString() {
+			return "HttpVerificationMethodResolverBuilder{" +
+					"defaultTimeToLive=" + defaultTimeToLive +
+					", defaultStaleWhileRevalidate=" + defaultStaleWhileRevalidate +
+					", negativeTimeToLive=" + negativeTimeToLive +
+					", httpAllowed=" + httpAllowed +
+					", allowedHosts=" + allowedHosts +
+					", maxBodySize=" + maxBodySize +
+					", maxSize=" + maxSize +
+					'}';
+		}
+	}
+}
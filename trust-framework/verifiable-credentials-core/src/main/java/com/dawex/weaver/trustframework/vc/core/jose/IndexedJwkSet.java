@@ -0,0 +1,175 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable JSON Web Key set, indexed for looking up its keys by key id (<code>kid</code>), by the SHA-256 thumbprint of their
+ * X.509 certificate (<code>x5t#S256</code>), or by the <code>verificationMethod</code> of a proof. The verifier of each key is
+ * prepared once, next to the key.
+ * <p>
+ * The JWK sets of the issuers are parsed and indexed once by {@link JwkSetUtils#parseIndexedJwkSet(Map)}, which caches them.
+ */
+public class IndexedJwkSet {
+
+	private static final char FRAGMENT_DELIMITER = '#';
+
+	private final JWKSet jwkSet;
+
+	private final List<IndexedKey> keys;
+
+	private final Map<String, IndexedKey> keysById = new HashMap<>();
+
+	private final Map<String, IndexedKey> keysByThumbprint = new HashMap<>();
+
+	private IndexedJwkSet(JWKSet jwkSet) {
+		this.jwkSet = jwkSet;
+		this.keys = jwkSet.getKeys().stream().map(IndexedKey::new).toList();
+		for (IndexedKey indexedKey : keys) {
+			final JWK jwk = indexedKey.getJwk();
+			if (jwk.getKeyID() != null) {
+				keysById.putIfAbsent(jwk.getKeyID(), indexedKey);
+			}
+			for (String thumbprint : getThumbprints(jwk)) {
+				keysByThumbprint.putIfAbsent(thumbprint, indexedKey);
+			}
+		}
+	}
+
+	/**
+	 * Indexes the keys of the JWK set
+	 */
+	public static IndexedJwkSet of(JWKSet jwkSet) {
+		return new IndexedJwkSet(jwkSet);
+	}
+
+	public JWKSet getJwkSet() {
+		return jwkSet;
+	}
+
+	/**
+	 * Returns the indexed keys, in the order of the set
+	 */
+	public List<IndexedKey> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Returns the key with the key id
+	 */
+	public Optional<IndexedKey> findByKeyId(String keyId) {
+		return Optional.ofNullable(keysById.get(keyId));
+	}
+
+	/**
+	 * Returns the key whose X.509 certificate has the SHA-256 thumbprint
+	 *
+	 * @see Keyring#getThumbprint(X509Certificate)
+	 */
+	public Optional<IndexedKey> findByThumbprint(String thumbprint) {
+		return Optional.ofNullable(keysByThumbprint.get(thumbprint));
+	}
+
+	/**
+	 * Returns the key referenced by the verification method of a proof: its fragment is the key id or the certificate thumbprint of the
+	 * key (e.g. <code>did:web:dawex.com#key-1</code>). A verification method without fragment references the only key of the set.
+	 */
+	public Optional<IndexedKey> findByVerificationMethod(String verificationMethod) {
+		final int fragmentIndex = verificationMethod.lastIndexOf(FRAGMENT_DELIMITER);
+		if (fragmentIndex == -1) {
+			return keys.size() == 1 ? Optional.of(keys.get(0)) : Optional.empty();
+		}
+		final String fragment = verificationMethod.substring(fragmentIndex + 1);
+		return findByKeyId(fragment).or(() -> findByThumbprint(fragment));
+	}
+
+	/**
+	 * Returns the verifier of the key referenced by the verification method of a proof
+	 *
+	 * @throws SignatureException If the verification method does not reference a key of the set, or if the key type is not supported
+	 *                            for verifying
+	 * @see #findByVerificationMethod(String)
+	 */
+	public JWSVerifier getVerifier(String verificationMethod) {
+		return findByVerificationMethod(verificationMethod)
+				.orElseThrow(() -> new SignatureException("The verification method '%s' does not reference a key of the JWK set"
+						.formatted(verificationMethod)))
+				.getVerifier();
+	}
+
+	private static List<String> getThumbprints(JWK jwk) {
+		final List<X509Certificate> certificateChain = jwk.getParsedX509CertChain();
+		if (certificateChain != null && !certificateChain.isEmpty()) {
+			return List.of(Keyring.getThumbprint(certificateChain.get(0)));
+		}
+		final Base64URL thumbprint = jwk.getX509CertSHA256Thumbprint();
+		return thumbprint == null ? List.of() : List.of(thumbprint.toString());
+	}
+
+	@Override
+	public String toString() {
+		return "IndexedJwkSet{" +
+				"keyIds=" + keysById.keySet() +
+				", thumbprints=" + keysByThumbprint.keySet() +
+				'}';
+	}
+
+	/**
+	 * A key of the set, with its prepared verifier
+	 */
+	public static class IndexedKey {
+		private final JWK jwk;
+
+		private final JWSVerifier verifier;
+
+		private final String unsupportedReason;
+
+		private IndexedKey(JWK jwk) {
+			this.jwk = jwk;
+			JWSVerifier jwkVerifier = null;
+			String reason = null;
+			try {
+				jwkVerifier = JwsVerifiers.of(jwk);
+			} catch (JOSEException e) {
+				// a JWK set may hold keys which are not used for signing, such as encryption keys
+				reason = e.getMessage();
+			}
+			this.verifier = jwkVerifier;
+			this.unsupportedReason = reason;
+		}
+
+		public JWK getJwk() {
+			return jwk;
+		}
+
+		/**
+		 * Returns the verifier of the key, which is thread-safe
+		 *
+		 * @throws SignatureException If the key type is not supported for verifying
+		 */
+		public JWSVerifier getVerifier() {
+			if (verifier == null) {
+				throw new SignatureException("The key '%s' cannot be used for verifying: %s".formatted(jwk.getKeyID(), unsupportedReason));
+			}
+			return verifier;
+		}
+
+		@Override
+		public String toString() {
+			return "IndexedKey{" +
+					"keyId=" + jwk.getKeyID() +
+					", keyType=" + jwk.getKeyType() +
+					'}';
+		}
+	}
+}
@@ -1,44 +1,43 @@
 package com.dawex.weaver.trustframework.vc.core.jose;
 
-import com.apicatalog.jsonld.JsonLd;
 import com.apicatalog.jsonld.JsonLdError;
 import com.apicatalog.jsonld.document.JsonDocument;
-import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.rdf.RdfDataset;
-import com.apicatalog.rdf.io.error.RdfWriterException;
-import com.apicatalog.rdf.io.error.UnsupportedContentException;
-import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.Canonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.Urdna2015Canonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
 import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
-import com.nimbusds.jose.HeaderParameterNames;
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.Payload;
-import com.nimbusds.jose.crypto.RSASSASigner;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.RSAKey;
-import io.setl.rdf.normalization.RdfNormalize;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
-import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
-import java.util.Set;
 
 /**
- * Utility class for generating and validating a signature for a JSON-LD document
+ * Utility class for generating and validating a signature for a JSON-LD document.
+ * <p>
+ * The document is canonicalized before being signed, with the {@link Canonicalizer} of the proof type, which is given by a
+ * {@link SignatureConfiguration}: the methods without configuration use {@link SignatureConfiguration#DEFAULT}, whose
+ * <code>JsonWebSignature2020</code> proofs use an {@link Urdna2015Canonicalizer} with rdf-urdna; the methods without proof type use it
+ * as well.
+ * <p>
+ * The documents are signed with a {@link DetachedJwsSigner}, and their signatures are checked with a {@link JWSVerifier}: the keys of a
+ * {@link Keyring}, of an {@link IndexedJwkSet} or of a {@link CertificateRegistry} provide them.
+ * <p>
+ * The signature algorithm is chosen from the key type: PS256 for the RSA keys, ES256 for the P-256 EC keys, and EdDSA for the Ed25519
+ * keys.
  */
 public class JsonWebSignatureUtils {
 
-	private static final String HASH_ALGORITHM_SHA256 = "SHA-256";
+	public static final String PROOF_TYPE_JSON_WEB_SIGNATURE_2020 = "JsonWebSignature2020";
 
 	private JsonWebSignatureUtils() {
 		// no instance allowed
@@ -51,12 +50,116 @@ public class JsonWebSignatureUtils {
 	 */
 	public static String generateSignature(String jsonLd, JWK jwk) {
 		try {
-			final String normalized = normalize(jsonLd);
-			final String hash = getHash(normalized);
-			return getSignature(hash, jwk);
+			return generateSignature(jsonLd, new DetachedJwsSigner(jwk), PROOF_TYPE_JSON_WEB_SIGNATURE_2020);
+		} catch (JOSEException e) {
+			throw new SignatureException(e);
+		}
+	}
 
-		} catch (JsonLdError | IOException | RdfWriterException | UnsupportedContentException | NoSuchAlgorithmException |
-		         JOSEException e) {
+	/**
+	 * Generate the signature of the serialized JSON-LD document for the specified proof type, using the provided signer, e.g. of a
+	 * {@link Keyring}, and the default configuration
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(String jsonLd, DetachedJwsSigner signer, String proofType) {
+		return generateSignature(jsonLd, signer, proofType, SignatureConfiguration.DEFAULT);
+	}
+
+	/**
+	 * Generate the signature of the serialized JSON-LD document for the specified proof type, using the provided signer and the
+	 * canonicalizer of the proof type in the configuration
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(String jsonLd, DetachedJwsSigner signer, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return generateSignature(toJsonDocument(jsonLd), signer, proofType, configuration);
+		} catch (JsonLdError | IOException e) {
+			throw new SignatureException(e);
+		}
+	}
+
+	/**
+	 * Generate the signature of the JSON-LD document serialized in UTF-8 for the specified proof type, using the provided signer and
+	 * the default configuration
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(byte[] jsonLd, DetachedJwsSigner signer, String proofType) {
+		return generateSignature(jsonLd, signer, proofType, SignatureConfiguration.DEFAULT);
+	}
+
+	/**
+	 * Generate the signature of the JSON-LD document serialized in UTF-8 for the specified proof type, using the provided signer and
+	 * the canonicalizer of the proof type in the configuration
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(byte[] jsonLd, DetachedJwsSigner signer, String proofType,
+			SignatureConfiguration configuration) {
+		return generateSignature(new ByteArrayInputStream(jsonLd), signer, proofType, configuration);
+	}
+
+	/**
+	 * Generate the signature of the JSON-LD document read from the stream for the specified proof type, using the provided signer and
+	 * the default configuration. The stream is read until its end but is not closed.
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(InputStream jsonLd, DetachedJwsSigner signer, String proofType) {
+		return generateSignature(jsonLd, signer, proofType, SignatureConfiguration.DEFAULT);
+	}
+
+	/**
+	 * Generate the signature of the JSON-LD document read from the stream for the specified proof type, using the provided signer and
+	 * the canonicalizer of the proof type in the configuration. The stream is read until its end but is not closed.
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(InputStream jsonLd, DetachedJwsSigner signer, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return generateSignature(JsonDocument.of(jsonLd), signer, proofType, configuration);
+		} catch (JsonLdError e) {
+			throw new SignatureException(e);
+		}
+	}
+
+	/**
+	 * Generate the signature of the RDF dataset of a JSON-LD document for the specified proof type, using the provided signer and the
+	 * default configuration
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation
+	 */
+	public static String generateSignature(RdfDataset rdfDataset, DetachedJwsSigner signer, String proofType) {
+		return generateSignature(rdfDataset, signer, proofType, SignatureConfiguration.DEFAULT);
+	}
+
+	/**
+	 * Generate the signature of the RDF dataset of a JSON-LD document for the specified proof type, using the provided signer and the
+	 * canonicalizer of the proof type in the configuration.
+	 * The dataset is typically emitted from the annotated object by a
+	 * {@link com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter}, skipping the JSON serialization and expansion.
+	 *
+	 * @throws SignatureException If an error occurs during the signature generation, or if the canonicalizer of the proof type does not
+	 *                            apply to RDF datasets
+	 */
+	public static String generateSignature(RdfDataset rdfDataset, DetachedJwsSigner signer, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return getSignature(configuration.getCanonicalizer(proofType).digest(rdfDataset), signer);
+		} catch (CanonicalizationException | JOSEException e) {
+			throw new SignatureException(e);
+		}
+	}
+
+	private static String generateSignature(JsonDocument jsonLd, DetachedJwsSigner signer, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return getSignature(configuration.getCanonicalizer(proofType).digest(jsonLd), signer);
+		} catch (CanonicalizationException | JOSEException e) {
 			throw new SignatureException(e);
 		}
 	}
@@ -71,11 +174,8 @@ public class JsonWebSignatureUtils {
 	 */
 	public static boolean isSignatureValid(String signature, String jsonLd, JWK jwk) {
 		try {
-			final RSASSAVerifier verifier = new RSASSAVerifier((RSAKey) jwk);
-			return verifySignature(jsonLd, signature, verifier);
-
-		} catch (JsonLdError | IOException | RdfWriterException | UnsupportedContentException | NoSuchAlgorithmException | ParseException |
-		         JOSEException e) {
+			return isSignatureValid(signature, jsonLd, JwsVerifiers.of(jwk), PROOF_TYPE_JSON_WEB_SIGNATURE_2020);
+		} catch (JOSEException e) {
 			throw new SignatureException(e);
 		}
 	}
@@ -90,83 +190,130 @@ public class JsonWebSignatureUtils {
 	 */
 	public static boolean isSignatureValid(String signature, String jsonLd, X509Certificate certificate) {
 		try {
-			final RSASSAVerifier verifier = new RSASSAVerifier((RSAPublicKey) certificate.getPublicKey());
-			return verifySignature(jsonLd, signature, verifier);
-
-		} catch (JsonLdError | IOException | RdfWriterException | UnsupportedContentException | NoSuchAlgorithmException | ParseException |
-		         JOSEException e) {
+			return isSignatureValid(signature, jsonLd, JwsVerifiers.of(certificate.getPublicKey()), PROOF_TYPE_JSON_WEB_SIGNATURE_2020);
+		} catch (JOSEException e) {
 			throw new SignatureException(e);
 		}
 	}
 
 	/**
-	 * Normalizes JSON-LD input based on
-	 * <a href="https://w3c.github.io/json-ld-api/#rdf-serialization-deserialization-algorithms">RDF Serialization/Deserialization Algorithms</a>
-	 * <a href="https://w3c-ccg.github.io/rdf-dataset-canonicalization/spec/index.html">RDF Dataset Canonicalization</a>
+	 * Checks signature validity for the specified proof type, using the provided verifier and the default configuration
+	 *
+	 * @param signature the signature to validate
+	 * @param jsonLd    the serialized JSON-LD document (a verifiable credential without the proof)
+	 * @param verifier  the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType the proof type, selecting the canonicalizer
+	 * @throws SignatureException If an error occurs during the signature validation
 	 */
-	private static String normalize(String input) throws JsonLdError, IOException, RdfWriterException, UnsupportedContentException {
-		// Load JsonDocument
-		final JsonDocument jsonDocument;
-		try (final Reader reader = new StringReader(input)) {
-			jsonDocument = JsonDocument.of(reader);
-		}
-		// Convert to RDF
-		final RdfDataset rdfDataset = JsonLd.toRdf(jsonDocument).get();
-		// Normalize RDF with URDNA 2015 algorithm
-		final RdfDataset normalized = RdfNormalize.normalize(rdfDataset);
-		// Export RDF as String
-		try (final StringWriter writer = new StringWriter()) {
-			RdfProvider.provider().createWriter(MediaType.N_QUADS, writer).write(normalized);
-			return writer.toString();
+	public static boolean isSignatureValid(String signature, String jsonLd, JWSVerifier verifier, String proofType) {
+		return isSignatureValid(signature, jsonLd, verifier, proofType, SignatureConfiguration.DEFAULT);
+	}
+
+	/**
+	 * Checks signature validity for the specified proof type, using the provided verifier
+	 *
+	 * @param signature     the signature to validate
+	 * @param jsonLd        the serialized JSON-LD document (a verifiable credential without the proof)
+	 * @param verifier      the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType     the proof type, selecting the canonicalizer
+	 * @param configuration the configuration giving the canonicalizer of the proof type
+	 * @throws SignatureException If an error occurs during the signature validation
+	 */
+	public static boolean isSignatureValid(String signature, String jsonLd, JWSVerifier verifier, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return verifySignature(configuration.getCanonicalizer(proofType).digest(toJsonDocument(jsonLd)), signature, verifier);
+
+		} catch (JsonLdError | IOException | CanonicalizationException | ParseException | JOSEException e) {
+			throw new SignatureException(e);
 		}
 	}
 
 	/**
-	 * Gets SHA-256 hash of input String
+	 * Checks signature validity for the specified proof type, using the provided verifier and the default configuration
+	 *
+	 * @param signature the signature to validate
+	 * @param jsonLd    the JSON-LD document serialized in UTF-8 (a verifiable credential without the proof)
+	 * @param verifier  the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType the proof type, selecting the canonicalizer
+	 * @throws SignatureException If an error occurs during the signature validation
 	 */
-	private static String getHash(String input) throws NoSuchAlgorithmException {
-		final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM_SHA256);
-		final byte[] hashBytes = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-		return byteArrayToHex(hashBytes);
+	public static boolean isSignatureValid(String signature, byte[] jsonLd, JWSVerifier verifier, String proofType) {
+		return isSignatureValid(signature, jsonLd, verifier, proofType, SignatureConfiguration.DEFAULT);
 	}
 
 	/**
-	 * Converts a byte array to a hexadecimal String
+	 * Checks signature validity for the specified proof type, using the provided verifier
+	 *
+	 * @param signature     the signature to validate
+	 * @param jsonLd        the JSON-LD document serialized in UTF-8 (a verifiable credential without the proof)
+	 * @param verifier      the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType     the proof type, selecting the canonicalizer
+	 * @param configuration the configuration giving the canonicalizer of the proof type
+	 * @throws SignatureException If an error occurs during the signature validation
 	 */
-	private static String byteArrayToHex(byte[] bytes) {
-		final StringBuilder sb = new StringBuilder();
-		for (byte aByte : bytes) {
-			sb.append(Integer.toString((aByte & 0xff) + 0x100, 16).substring(1));
+	public static boolean isSignatureValid(String signature, byte[] jsonLd, JWSVerifier verifier, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return verifySignature(configuration.getCanonicalizer(proofType).digest(JsonDocument.of(new ByteArrayInputStream(jsonLd))),
+					signature, verifier);
+
+		} catch (JsonLdError | CanonicalizationException | ParseException | JOSEException e) {
+			throw new SignatureException(e);
 		}
-		return sb.toString().toLowerCase();
 	}
 
 	/**
-	 * Generates the signature of the input, according to <a href="https://w3c-ccg.github.io/lds-jws2020/#json-web-signature-2020">JSON Web Signature 2020 specifications</a>
+	 * Checks signature validity for the specified proof type, using the provided verifier and the default configuration
+	 *
+	 * @param signature  the signature to validate
+	 * @param rdfDataset the RDF dataset of the JSON-LD document (a verifiable credential without the proof)
+	 * @param verifier   the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType  the proof type, selecting the canonicalizer
+	 * @throws SignatureException If an error occurs during the signature validation
 	 */
-	private static String getSignature(String input, JWK jwk) throws JOSEException {
-		final JWSObject jwsObject = new JWSObject(
-				new JWSHeader.Builder(JWSAlgorithm.PS256)
-						.base64URLEncodePayload(false)
-						.criticalParams(Set.of(HeaderParameterNames.BASE64_URL_ENCODE_PAYLOAD))
-						.build(),
-				new Payload(input));
+	public static boolean isSignatureValid(String signature, RdfDataset rdfDataset, JWSVerifier verifier, String proofType) {
+		return isSignatureValid(signature, rdfDataset, verifier, proofType, SignatureConfiguration.DEFAULT);
+	}
 
-		final RSASSASigner signer = new RSASSASigner((RSAKey) jwk);
-		jwsObject.sign(signer);
+	/**
+	 * Checks signature validity for the specified proof type, using the provided verifier
+	 *
+	 * @param signature     the signature to validate
+	 * @param rdfDataset    the RDF dataset of the JSON-LD document (a verifiable credential without the proof)
+	 * @param verifier      the verifier, e.g. of a {@link Keyring} or of an {@link IndexedJwkSet}
+	 * @param proofType     the proof type, selecting the canonicalizer
+	 * @param configuration the configuration giving the canonicalizer of the proof type
+	 * @throws SignatureException If an error occurs during the signature validation, or if the canonicalizer of the proof type does
+	 *                            not apply to RDF datasets
+	 */
+	public static boolean isSignatureValid(String signature, RdfDataset rdfDataset, JWSVerifier verifier, String proofType,
+			SignatureConfiguration configuration) {
+		try {
+			return verifySignature(configuration.getCanonicalizer(proofType).digest(rdfDataset), signature, verifier);
+
+		} catch (CanonicalizationException | ParseException | JOSEException e) {
+			throw new SignatureException(e);
+		}
+	}
 
-		return jwsObject.serialize(true);
+	private static JsonDocument toJsonDocument(String jsonLd) throws JsonLdError, IOException {
+		try (final Reader reader = new StringReader(jsonLd)) {
+			return JsonDocument.of(reader);
+		}
 	}
 
 	/**
-	 * Checks the signature of the jsonLd with the specified verifier. The jsonLd is normalized before checking the signature.
+	 * Generates the signature of the input, according to <a href="https://w3c-ccg.github.io/lds-jws2020/#json-web-signature-2020">JSON Web Signature 2020 specifications</a>
 	 */
-	private static boolean verifySignature(String jsonLd, String signature, RSASSAVerifier verifier)
-			throws JsonLdError, IOException, RdfWriterException, UnsupportedContentException, NoSuchAlgorithmException, ParseException,
-			JOSEException {
-		final String normalized = normalize(jsonLd);
-		final String hash = getHash(normalized);
+	private static String getSignature(String input, DetachedJwsSigner signer) throws JOSEException {
+		return signer.sign(input);
+	}
 
+	/**
+	 * Checks the signature of the hash of the canonicalized document with the specified verifier
+	 */
+	private static boolean verifySignature(String hash, String signature, JWSVerifier verifier) throws ParseException, JOSEException {
 		final JWSObject jwsObject = JWSObject.parse(signature, new Payload(hash));
 		return jwsObject.verify(verifier);
 	}
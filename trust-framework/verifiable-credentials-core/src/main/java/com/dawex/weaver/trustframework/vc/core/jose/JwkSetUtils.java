@@ -2,9 +2,18 @@ package com.dawex.weaver.trustframework.vc.core.jose;
 
 import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyCreationException;
 import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.utils.BoundedCache;
+import com.dawex.weaver.trustframework.vc.core.utils.Sha256Utils;
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
 import com.nimbusds.jose.util.X509CertUtils;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.cert.X509v3CertificateBuilder;
@@ -16,6 +25,8 @@ import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidParameterException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
@@ -23,7 +34,11 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.EdECPrivateKey;
 import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.NamedParameterSpec;
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -44,7 +59,21 @@ public class JwkSetUtils {
 	 */
 	private static final int RSA_KEY_SIZE = 2048;
 
-	private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+	private static final String EC_CURVE_NAME = "secp256r1";
+
+	/**
+	 * Shared by all the key creations, as their creation is costly: the secure random is thread-safe, and the provider is stateless
+	 */
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+	private static final BouncyCastleProvider BOUNCY_CASTLE_PROVIDER = new BouncyCastleProvider();
+
+	/**
+	 * The maximum number of cached indexed JWK sets, one per issuer: the least recently used are evicted
+	 */
+	public static final int INDEXED_JWK_SET_CACHE_SIZE = 4096;
+
+	private static final BoundedCache<String, IndexedJwkSet> INDEXED_JWK_SETS = new BoundedCache<>(INDEXED_JWK_SET_CACHE_SIZE);
 
 	private JwkSetUtils() {
 		// no instance allowed
@@ -63,32 +92,127 @@ public class JwkSetUtils {
 		}
 	}
 
+	/**
+	 * Parses the specified JSON object representing a JSON Web Key (JWK) set, and indexes its keys. The indexed sets are cached under a
+	 * SHA-256 hash of their content, so that the JWK set of an issuer is parsed and its verifiers are prepared once.
+	 *
+	 * @throws KeyParsingException If the data map couldn't be parsed to a valid JSON Web Key (JWK) set.
+	 */
+	public static IndexedJwkSet parseIndexedJwkSet(Map<String, Object> data) {
+		return getIndexedJwkSet(JSONObjectUtils.toJSONString(data), () -> JWKSet.parse(data));
+	}
+
+	/**
+	 * Parses the specified JSON representing a JSON Web Key (JWK) set, and indexes its keys. The indexed sets are cached under a SHA-256
+	 * hash of their content, so that the JWK set of an issuer is parsed and its verifiers are prepared once.
+	 *
+	 * @throws KeyParsingException If the JSON couldn't be parsed to a valid JSON Web Key (JWK) set.
+	 */
+	public static IndexedJwkSet parseIndexedJwkSet(String json) {
+		return getIndexedJwkSet(json, () -> JWKSet.parse(json));
+	}
+
+	private static IndexedJwkSet getIndexedJwkSet(String content, JwkSetParser parser) {
+		final String contentHash = Sha256Utils.toBase64UrlDigest(content.getBytes(StandardCharsets.UTF_8));
+		IndexedJwkSet indexedJwkSet = INDEXED_JWK_SETS.get(contentHash);
+		if (indexedJwkSet == null) {
+			try {
+				// parsed out of the lock: a set parsed concurrently by several threads is cached once
+				indexedJwkSet = IndexedJwkSet.of(parser.parse());
+			} catch (ParseException e) {
+				throw new KeyParsingException(e);
+			}
+			INDEXED_JWK_SETS.put(contentHash, indexedJwkSet);
+		}
+		return indexedJwkSet;
+	}
+
+	/**
+	 * Returns the number of cached indexed JWK sets
+	 */
+	static int getCachedIndexedJwkSetCount() {
+		return INDEXED_JWK_SETS.size();
+	}
+
 	/**
 	 * Creates a new Jwk Set, and the associated X.509 certificate
 	 *
 	 * @throws KeyCreationException If the keys cannot be created
 	 */
 	public static CreatedKeys createKeys(String certificateIssuerCommonName, int certificateValidityInMonths) {
+		return createKeys(certificateIssuerCommonName, certificateValidityInMonths, KeyAlgorithm.RSA);
+	}
+
+	/**
+	 * Creates a new Jwk Set with a key of the specified algorithm, and the associated X.509 certificate. The key algorithm determines
+	 * the algorithm of the signatures: PS256 for RSA keys, ES256 for P-256 EC keys, and EdDSA for Ed25519 keys.
+	 *
+	 * @throws KeyCreationException If the keys cannot be created
+	 */
+	public static CreatedKeys createKeys(String certificateIssuerCommonName, int certificateValidityInMonths, KeyAlgorithm keyAlgorithm) {
+		return createKeys(certificateIssuerCommonName, certificateValidityInMonths, keyAlgorithm, generateKeyPair(keyAlgorithm));
+	}
+
+	/**
+	 * Creates a new Jwk Set with a key pair taken from the pool, and the associated X.509 certificate
+	 *
+	 * @throws KeyCreationException If the keys cannot be created
+	 */
+	public static CreatedKeys createKeys(String certificateIssuerCommonName, int certificateValidityInMonths, KeyPairPool keyPairPool) {
+		return createKeys(certificateIssuerCommonName, certificateValidityInMonths, keyPairPool.getKeyAlgorithm(), keyPairPool.take());
+	}
+
+	/**
+	 * Creates a new Jwk Set and the associated X.509 certificate for each certificate issuer common name, in parallel, with key pairs
+	 * taken from the pool. The created keys are returned in the order of the common names.
+	 *
+	 * @throws KeyCreationException If some keys cannot be created
+	 */
+	public static List<CreatedKeys> createKeys(List<String> certificateIssuerCommonNames, int certificateValidityInMonths,
+			KeyPairPool keyPairPool) {
+		return certificateIssuerCommonNames.parallelStream()
+				.map(commonName -> createKeys(commonName, certificateValidityInMonths, keyPairPool))
+				.toList();
+	}
+
+	private static CreatedKeys createKeys(String certificateIssuerCommonName, int certificateValidityInMonths, KeyAlgorithm keyAlgorithm,
+			KeyPair keyPair) {
 		try {
-			final KeyPair keyPair = generateRsaKey();
-			final X509Certificate cert = getSelfSignedX509Certificate(keyPair, certificateIssuerCommonName, certificateValidityInMonths);
-			final RSAKey rsaKey = new RSAKey.Builder(RSAKey.parse(cert))
-					.privateKey((RSAPrivateKey) keyPair.getPrivate())
-					.build();
-			return new CreatedKeys(new JWKSet(rsaKey), List.of(X509CertUtils.toPEMString(cert)));
+			final X509Certificate cert = getSelfSignedX509Certificate(keyPair, certificateIssuerCommonName, certificateValidityInMonths,
+					keyAlgorithm.certificateSignatureAlgorithm);
+			final JWK jwk = switch (keyAlgorithm) {
+				case RSA -> new RSAKey.Builder(RSAKey.parse(cert))
+						.privateKey((RSAPrivateKey) keyPair.getPrivate())
+						.build();
+				case EC_P256 -> new ECKey.Builder(ECKey.parse(cert))
+						.privateKey((ECPrivateKey) keyPair.getPrivate())
+						.build();
+				case ED25519 -> new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(Ed25519Keys.encode(keyPair.getPublic())))
+						.d(Base64URL.encode(((EdECPrivateKey) keyPair.getPrivate()).getBytes().orElseThrow()))
+						// as the RSA and EC keys parsed from a certificate
+						.keyID(cert.getSerialNumber().toString(10))
+						.x509CertChain(List.of(Base64.encode(cert.getEncoded())))
+						.x509CertSHA256Thumbprint(X509CertUtils.computeSHA256Thumbprint(cert))
+						.build();
+			};
+			return new CreatedKeys(new JWKSet(jwk), List.of(X509CertUtils.toPEMString(cert)));
 		} catch (OperatorCreationException | CertificateException | JOSEException e) {
 			throw new KeyCreationException("The key pair and/or the X.509 certificate cannot be created", e);
 		}
 	}
 
-	private static KeyPair generateRsaKey() {
+	static KeyPair generateKeyPair(KeyAlgorithm keyAlgorithm) {
 		final KeyPair keyPair;
 		try {
-			final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-			keyPairGenerator.initialize(RSA_KEY_SIZE);
+			final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(keyAlgorithm.keyPairAlgorithm);
+			switch (keyAlgorithm) {
+				case RSA -> keyPairGenerator.initialize(RSA_KEY_SIZE, SECURE_RANDOM);
+				case EC_P256 -> keyPairGenerator.initialize(new ECGenParameterSpec(EC_CURVE_NAME), SECURE_RANDOM);
+				case ED25519 -> keyPairGenerator.initialize(NamedParameterSpec.ED25519, SECURE_RANDOM);
+			}
 			keyPair = keyPairGenerator.generateKeyPair();
-		} catch (InvalidParameterException | NoSuchAlgorithmException e) {
-			throw new KeyCreationException("The RSA key pair cannot be generated", e);
+		} catch (InvalidParameterException | InvalidAlgorithmParameterException | NoSuchAlgorithmException e) {
+			throw new KeyCreationException("The %s key pair cannot be generated".formatted(keyAlgorithm), e);
 		}
 		return keyPair;
 	}
@@ -96,12 +220,12 @@ public class JwkSetUtils {
 	/**
 	 * Generate a self-signed certificate from the specified keyPair
 	 */
-	private static X509Certificate getSelfSignedX509Certificate(KeyPair keyPair, String commonName, int validityInMonths)
-			throws OperatorCreationException, CertificateException {
+	private static X509Certificate getSelfSignedX509Certificate(KeyPair keyPair, String commonName, int validityInMonths,
+			String signatureAlgorithm) throws OperatorCreationException, CertificateException {
 		// arbitrary X500Name
 		final X500Name name = new X500Name("CN=%s".formatted(commonName));
 		// certificate serial number https://www.rfc-editor.org/rfc/rfc3280#section-4.1.2.2
-		final BigInteger serial = BigInteger.valueOf(new SecureRandom().nextLong(0, Long.MAX_VALUE));
+		final BigInteger serial = BigInteger.valueOf(SECURE_RANDOM.nextLong(0, Long.MAX_VALUE));
 		// certificate validity arbitrary set to 1 year
 		final OffsetDateTime now = LocalDate.now().atStartOfDay().atOffset(ZoneOffset.UTC);
 		final Date notBefore = Date.from(now.toInstant());
@@ -109,12 +233,46 @@ public class JwkSetUtils {
 
 		final X509v3CertificateBuilder certBuilder = new JcaX509v3CertificateBuilder(
 				name, serial, notBefore, notAfter, name, keyPair.getPublic());
-		final ContentSigner contentSigner = new JcaContentSignerBuilder(SIGNATURE_ALGORITHM).build(keyPair.getPrivate());
-		final JcaX509CertificateConverter converter = new JcaX509CertificateConverter().setProvider(new BouncyCastleProvider());
+		final ContentSigner contentSigner = new JcaContentSignerBuilder(signatureAlgorithm)
+				.setSecureRandom(SECURE_RANDOM)
+				.build(keyPair.getPrivate());
+		final JcaX509CertificateConverter converter = new JcaX509CertificateConverter().setProvider(BOUNCY_CASTLE_PROVIDER);
 
 		return converter.getCertificate(certBuilder.build(contentSigner));
 	}
 
 	public record CreatedKeys(JWKSet jwkSet, List<String> certificates) {
 	}
+
+	@FunctionalInterface
+	private interface JwkSetParser {
+		JWKSet parse() throws ParseException;
+	}
+
+	/**
+	 * The algorithms of the created keys
+	 */
+	public enum KeyAlgorithm {
+		/**
+		 * 2048-bit RSA keys, signing with PS256
+		 */
+		RSA("RSA", "SHA256withRSA"),
+		/**
+		 * EC keys on the P-256 curve, signing with ES256
+		 */
+		EC_P256("EC", "SHA256withECDSA"),
+		/**
+		 * Ed25519 keys, signing with EdDSA: the fastest to sign, with the smallest keys and signatures
+		 */
+		ED25519("Ed25519", "Ed25519");
+
+		private final String keyPairAlgorithm;
+
+		private final String certificateSignatureAlgorithm;
+
+		KeyAlgorithm(String keyPairAlgorithm, String certificateSignatureAlgorithm) {
+			this.keyPairAlgorithm = keyPairAlgorithm;
+			this.certificateSignatureAlgorithm = certificateSignatureAlgorithm;
+		}
+	}
 }
@@ -0,0 +1,96 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The transport retrieving the JSON Web Key sets of the {@link HttpVerificationMethodResolver}, which performs HTTP GET requests
+ */
+public interface JwksTransport {
+
+	/**
+	 * The default maximum size of a JWK set, in bytes
+	 */
+	int DEFAULT_MAX_BODY_SIZE = 256 * 1024;
+
+	/**
+	 * The maximum number of same-origin redirects followed by a request
+	 */
+	int MAX_REDIRECTS = 5;
+
+	/**
+	 * Performs an HTTP GET request of the URI, with the specified request headers
+	 */
+	Response get(URI uri, Map<String, String> requestHeaders) throws IOException, InterruptedException;
+
+	/**
+	 * Creates a transport with the HTTP client, whose requests time out after the specified duration, and whose response bodies are
+	 * limited to {@value DEFAULT_MAX_BODY_SIZE} bytes
+	 *
+	 * @see #of(HttpClient, Duration, int)
+	 */
+	static JwksTransport of(HttpClient httpClient, Duration requestTimeout) {
+		return of(httpClient, requestTimeout, DEFAULT_MAX_BODY_SIZE);
+	}
+
+	/**
+	 * Creates a transport with the HTTP client, whose requests time out after the specified duration. The redirects are only followed
+	 * to the same origin (scheme, host and port), a redirect to another origin being returned as is, so the HTTP client should not
+	 * follow the redirects itself. A response body larger than the maximum size fails the request with an {@link IOException}.
+	 */
+	static JwksTransport of(HttpClient httpClient, Duration requestTimeout, int maxBodySize) {
+		if (maxBodySize <= 0) {
+			throw new IllegalArgumentException("The maximum body size must be positive");
+		}
+		return (uri, requestHeaders) -> {
+			URI requestUri = uri;
+			for (int redirectCount = 0; ; redirectCount++) {
+				final HttpRequest.Builder request = HttpRequest.newBuilder(requestUri)
+						.timeout(requestTimeout)
+						.header("Accept", "application/jwk-set+json, application/json")
+						.GET();
+				requestHeaders.forEach(request::header);
+				final HttpResponse<String> response = httpClient.send(request.build(), responseInfo -> new LimitedBodySubscriber(maxBodySize,
+						responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1)));
+				final Optional<URI> location = getSameOriginRedirect(requestUri, response);
+				if (location.isEmpty() || redirectCount == MAX_REDIRECTS) {
+					return new Response(response.statusCode(), response.headers(), response.body());
+				}
+				requestUri = location.get();
+			}
+		};
+	}
+
+	private static Optional<URI> getSameOriginRedirect(URI uri, HttpResponse<?> response) {
+		if (!List.of(301, 302, 303, 307, 308).contains(response.statusCode())) {
+			return Optional.empty();
+		}
+		return response.headers().firstValue("Location")
+				.map(location -> {
+					try {
+						return uri.resolve(location);
+					} catch (IllegalArgumentException e) {
+						return null;
+					}
+				})
+				.filter(location -> location.getScheme() != null && location.getScheme().equalsIgnoreCase(uri.getScheme())
+						&& location.getHost() != null && location.getHost().equalsIgnoreCase(uri.getHost())
+						&& location.getPort() == uri.getPort());
+	}
+
+	/**
+	 * The response of an HTTP request
+	 *
+	 * @param headers the response headers, whose names are case-insensitive
+	 */
+	record Response(int statusCode, HttpHeaders headers, String body) {
+	}
+}
@@ -0,0 +1,63 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Creates the verifiers of the JSON Web Signatures, the algorithm being chosen from the key type: PS256 for the RSA keys, ES256 for
+ * the P-256 EC keys, and EdDSA for the Ed25519 keys
+ */
+final class JwsVerifiers {
+
+	private JwsVerifiers() {
+		// no instance allowed
+	}
+
+	/**
+	 * Creates the verifier of the JSON Web Key
+	 *
+	 * @throws JOSEException If the key type is not supported
+	 */
+	static JWSVerifier of(JWK jwk) throws JOSEException {
+		if (jwk instanceof RSAKey rsaKey) {
+			return new RSASSAVerifier(rsaKey);
+		}
+		if (jwk instanceof ECKey ecKey && Curve.P_256.equals(ecKey.getCurve())) {
+			return new ECDSAVerifier(ecKey);
+		}
+		if (jwk instanceof OctetKeyPair octetKeyPair) {
+			return new Ed25519Verifier(Ed25519Keys.toPublicKey(octetKeyPair));
+		}
+		throw new JOSEException("The key type %s is not supported: the keys must be RSA, P-256 EC or Ed25519 keys".formatted(jwk.getKeyType()));
+	}
+
+	/**
+	 * Creates the verifier of the public key, e.g. of an X.509 certificate
+	 *
+	 * @throws JOSEException If the key type is not supported
+	 */
+	static JWSVerifier of(PublicKey publicKey) throws JOSEException {
+		if (publicKey instanceof RSAPublicKey rsaPublicKey) {
+			return new RSASSAVerifier(rsaPublicKey);
+		}
+		if (publicKey instanceof ECPublicKey ecPublicKey && Curve.P_256.equals(Curve.forECParameterSpec(ecPublicKey.getParams()))) {
+			return new ECDSAVerifier(ecPublicKey);
+		}
+		if (Ed25519Keys.isEd25519(publicKey)) {
+			return new Ed25519Verifier(publicKey);
+		}
+		throw new JOSEException("The %s public key is not supported: the keys must be RSA, P-256 EC or Ed25519 keys"
+				.formatted(publicKey.getAlgorithm()));
+	}
+}
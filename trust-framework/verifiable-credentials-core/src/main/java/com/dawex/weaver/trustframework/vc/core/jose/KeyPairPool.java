@@ -0,0 +1,156 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyCreationException;
+
+import java.security.KeyPair;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of pre-generated key pairs, refilled in the background, for creating keys without waiting for their generation,
+ * e.g. when onboarding organisations: generating a 2048-bit RSA key pair takes hundreds of milliseconds.
+ * <p>
+ * The pool is filled up to its capacity by its refill threads, which are daemon threads, as soon as it is built. When the pool is
+ * empty, the key pairs are generated in the calling thread. The pool must be closed for stopping its threads.
+ */
+public class KeyPairPool implements AutoCloseable {
+
+	private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+	private final JwkSetUtils.KeyAlgorithm keyAlgorithm;
+
+	private final int capacity;
+
+	private final int refillThreadCount;
+
+	private final BlockingQueue<KeyPair> keyPairs;
+
+	private final ExecutorService refillExecutor;
+
+	private KeyPairPool(JwkSetUtils.KeyAlgorithm keyAlgorithm, int capacity, int refillThreadCount) {
+		this.keyAlgorithm = keyAlgorithm;
+		this.capacity = capacity;
+		this.refillThreadCount = refillThreadCount;
+		this.keyPairs = new ArrayBlockingQueue<>(capacity);
+		final String threadNamePrefix = "key-pair-pool-%d-".formatted(POOL_COUNT.incrementAndGet());
+		final AtomicInteger threadCount = new AtomicInteger();
+		this.refillExecutor = Executors.newFixedThreadPool(refillThreadCount, runnable -> {
+			final Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		for (int i = 0; i < refillThreadCount; i++) {
+			refillExecutor.execute(this::refill);
+		}
+	}
+
+	public static KeyPairPoolBuilder builder() {
+		return new KeyPairPoolBuilder();
+	}
+
+	/**
+	 * Takes a key pair from the pool, or generates it in the calling thread if the pool is empty or closed
+	 *
+	 * @throws KeyCreationException If the key pair cannot be generated
+	 */
+	public KeyPair take() {
+		final KeyPair keyPair = keyPairs.poll();
+		return keyPair != null ? keyPair : JwkSetUtils.generateKeyPair(keyAlgorithm);
+	}
+
+	public JwkSetUtils.KeyAlgorithm getKeyAlgorithm() {
+		return keyAlgorithm;
+	}
+
+	/**
+	 * Returns the number of key pairs available in the pool
+	 */
+	public int getAvailableCount() {
+		return keyPairs.size();
+	}
+
+	/**
+	 * Stops the refill threads. The key pairs remaining in the pool are still taken.
+	 */
+	@Override
+	public void close() {
+		refillExecutor.shutdownNow();
+	}
+
+	private void refill() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				// blocks while the pool is full
+				keyPairs.put(JwkSetUtils.generateKeyPair(keyAlgorithm));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "KeyPairPool{" +
+				"keyAlgorithm=" + keyAlgorithm +
+				", capacity=" + capacity +
+				", refillThreadCount=" + refillThreadCount +
+				", availableCount=" + keyPairs.size() +
+				'}';
+	}
+
+	public static class KeyPairPoolBuilder {
+		private JwkSetUtils.KeyAlgorithm keyAlgorithm = JwkSetUtils.KeyAlgorithm.RSA;
+
+		private int capacity = 16;
+
+		private int refillThreadCount = 1;
+
+		KeyPairPoolBuilder() {
+		}
+
+		public KeyPairPoolBuilder keyAlgorithm(JwkSetUtils.KeyAlgorithm keyAlgorithm) {
+			this.keyAlgorithm = Objects.requireNonNull(keyAlgorithm, "keyAlgorithm");
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of pre-generated key pairs, 16 by default
+		 */
+		public KeyPairPoolBuilder capacity(int capacity) {
+			if (capacity <= 0) {
+				throw new IllegalArgumentException("The capacity must be positive");
+			}
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * Sets the number of threads generating the key pairs of the pool, 1 by default
+		 */
+		public KeyPairPoolBuilder refillThreadCount(int refillThreadCount) {
+			if (refillThreadCount <= 0) {
+				throw new IllegalArgumentException("The refill thread count must be positive");
+			}
+			this.refillThreadCount = refillThreadCount;
+			return this;
+		}
+
+		public KeyPairPool build() {
+			return new KeyPairPool(keyAlgorithm, capacity, refillThreadCount);
+		}
+
+		@Override
+		public String toString() {
+			return "KeyPairPoolBuilder{" +
+					"keyAlgorithm=" + keyAlgorithm +
+					", capacity=" + capacity +
+					", refillThreadCount=" + refillThreadCount +
+					'}';
+		}
+	}
+}
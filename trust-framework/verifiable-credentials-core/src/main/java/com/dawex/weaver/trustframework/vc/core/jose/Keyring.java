@@ -0,0 +1,165 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.util.X509CertUtils;
+
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of keys prepared for signing and verifying: each key is held as a signer (if it has a private key) and a verifier, built once,
+ * which are thread-safe and reused by all the signatures. The keys are identified by their key id (<code>kid</code>), and the
+ * certificates by their SHA-256 thumbprint (<code>x5t#S256</code>), or by an explicit key id.
+ */
+public class Keyring {
+
+	private final Map<String, DetachedJwsSigner> signers;
+
+	private final Map<String, JWSVerifier> verifiers;
+
+	private Keyring(Map<String, DetachedJwsSigner> signers, Map<String, JWSVerifier> verifiers) {
+		this.signers = Map.copyOf(signers);
+		this.verifiers = Map.copyOf(verifiers);
+	}
+
+	public static KeyringBuilder builder() {
+		return new KeyringBuilder();
+	}
+
+	/**
+	 * Returns the SHA-256 thumbprint of the certificate, identifying it in a keyring
+	 */
+	public static String getThumbprint(X509Certificate certificate) {
+		return X509CertUtils.computeSHA256Thumbprint(certificate).toString();
+	}
+
+	/**
+	 * Returns the ids of the keys of the keyring
+	 */
+	public Set<String> getKeyIds() {
+		return verifiers.keySet();
+	}
+
+	/**
+	 * Returns the signer of the key
+	 *
+	 * @throws SignatureException If the keyring has no key with this id, or if the key has no private key
+	 */
+	public DetachedJwsSigner getSigner(String keyId) {
+		final DetachedJwsSigner signer = signers.get(keyId);
+		if (signer == null) {
+			throw new SignatureException(verifiers.containsKey(keyId)
+					? "The key '%s' of the keyring has no private key".formatted(keyId)
+					: "The keyring has no key '%s'".formatted(keyId));
+		}
+		return signer;
+	}
+
+	/**
+	 * Returns the verifier of the key
+	 *
+	 * @throws SignatureException If the keyring has no key with this id
+	 */
+	public JWSVerifier getVerifier(String keyId) {
+		final JWSVerifier verifier = verifiers.get(keyId);
+		if (verifier == null) {
+			throw new SignatureException("The keyring has no key '%s'".formatted(keyId));
+		}
+		return verifier;
+	}
+
+	@Override
+	public String toString() {
+		return "Keyring{" +
+				"keyIds=" + verifiers.keySet() +
+				'}';
+	}
+
+	public static class KeyringBuilder {
+		private final Map<String, DetachedJwsSigner> signers = new HashMap<>();
+
+		private final Map<String, JWSVerifier> verifiers = new HashMap<>();
+
+		KeyringBuilder() {
+		}
+
+		/**
+		 * Adds an RSA, P-256 EC or Ed25519 JSON Web Key, identified by its key id, and by the thumbprint of its certificate if it has an
+		 * X.509 certificate chain
+		 *
+		 * @throws KeyParsingException If the key has no key id, or if its type is not supported
+		 */
+		public KeyringBuilder key(JWK jwk) {
+			if (jwk.getKeyID() == null) {
+				throw new KeyParsingException("The key has no key id");
+			}
+			key(jwk.getKeyID(), jwk);
+			final List<X509Certificate> certificateChain = jwk.getParsedX509CertChain();
+			if (certificateChain != null && !certificateChain.isEmpty()) {
+				key(getThumbprint(certificateChain.get(0)), jwk);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds an RSA, P-256 EC or Ed25519 JSON Web Key, identified by the specified key id
+		 *
+		 * @throws KeyParsingException If the key type is not supported
+		 */
+		public KeyringBuilder key(String keyId, JWK jwk) {
+			try {
+				if (jwk.isPrivate()) {
+					signers.put(keyId, new DetachedJwsSigner(jwk));
+				} else {
+					signers.remove(keyId);
+				}
+				verifiers.put(keyId, JwsVerifiers.of(jwk));
+			} catch (JOSEException e) {
+				throw new KeyParsingException("The key '%s' cannot be used for signing or verifying".formatted(keyId), e);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds the RSA, P-256 EC or Ed25519 public key of an X.509 certificate, identified by the certificate thumbprint
+		 *
+		 * @throws KeyParsingException If the type of the public key is not supported
+		 */
+		public KeyringBuilder certificate(X509Certificate certificate) {
+			return certificate(getThumbprint(certificate), certificate);
+		}
+
+		/**
+		 * Adds the RSA, P-256 EC or Ed25519 public key of an X.509 certificate, identified by the specified key id
+		 *
+		 * @throws KeyParsingException If the type of the public key is not supported
+		 */
+		public KeyringBuilder certificate(String keyId, X509Certificate certificate) {
+			try {
+				verifiers.put(keyId, JwsVerifiers.of(certificate.getPublicKey()));
+			} catch (JOSEException e) {
+				throw new KeyParsingException("The certificate '%s' cannot be used for verifying".formatted(keyId), e);
+			}
+			signers.remove(keyId);
+			return this;
+		}
+
+		public Keyring build() {
+			return new Keyring(signers, verifiers);
+		}
+
+		@Override
+		public String toString() {
+			return "KeyringBuilder{" +
+					"keyIds=" + verifiers.keySet() +
+					'}';
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Reads a response body in UTF-8, failing as soon as it exceeds the maximum size
+ */
+class LimitedBodySubscriber implements HttpResponse.BodySubscriber<String> {
+
+	private final int maxBodySize;
+
+	private final long contentLength;
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	private final CompletableFuture<String> result = new CompletableFuture<>();
+
+	private Flow.Subscription subscription;
+
+	LimitedBodySubscriber(int maxBodySize, long contentLength) {
+		this.maxBodySize = maxBodySize;
+		this.contentLength = contentLength;
+	}
+
+	@Override
+	public CompletionStage<String> getBody() {
+		return result;
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = Objects.requireNonNull(subscription, "subscription");
+		if (contentLength > maxBodySize) {
+			fail();
+		} else {
+			subscription.request(Long.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void onNext(List<ByteBuffer> buffers) {
+		if (result.isDone()) {
+			return;
+		}
+		for (ByteBuffer buffer : buffers) {
+			if (body.size() + buffer.remaining() > maxBodySize) {
+				fail();
+				return;
+			}
+			final byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			body.writeBytes(bytes);
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		result.completeExceptionally(throwable);
+	}
+
+	@Override
+	public void onComplete() {
+		result.complete(body.toString(StandardCharsets.UTF_8));
+	}
+
+	private void fail() {
+		subscription.cancel();
+		result.completeExceptionally(new IOException("The response body exceeds %d bytes".formatted(maxBodySize)));
+	}
+}
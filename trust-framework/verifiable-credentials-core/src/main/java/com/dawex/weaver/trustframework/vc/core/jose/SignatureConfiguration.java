@@ -0,0 +1,138 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.canonicalization.Canonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.Urdna2015Canonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.OfflineDocumentLoader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The canonicalizers of the documents signed or verified by {@link JsonWebSignatureUtils}, per proof type. A configuration is
+ * immutable, and can be shared by any number of threads.
+ * <p>
+ * The <code>JsonWebSignature2020</code> proofs use an {@link Urdna2015Canonicalizer} with rdf-urdna, built from the JSON-LD to RDF
+ * converter and the canonicalization limits of the configuration, unless a canonicalizer is set for them.
+ */
+public class SignatureConfiguration {
+
+	private static final JsonLdRdfConverter DEFAULT_JSON_LD_RDF_CONVERTER = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder()
+			.bundledContexts()
+			.build());
+
+	/**
+	 * The configuration of the methods of {@link JsonWebSignatureUtils} without configuration
+	 */
+	public static final SignatureConfiguration DEFAULT = builder().build();
+
+	private final JsonLdRdfConverter jsonLdRdfConverter;
+
+	private final CanonicalizationLimits canonicalizationLimits;
+
+	private final Map<String, Canonicalizer> canonicalizers;
+
+	private SignatureConfiguration(JsonLdRdfConverter jsonLdRdfConverter, CanonicalizationLimits canonicalizationLimits,
+			Map<String, Canonicalizer> canonicalizers) {
+		this.jsonLdRdfConverter = jsonLdRdfConverter;
+		this.canonicalizationLimits = canonicalizationLimits;
+		this.canonicalizers = canonicalizers;
+	}
+
+	public static SignatureConfigurationBuilder builder() {
+		return new SignatureConfigurationBuilder();
+	}
+
+	public JsonLdRdfConverter getJsonLdRdfConverter() {
+		return jsonLdRdfConverter;
+	}
+
+	public CanonicalizationLimits getCanonicalizationLimits() {
+		return canonicalizationLimits;
+	}
+
+	/**
+	 * Returns the canonicalizer of the documents signed with the specified proof type
+	 *
+	 * @throws SignatureException If no canonicalizer is set for the proof type
+	 */
+	public Canonicalizer getCanonicalizer(String proofType) {
+		final Canonicalizer canonicalizer = proofType == null ? null : canonicalizers.get(proofType);
+		if (canonicalizer == null) {
+			throw new SignatureException("No canonicalizer is set for the proof type '%s'".formatted(proofType));
+		}
+		return canonicalizer;
+	}
+
+	@Override
+	public String toString() {
+		return "SignatureConfiguration{" +
+				"jsonLdRdfConverter=" + jsonLdRdfConverter +
+				", canonicalizationLimits=" + canonicalizationLimits +
+				", canonicalizers=" + canonicalizers +
+				'}';
+	}
+
+	public static class SignatureConfigurationBuilder {
+		private JsonLdRdfConverter jsonLdRdfConverter = DEFAULT_JSON_LD_RDF_CONVERTER;
+
+		private CanonicalizationLimits canonicalizationLimits = CanonicalizationLimits.UNLIMITED;
+
+		private final Map<String, Canonicalizer> canonicalizers = new HashMap<>();
+
+		SignatureConfigurationBuilder() {
+		}
+
+		/**
+		 * Sets the converter of the JSON-LD documents to RDF datasets of the default canonicalizer of the
+		 * <code>JsonWebSignature2020</code> proofs. By default, the documents are converted offline, with the contexts bundled with the
+		 * library, such as the one of the verifiable credentials data model: the other remote contexts are not loaded, and the
+		 * processed contexts are cached. A converter with an {@link OfflineDocumentLoader} preloaded with other remote contexts allows
+		 * them without accessing the network.
+		 */
+		public SignatureConfigurationBuilder jsonLdRdfConverter(JsonLdRdfConverter jsonLdRdfConverter) {
+			this.jsonLdRdfConverter = Objects.requireNonNull(jsonLdRdfConverter, "jsonLdRdfConverter");
+			return this;
+		}
+
+		/**
+		 * Bounds the canonicalization of the default canonicalizer of the <code>JsonWebSignature2020</code> proofs: the generation or
+		 * validation of a signature of a document exceeding the quad or blank node limits throws a {@link SignatureException} caused by
+		 * a {@link CanonicalizationAbortedException}. By default, the canonicalization is unlimited. The n-degree iteration limit and
+		 * the timeout only bound the in-house canonicalizer, see {@link Urdna2015Canonicalizer#withRdfCanonicalizer}.
+		 */
+		public SignatureConfigurationBuilder canonicalizationLimits(CanonicalizationLimits canonicalizationLimits) {
+			this.canonicalizationLimits = Objects.requireNonNull(canonicalizationLimits, "canonicalizationLimits");
+			return this;
+		}
+
+		/**
+		 * Sets the canonicalizer of the documents signed with the specified proof type. For the <code>JsonWebSignature2020</code>
+		 * proofs, it replaces the default canonicalizer, whose converter and limits no longer apply to them.
+		 */
+		public SignatureConfigurationBuilder canonicalizer(String proofType, Canonicalizer canonicalizer) {
+			canonicalizers.put(Objects.requireNonNull(proofType, "proofType"), Objects.requireNonNull(canonicalizer, "canonicalizer"));
+			return this;
+		}
+
+		public SignatureConfiguration build() {
+			final Map<String, Canonicalizer> proofTypeCanonicalizers = new HashMap<>(canonicalizers);
+			proofTypeCanonicalizers.computeIfAbsent(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020,
+					proofType -> new Urdna2015Canonicalizer(jsonLdRdfConverter, canonicalizationLimits));
+			return new SignatureConfiguration(jsonLdRdfConverter, canonicalizationLimits, Map.copyOf(proofTypeCanonicalizers));
+		}
+
+		@Override
+		public String toString() {
+			return "SignatureConfigurationBuilder{" +
+					"jsonLdRdfConverter=" + jsonLdRdfConverter +
+					", canonicalizationLimits=" + canonicalizationLimits +
+					", canonicalizers=" + canonicalizers +
+					'}';
+		}
+	}
+}
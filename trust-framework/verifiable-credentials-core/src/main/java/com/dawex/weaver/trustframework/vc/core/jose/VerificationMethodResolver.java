@@ -0,0 +1,33 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.VerificationMethodResolutionException;
+import com.nimbusds.jose.JWSVerifier;
+
+/**
+ * Resolves the verification method of a proof, e.g. <code>https://dawex.com/api/jwks#key-1</code>, to the JSON Web Key set of the
+ * issuer holding the referenced key.
+ *
+ * @see HttpVerificationMethodResolver
+ */
+public interface VerificationMethodResolver {
+
+	/**
+	 * Returns the JWK set referenced by the verification method
+	 *
+	 * @throws VerificationMethodResolutionException If the JWK set cannot be retrieved
+	 */
+	IndexedJwkSet resolve(String verificationMethod);
+
+	/**
+	 * Returns the verifier of the key referenced by the verification method, for
+	 * {@link JsonWebSignatureUtils#isSignatureValid(String, String, JWSVerifier, String)}
+	 *
+	 * @throws VerificationMethodResolutionException If the JWK set cannot be retrieved
+	 * @throws SignatureException                    If the JWK set has no key referenced by the verification method, or if the key
+	 *                                               type is not supported for verifying
+	 */
+	default JWSVerifier resolveVerifier(String verificationMethod) {
+		return resolve(verificationMethod).getVerifier(verificationMethod);
+	}
+}
@@ -0,0 +1,27 @@
+package com.dawex.weaver.trustframework.vc.core.jose.exception;
+
+import java.io.Serial;
+
+/**
+ * This exception is thrown when the JSON Web Key set referenced by the verification method of a proof cannot be retrieved
+ */
+public class VerificationMethodResolutionException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 7514026328861493507L;
+
+	public VerificationMethodResolutionException() {
+	}
+
+	public VerificationMethodResolutionException(String message) {
+		super(message);
+	}
+
+	public VerificationMethodResolutionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public VerificationMethodResolutionException(Throwable cause) {
+		super(cause);
+	}
+}
@@ -4,7 +4,13 @@ package com.dawex.weaver.trustframework.vc.core.jsonld;
  * An object composed of multiple values.
  * It allows to use a JsonLdProperty with a pattern requiring multiple formatting objects;
  * the result of <code>getValues</code> will be applied to the pattern.
+ * <p>
+ * To be deserialized, the implementing class declares a static factory method named {@value #FACTORY_METHOD_NAME}, taking an
+ * <code>Object[]</code>: it receives the String values extracted from the pattern, in the same order as <code>getValues</code>.
  */
 public interface CompositeValue {
+
+	String FACTORY_METHOD_NAME = "fromValues";
+
 	Object[] getValues();
 }
@@ -0,0 +1,278 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.deserialization;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.CompositeValue;
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatTemplate;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deserializes a JSON-LD object into a class annotated for the {@link com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer},
+ * reading the properties straight from the parser, without building a tree.
+ * <p>
+ * The object is created with the constructor taking the annotated fields in declaration order (the canonical constructor for records).
+ * The values are read as the serializer writes them:
+ * <ul>
+ *     <li>formatted Strings and {@link CompositeValue} are extracted from their format, see {@link FormatTemplate#parse}</li>
+ *     <li>date-times are parsed from the ISO zoned date-time format</li>
+ *     <li>other values (nested JSON-LD objects, collections, numbers, enums) use the deserializer registered for their type</li>
+ * </ul>
+ * The <code>@context</code>, <code>@type</code> and unknown properties are skipped.
+ */
+public class JsonLdDeserializer<T> extends JsonDeserializer<T> implements ResolvableDeserializer {
+
+	private final Class<T> deserializableObjectClass;
+
+	private final FormatProvider formatProvider;
+
+	private final List<JsonLdSerializationPlan.Property> properties;
+
+	private final Map<String, Integer> propertyIndexes = new HashMap<>();
+
+	private final ValueKind[] valueKinds;
+
+	private final MethodHandle[] compositeFactories;
+
+	private final Object[] defaultValues;
+
+	private final MethodHandle creator;
+
+	private JsonDeserializer<?>[] valueDeserializers;
+
+	public JsonLdDeserializer(Class<T> deserializableObjectClass) {
+		this(deserializableObjectClass, null);
+	}
+
+	/**
+	 * @throws JsonLdSerializationException If the class has no constructor taking its annotated fields
+	 */
+	public JsonLdDeserializer(Class<T> deserializableObjectClass, FormatProvider formatProvider) {
+		this.deserializableObjectClass = deserializableObjectClass;
+		this.formatProvider = formatProvider;
+		this.properties = JsonLdSerializationPlan.of(deserializableObjectClass).getProperties();
+		this.valueKinds = new ValueKind[properties.size()];
+		this.compositeFactories = new MethodHandle[properties.size()];
+		this.defaultValues = new Object[properties.size()];
+		for (int i = 0; i < properties.size(); i++) {
+			final JsonLdSerializationPlan.Property property = properties.get(i);
+			final Class<?> type = property.field().getType();
+			propertyIndexes.put(property.jsonFieldName().getValue(), i);
+			valueKinds[i] = ValueKind.of(type);
+			if (valueKinds[i] == ValueKind.COMPOSITE) {
+				compositeFactories[i] = findCompositeFactory(type);
+			}
+			if (type.isPrimitive()) {
+				defaultValues[i] = Array.get(Array.newInstance(type, 1), 0);
+			}
+		}
+		this.creator = findCreator(deserializableObjectClass, properties);
+	}
+
+	@Override
+	public Class<?> handledType() {
+		return deserializableObjectClass;
+	}
+
+	@Override
+	public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+		final JsonDeserializer<?>[] deserializers = new JsonDeserializer<?>[properties.size()];
+		for (int i = 0; i < properties.size(); i++) {
+			if (valueKinds[i] == ValueKind.OTHER) {
+				deserializers[i] = ctxt.findContextualValueDeserializer(
+						ctxt.getTypeFactory().constructType(properties.get(i).field().getGenericType()), null);
+			}
+		}
+		this.valueDeserializers = deserializers;
+	}
+
+	@Override
+	public T deserialize(JsonParser jsonParser, DeserializationContext ctxt) throws IOException {
+		return deserializeProperties(jsonParser, ctxt, null);
+	}
+
+	/**
+	 * Deserializes the object, passing the properties which are not JSON-LD properties of the class to the specified handler.
+	 * It allows to read an object merged with other properties, as done for {@link com.dawex.weaver.trustframework.vc.core.SignedObject}.
+	 *
+	 * @param unknownPropertyHandler the handler of the other properties, or null to skip them
+	 */
+	@SuppressWarnings("unchecked")
+	public T deserializeProperties(JsonParser jsonParser, DeserializationContext ctxt, UnknownPropertyHandler unknownPropertyHandler)
+			throws IOException {
+		JsonToken token = jsonParser.currentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = jsonParser.nextToken();
+		} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+			return (T) ctxt.handleUnexpectedToken(deserializableObjectClass, jsonParser);
+		}
+		final Object[] values = defaultValues.clone();
+		for (; token == JsonToken.FIELD_NAME; token = jsonParser.nextToken()) {
+			final String fieldName = jsonParser.currentName();
+			jsonParser.nextToken();
+			final Integer index = propertyIndexes.get(fieldName);
+			if (index != null) {
+				values[index] = readValue(index, jsonParser, ctxt);
+			} else if (unknownPropertyHandler == null || !unknownPropertyHandler.handle(fieldName, jsonParser, ctxt)) {
+				jsonParser.skipChildren();
+			}
+		}
+		final Object instance;
+		try {
+			instance = creator.invokeExact(values);
+		} catch (Throwable e) {
+			throw ctxt.instantiationException(deserializableObjectClass, e);
+		}
+		return (T) instance;
+	}
+
+	private Object readValue(int index, JsonParser jsonParser, DeserializationContext ctxt) throws IOException {
+		if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+			return defaultValues[index];
+		}
+		final ValueKind valueKind = valueKinds[index];
+		if (valueKind == ValueKind.OTHER) {
+			return valueDeserializers[index].deserialize(jsonParser, ctxt);
+		}
+		if (jsonParser.currentToken() != JsonToken.VALUE_STRING) {
+			return ctxt.handleUnexpectedToken(properties.get(index).field().getType(), jsonParser);
+		}
+		final String text = jsonParser.getText();
+		return switch (valueKind) {
+			case STRING -> readString(index, text, ctxt);
+			case COMPOSITE -> readComposite(index, text, ctxt);
+			case ZONED_DATE_TIME -> readZonedDateTime(text, ctxt);
+			default -> throw new IllegalStateException(valueKind.name());
+		};
+	}
+
+	private String readString(int index, String text, DeserializationContext ctxt) throws IOException {
+		final FormatTemplate template = getTemplate(properties.get(index).formatName());
+		if (template == null) {
+			return text;
+		}
+		final String[] values = parse(index, template, text, ctxt);
+		return values.length == 0 ? text : values[0];
+	}
+
+	private Object readComposite(int index, String text, DeserializationContext ctxt) throws IOException {
+		final FormatTemplate template = getTemplate(properties.get(index).formatName());
+		// without format, the serializer joins the values with a comma
+		final Object[] values = template == null ? text.split(",", -1) : parse(index, template, text, ctxt);
+		try {
+			final Object compositeValue = compositeFactories[index].invokeExact(values);
+			return compositeValue;
+		} catch (Throwable e) {
+			throw ctxt.instantiationException(properties.get(index).field().getType(), e);
+		}
+	}
+
+	private static ZonedDateTime readZonedDateTime(String text, DeserializationContext ctxt) throws IOException {
+		try {
+			return ZonedDateTime.parse(text);
+		} catch (DateTimeParseException e) {
+			throw ctxt.weirdStringException(text, ZonedDateTime.class, e.getMessage());
+		}
+	}
+
+	private String[] parse(int index, FormatTemplate template, String text, DeserializationContext ctxt) throws IOException {
+		final String[] values = template.parse(text);
+		if (values == null) {
+			throw ctxt.weirdStringException(text, properties.get(index).field().getType(),
+					"value of '%s' does not match the format '%s'".formatted(properties.get(index).jsonFieldName().getValue(), template));
+		}
+		return values;
+	}
+
+	private FormatTemplate getTemplate(String formatName) {
+		if (formatProvider == null || formatName == null || formatName.isEmpty()) {
+			return null;
+		}
+		return formatProvider.getTemplate(formatName).orElse(null);
+	}
+
+	private static MethodHandle findCreator(Class<?> targetClass, List<JsonLdSerializationPlan.Property> properties) {
+		final Class<?>[] parameterTypes = properties.stream()
+				.map(property -> property.field().getType())
+				.toArray(Class<?>[]::new);
+		try {
+			final Constructor<?> constructor = targetClass.getDeclaredConstructor(parameterTypes);
+			final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+			return lookup.unreflectConstructor(constructor)
+					.asSpreader(Object[].class, parameterTypes.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new JsonLdSerializationException("No accessible constructor of %s taking its JSON-LD properties %s"
+					.formatted(targetClass.getName(), Arrays.toString(parameterTypes)), e);
+		}
+	}
+
+	private static MethodHandle findCompositeFactory(Class<?> compositeClass) {
+		try {
+			final Method factory = compositeClass.getDeclaredMethod(CompositeValue.FACTORY_METHOD_NAME, Object[].class);
+			if (!Modifier.isStatic(factory.getModifiers()) || !compositeClass.isAssignableFrom(factory.getReturnType())) {
+				throw new NoSuchMethodException(factory.toString());
+			}
+			return MethodHandles.privateLookupIn(compositeClass, MethodHandles.lookup())
+					.unreflect(factory)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new JsonLdSerializationException("No accessible static method %s(Object[]) in the composite value %s"
+					.formatted(CompositeValue.FACTORY_METHOD_NAME, compositeClass.getName()), e);
+		}
+	}
+
+	/**
+	 * Handles a property which is not a JSON-LD property of the deserialized class
+	 */
+	@FunctionalInterface
+	public interface UnknownPropertyHandler {
+
+		/**
+		 * @param fieldName  the JSON field name
+		 * @param jsonParser the parser, positioned on the first token of the value
+		 * @return true if the value has been read, false to skip it
+		 */
+		boolean handle(String fieldName, JsonParser jsonParser, DeserializationContext ctxt) throws IOException;
+	}
+
+	private enum ValueKind {
+		STRING,
+		COMPOSITE,
+		ZONED_DATE_TIME,
+		OTHER;
+
+		static ValueKind of(Class<?> type) {
+			if (type == String.class) {
+				return STRING;
+			}
+			if (CompositeValue.class.isAssignableFrom(type)) {
+				return COMPOSITE;
+			}
+			if (type == ZonedDateTime.class) {
+				return ZONED_DATE_TIME;
+			}
+			return OTHER;
+		}
+	}
+}
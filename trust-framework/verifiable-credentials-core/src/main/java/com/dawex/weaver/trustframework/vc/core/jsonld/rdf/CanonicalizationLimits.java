@@ -0,0 +1,114 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The limits of the canonicalization of an RDF dataset, which bound the cost of canonicalizing untrusted documents: URDNA2015 has
+ * exponential worst cases on crafted graphs of blank nodes. A canonicalization exceeding one of the limits is aborted with a
+ * {@link CanonicalizationAbortedException}.
+ * <p>
+ * The n-degree iterations are the permutations of related blank nodes evaluated by the n-degree hashing, which only runs for the
+ * blank nodes sharing the same first degree hash. The duration is measured from the start of the canonicalization.
+ */
+public class CanonicalizationLimits {
+
+	public static final CanonicalizationLimits UNLIMITED = builder().build();
+
+	private final int maxQuads;
+
+	private final int maxBlankNodes;
+
+	private final long maxNDegreeIterations;
+
+	private final Duration timeout;
+
+	private CanonicalizationLimits(int maxQuads, int maxBlankNodes, long maxNDegreeIterations, Duration timeout) {
+		this.maxQuads = maxQuads;
+		this.maxBlankNodes = maxBlankNodes;
+		this.maxNDegreeIterations = maxNDegreeIterations;
+		this.timeout = timeout;
+	}
+
+	public static CanonicalizationLimitsBuilder builder() {
+		return new CanonicalizationLimitsBuilder();
+	}
+
+	public int getMaxQuads() {
+		return maxQuads;
+	}
+
+	public int getMaxBlankNodes() {
+		return maxBlankNodes;
+	}
+
+	public long getMaxNDegreeIterations() {
+		return maxNDegreeIterations;
+	}
+
+	/**
+	 * Returns the maximum duration of a canonicalization, or null if it is unlimited
+	 */
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	@Override
+	public String toString() {
+		return "CanonicalizationLimits{" +
+				"maxQuads=" + maxQuads +
+				", maxBlankNodes=" + maxBlankNodes +
+				", maxNDegreeIterations=" + maxNDegreeIterations +
+				", timeout=" + timeout +
+				'}';
+	}
+
+	public static class CanonicalizationLimitsBuilder {
+		private int maxQuads = Integer.MAX_VALUE;
+
+		private int maxBlankNodes = Integer.MAX_VALUE;
+
+		private long maxNDegreeIterations = Long.MAX_VALUE;
+
+		private Duration timeout;
+
+		CanonicalizationLimitsBuilder() {
+		}
+
+		public CanonicalizationLimitsBuilder maxQuads(int maxQuads) {
+			this.maxQuads = maxQuads;
+			return this;
+		}
+
+		public CanonicalizationLimitsBuilder maxBlankNodes(int maxBlankNodes) {
+			this.maxBlankNodes = maxBlankNodes;
+			return this;
+		}
+
+		public CanonicalizationLimitsBuilder maxNDegreeIterations(long maxNDegreeIterations) {
+			this.maxNDegreeIterations = maxNDegreeIterations;
+			return this;
+		}
+
+		public CanonicalizationLimitsBuilder timeout(Duration timeout) {
+			this.timeout = Objects.requireNonNull(timeout, "timeout");
+			return this;
+		}
+
+		public CanonicalizationLimits build() {
+			return new CanonicalizationLimits(maxQuads, maxBlankNodes, maxNDegreeIterations, timeout);
+		}
+
+		@Override
+		public String toString() {
+			return "CanonicalizationLimitsBuilder{" +
+					"maxQuads=" + maxQuads +
+					", maxBlankNodes=" + maxBlankNodes +
+					", maxNDegreeIterations=" + maxNDegreeIterations +
+					", timeout=" + timeout +
+					'}';
+		}
+	}
+}
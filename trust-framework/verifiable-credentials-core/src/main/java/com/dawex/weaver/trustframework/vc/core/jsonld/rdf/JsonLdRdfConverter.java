@@ -0,0 +1,117 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdOptions;
+import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.deseralization.JsonLdToRdf;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.expansion.Expansion;
+import com.apicatalog.jsonld.flattening.NodeMap;
+import com.apicatalog.jsonld.flattening.NodeMapBuilder;
+import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.lang.Keywords;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.utils.BoundedCache;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Converts JSON-LD documents to RDF datasets, as <code>JsonLd.toRdf(document).get()</code> does, with configured options.
+ * <p>
+ * The active context resulting from the processing of the <code>@context</code> of a document is cached, keyed by the context content,
+ * so that documents sharing their context (as all the verifiable credentials of a given type) do not process it again. The remote
+ * contexts and documents are loaded with the document loader of the options, and cached as well.
+ * <p>
+ * The {@link #offline} converter never accesses the network, the remote contexts being served by an {@link OfflineDocumentLoader}.
+ */
+public class JsonLdRdfConverter {
+
+	public static final int DEFAULT_CACHE_SIZE = 64;
+
+	private final JsonLdOptions options;
+
+	private final BoundedCache<ContextKey, ActiveContext> activeContexts;
+
+	/**
+	 * @param options   the JSON-LD options, which must not be modified afterwards
+	 * @param cacheSize the maximum number of cached active contexts
+	 */
+	public JsonLdRdfConverter(JsonLdOptions options, int cacheSize) {
+		this.options = options;
+		this.activeContexts = new BoundedCache<>(cacheSize);
+	}
+
+	/**
+	 * Creates a converter which loads the remote contexts and documents from the specified loader only, and caches them
+	 */
+	public static JsonLdRdfConverter offline(OfflineDocumentLoader documentLoader) {
+		final JsonLdOptions options = new JsonLdOptions(documentLoader);
+		options.setContextCache(new BoundedCache<>(DEFAULT_CACHE_SIZE));
+		options.setDocumentCache(new BoundedCache<>(DEFAULT_CACHE_SIZE));
+		return new JsonLdRdfConverter(options, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Converts the JSON-LD document to an RDF dataset, following the
+	 * <a href="https://www.w3.org/TR/json-ld11-api/#dom-jsonldprocessor-tordf">toRdf()</a> algorithm
+	 */
+	public RdfDataset toRdf(Document document) throws JsonLdError {
+		final Optional<JsonStructure> content = document.getJsonContent();
+		if (content.isEmpty() || !JsonUtils.isObject(content.get()) || !content.get().asJsonObject().containsKey(Keywords.CONTEXT)
+				|| document.getContextUrl() != null || options.getExpandContext() != null) {
+			return JsonLd.toRdf(document).options(options).get();
+		}
+		final JsonObject object = content.get().asJsonObject();
+
+		// same base IRI and base URL as the expansion algorithm
+		final URI baseUrl = document.getDocumentUrl() != null ? document.getDocumentUrl() : options.getBase();
+		final URI baseUri = options.getBase() != null ? options.getBase() : document.getDocumentUrl();
+		final ActiveContext activeContext = getActiveContext(new ContextKey(object.get(Keywords.CONTEXT), baseUri, baseUrl));
+
+		// the context being already processed, the document is expanded without it
+		JsonValue expanded = Expansion.with(activeContext, Json.createObjectBuilder(object).remove(Keywords.CONTEXT).build(), null, baseUrl)
+				.ordered(options.isOrdered())
+				.compute();
+		if (JsonUtils.isObject(expanded) && expanded.asJsonObject().size() == 1 && expanded.asJsonObject().containsKey(Keywords.GRAPH)) {
+			expanded = expanded.asJsonObject().get(Keywords.GRAPH);
+		}
+		if (JsonUtils.isNull(expanded)) {
+			return Rdf.createDataset();
+		}
+		return JsonLdToRdf
+				.with(NodeMapBuilder.with(JsonUtils.toJsonArray(expanded), new NodeMap()).build(), Rdf.createDataset())
+				.produceGeneralizedRdf(options.isProduceGeneralizedRdf())
+				.rdfDirection(options.getRdfDirection())
+				.uriValidation(options.isUriValidation())
+				.build();
+	}
+
+	/**
+	 * Returns the number of cached active contexts
+	 */
+	int getCachedContextCount() {
+		return activeContexts.size();
+	}
+
+	private ActiveContext getActiveContext(ContextKey key) throws JsonLdError {
+		ActiveContext activeContext = activeContexts.get(key);
+		if (activeContext == null) {
+			activeContext = new ActiveContext(key.baseUri(), key.baseUrl(), options)
+					.newContext()
+					.create(key.context(), key.baseUrl());
+			// the expansion never modifies the active context it is given, so that it can be shared
+			activeContexts.put(key, activeContext);
+		}
+		return activeContext;
+	}
+
+	private record ContextKey(JsonValue context, URI baseUri, URI baseUrl) {
+	}
+}
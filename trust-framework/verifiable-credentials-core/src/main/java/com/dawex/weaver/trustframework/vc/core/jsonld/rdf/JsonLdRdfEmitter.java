@@ -0,0 +1,441 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.uri.UriResolver;
+import com.apicatalog.jsonld.uri.UriUtils;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfResource;
+import com.apicatalog.rdf.RdfValue;
+import com.apicatalog.rdf.lang.RdfConstants;
+import com.apicatalog.rdf.lang.XsdConstants;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jsonld.CompositeValue;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContext;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatTemplate;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.IsoDateTimeWriter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.SkolemIri;
+import com.dawex.weaver.trustframework.vc.core.utils.IdentityCache;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Emits the RDF dataset of a JSON-LD serializable object straight from its annotations, without writing the JSON-LD document,
+ * parsing it back and expanding it.
+ * <p>
+ * The dataset is the one the <a href="https://www.w3.org/TR/json-ld11-api/#deserialize-json-ld-to-rdf-algorithm">JSON-LD to RDF
+ * algorithm</a> produces from the document written by the {@link com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer}
+ * with the same format provider and base IRI, blank node labels aside, so both have the same canonical form:
+ * <ul>
+ *     <li>the terms of the {@link JsonLdContexts} apply to the annotated class and its nested objects; a prefixed property name is
+ *     expanded with its term only if the term IRI ends with a generic delimiter (<code>:/?#[]@</code>), otherwise it is an IRI
+ *     as is</li>
+ *     <li>the <code>@id</code> and the types are resolved against the base IRI; quads with a relative IRI are dropped</li>
+ *     <li>nested objects are blank nodes, unless they have an <code>@id</code> property, or are given a {@link SkolemIri} when the
+ *     format provider enables the skolemization</li>
+ *     <li>Strings, enums (by name) and date-times (ISO format) are string literals, integral numbers are <code>xsd:integer</code>,
+ *     other numbers <code>xsd:double</code> and booleans <code>xsd:boolean</code></li>
+ *     <li>null values are skipped, each element of a collection or array is a value of the property</li>
+ * </ul>
+ * A {@link SignedObject} is emitted as its payload, with the proof as an additional property.
+ * Nested values are either scalar values or classes with JSON-LD annotations; other keyword properties than <code>@id</code>
+ * are skipped.
+ */
+public class JsonLdRdfEmitter {
+
+	private static final String BLANK_NODE_PREFIX = "_:";
+
+	private static final String BLANK_NODE_LABEL_PREFIX = "_:b";
+
+	private static final RdfResource RDF_TYPE = Rdf.createIRI(RdfConstants.TYPE);
+
+	private static final BigDecimal MIN_DOUBLE_INTEGER = BigDecimal.ONE.movePointRight(21);
+
+	private static final ThreadLocal<DecimalFormat> XSD_DOUBLE_FORMAT = ThreadLocal.withInitial(() -> {
+		final DecimalFormat format = new DecimalFormat("0.0##############E0", new DecimalFormatSymbols(Locale.ENGLISH));
+		format.setMinimumFractionDigits(1);
+		return format;
+	});
+
+	private final FormatProvider formatProvider;
+
+	private final Supplier<String> baseIri;
+
+	private final Terms rootTerms = new Terms(Map.of());
+
+	public JsonLdRdfEmitter(FormatProvider formatProvider, Supplier<String> baseIri) {
+		this.formatProvider = formatProvider;
+		this.baseIri = baseIri;
+	}
+
+	/**
+	 * Returns the RDF dataset of the specified object
+	 *
+	 * @throws JsonLdSerializationException If the object, or one of its nested values, cannot be emitted
+	 */
+	public RdfDataset toRdfDataset(Object value) {
+		final RdfDataset dataset = Rdf.createDataset();
+		emit(value, dataset);
+		return dataset;
+	}
+
+	/**
+	 * Adds the quads of the specified object to the dataset, in the default graph
+	 *
+	 * @throws JsonLdSerializationException If the object, or one of its nested values, cannot be emitted
+	 */
+	public void emit(Object value, RdfDataset dataset) {
+		Objects.requireNonNull(value, "value");
+		new Emission(dataset).emitNode(value, new Scope(rootTerms, null), null);
+	}
+
+	/**
+	 * Returns the scope of an object declaring the specified contexts, which add their terms to the parent ones and may set the base IRI
+	 */
+	private Scope getScope(Scope parentScope, JsonLdContexts jsonLdContexts) {
+		if (jsonLdContexts == null) {
+			return parentScope;
+		}
+		final Terms terms = parentScope.terms().with(jsonLdContexts);
+		if (!jsonLdContexts.addBaseContext() || baseIri == null) {
+			return new Scope(terms, parentScope.base());
+		}
+		return new Scope(terms, resolveBase(baseIri.get(), parentScope.base()));
+	}
+
+	private static URI resolveBase(String value, URI parentBase) {
+		if (value == null) {
+			return null;
+		}
+		if (value.isBlank()) {
+			return parentBase;
+		}
+		final URI valueUri = UriUtils.create(value);
+		if (valueUri == null) {
+			throw new JsonLdSerializationException("Invalid base IRI '%s'".formatted(value));
+		}
+		if (valueUri.isAbsolute()) {
+			return valueUri;
+		}
+		if (parentBase == null) {
+			throw new JsonLdSerializationException("The base IRI '%s' is relative and cannot be resolved".formatted(value));
+		}
+		return UriResolver.resolveAsUri(parentBase, valueUri);
+	}
+
+	private boolean isSkolemizationEnabled() {
+		return formatProvider != null && formatProvider.isSkolemizationEnabled();
+	}
+
+	private FormatTemplate getTemplate(String formatName) {
+		if (formatProvider == null || formatName == null || formatName.isEmpty()) {
+			return null;
+		}
+		return formatProvider.getTemplate(formatName).orElse(null);
+	}
+
+	/**
+	 * Returns the property value as written in the JSON-LD document, formatting Strings and composite values
+	 */
+	private Object getFormattedValue(JsonLdSerializationPlan.Property property, Object value) {
+		if (value instanceof String valueString) {
+			final FormatTemplate template = getTemplate(property.formatName());
+			return template == null ? valueString : template.apply(valueString);
+		}
+		if (value instanceof CompositeValue compositeValue) {
+			final FormatTemplate template = getTemplate(property.formatName());
+			return template == null
+					? Arrays.stream(compositeValue.getValues()).map(String::valueOf).collect(Collectors.joining(","))
+					: template.apply(compositeValue.getValues());
+		}
+		return value;
+	}
+
+	private static Object getPropertyValue(Object obj, JsonLdSerializationPlan.Property property) {
+		try {
+			return property.accessor().get(obj);
+		} catch (JsonLdSerializationException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new JsonLdSerializationException(e);
+		}
+	}
+
+	private static RdfValue toNumberLiteral(Number number) {
+		if ((number instanceof Double || number instanceof Float) && !Double.isFinite(number.doubleValue())) {
+			// written as a String by Jackson
+			return Rdf.createTypedString(number.toString(), XsdConstants.STRING);
+		}
+		final BigDecimal decimal = number instanceof BigDecimal bigDecimal ? bigDecimal : new BigDecimal(number.toString());
+		if ((decimal.scale() > 0 && decimal.doubleValue() % -1 != 0) || decimal.compareTo(MIN_DOUBLE_INTEGER) >= 0) {
+			return Rdf.createTypedString(XSD_DOUBLE_FORMAT.get().format(decimal), XsdConstants.DOUBLE);
+		}
+		return Rdf.createTypedString(decimal.toBigInteger().toString(), XsdConstants.INTEGER);
+	}
+
+	private static boolean isScalar(Object value) {
+		return value instanceof CharSequence || value instanceof Character || value instanceof Enum<?> || value instanceof URI
+				|| value instanceof UUID || value instanceof URL;
+	}
+
+	/**
+	 * The quads of a single {@link #emit} call, with its blank node labels
+	 */
+	private final class Emission {
+
+		private final RdfDataset dataset;
+
+		private final Map<String, RdfResource> blankNodes = new HashMap<>();
+
+		private int blankNodeCounter;
+
+		private Emission(RdfDataset dataset) {
+			this.dataset = dataset;
+		}
+
+		/**
+		 * Emits the quads of a JSON-LD object, and returns its node, or null if its IRI is relative
+		 *
+		 * @param skolemId the IRI of the object if it has no <code>@id</code> property and the skolemization is enabled, or null
+		 */
+		private RdfResource emitNode(Object value, Scope parentScope, String skolemId) {
+			final Object payload = value instanceof SignedObject<?> signedObject ? signedObject.payload() : value;
+			final JsonLdSerializationPlan plan = JsonLdSerializationPlan.of(payload.getClass());
+			if (plan.getContexts() == null && plan.getTypes() == null && plan.getProperties().isEmpty()) {
+				throw new JsonLdSerializationException("%s has no JSON-LD annotations, it cannot be emitted as RDF"
+						.formatted(payload.getClass().getName()));
+			}
+			final Scope scope = getScope(parentScope, plan.getContexts());
+			final String id = getId(payload, plan, skolemId);
+			final RdfResource subject = getSubject(id, scope);
+			if (plan.getTypes() != null) {
+				for (String type : plan.getTypes()) {
+					add(subject, RDF_TYPE, scope.expandType(type));
+				}
+			}
+			emitProperties(subject, payload, plan, scope, id);
+			if (payload != value) {
+				emitProperties(subject, value, JsonLdSerializationPlan.of(SignedObject.class), scope, id);
+			}
+			return subject;
+		}
+
+		private void emitProperties(RdfResource subject, Object value, JsonLdSerializationPlan plan, Scope scope, String id) {
+			for (JsonLdSerializationPlan.Property property : plan.getProperties()) {
+				final String jsonFieldName = property.jsonFieldName().getValue();
+				if (jsonFieldName.startsWith("@")) {
+					continue;
+				}
+				final Object propertyValue = getPropertyValue(value, property);
+				if (propertyValue == null) {
+					continue;
+				}
+				final RdfResource predicate = scope.terms().expandProperty(jsonFieldName);
+				emitValue(subject, predicate, getFormattedValue(property, propertyValue), scope, id, jsonFieldName);
+			}
+		}
+
+		/**
+		 * @param id           the <code>@id</code> of the subject as written in the JSON-LD document, or null
+		 * @param propertyPath the path of the value from the subject, for the {@link SkolemIri} of a nested object
+		 */
+		private void emitValue(RdfResource subject, RdfResource predicate, Object value, Scope scope, String id, String propertyPath) {
+			if (value == null) {
+				return;
+			}
+			if (value instanceof Collection<?> collection) {
+				int index = 0;
+				for (Object element : collection) {
+					emitValue(subject, predicate, element, scope, id, SkolemIri.element(propertyPath, index++));
+				}
+				return;
+			}
+			if (value.getClass().isArray() && !(value instanceof byte[])) {
+				for (int i = 0; i < Array.getLength(value); i++) {
+					emitValue(subject, predicate, Array.get(value, i), scope, id, SkolemIri.element(propertyPath, i));
+				}
+				return;
+			}
+			add(subject, predicate, toRdfValue(value, scope, id, propertyPath));
+		}
+
+		private RdfValue toRdfValue(Object value, Scope scope, String id, String propertyPath) {
+			if (value instanceof String valueString) {
+				return Rdf.createTypedString(valueString, XsdConstants.STRING);
+			}
+			if (value instanceof ZonedDateTime valueDateTime) {
+				return Rdf.createTypedString(IsoDateTimeWriter.format(valueDateTime), XsdConstants.STRING);
+			}
+			if (value instanceof Boolean valueBoolean) {
+				return Rdf.createTypedString(valueBoolean.toString(), XsdConstants.BOOLEAN);
+			}
+			if (value instanceof Number number) {
+				return toNumberLiteral(number);
+			}
+			if (value instanceof Enum<?> valueEnum) {
+				return Rdf.createTypedString(valueEnum.name(), XsdConstants.STRING);
+			}
+			if (value instanceof byte[] bytes) {
+				// written as Base64 by Jackson
+				return Rdf.createTypedString(Base64.getEncoder().encodeToString(bytes), XsdConstants.STRING);
+			}
+			if (isScalar(value)) {
+				return Rdf.createTypedString(value.toString(), XsdConstants.STRING);
+			}
+			return emitNode(value, scope, isSkolemizationEnabled() ? SkolemIri.of(id, propertyPath) : null);
+		}
+
+		/**
+		 * Returns the <code>@id</code> of the object as written in the JSON-LD document, or null if it has none
+		 */
+		private String getId(Object value, JsonLdSerializationPlan plan, String skolemId) {
+			final JsonLdSerializationPlan.Property idProperty = plan.getIdProperty();
+			if (idProperty == null) {
+				return skolemId;
+			}
+			return getFormattedValue(idProperty, getPropertyValue(value, idProperty)) instanceof String id ? id : null;
+		}
+
+		private RdfResource getSubject(String id, Scope scope) {
+			if (id == null) {
+				return newBlankNode();
+			}
+			final String expandedId = scope.expandId(id);
+			if (expandedId.startsWith(BLANK_NODE_PREFIX)) {
+				// blank node identifiers are relabeled, keeping the nodes sharing an identifier
+				return blankNodes.computeIfAbsent(expandedId, label -> newBlankNode());
+			}
+			return UriUtils.isAbsoluteUri(expandedId, true) ? Rdf.createIRI(expandedId) : null;
+		}
+
+		private RdfResource newBlankNode() {
+			return Rdf.createBlankNode(BLANK_NODE_LABEL_PREFIX + blankNodeCounter++);
+		}
+
+		private void add(RdfResource subject, RdfResource predicate, RdfValue object) {
+			if (subject != null && predicate != null && object != null) {
+				dataset.add(Rdf.createNQuad(subject, predicate, object, null));
+			}
+		}
+	}
+
+	/**
+	 * The active terms and base IRI of a JSON-LD object
+	 */
+	private record Scope(Terms terms, URI base) {
+
+		/**
+		 * Expands an <code>@id</code>: compact IRI, or IRI resolved against the base IRI
+		 */
+		String expandId(String id) {
+			return terms.expand(id, false, true, base);
+		}
+
+		/**
+		 * Expands a type: term, compact IRI, or IRI resolved against the base IRI; null if it is not an absolute IRI
+		 */
+		RdfResource expandType(String type) {
+			final String expanded = terms.expand(type, true, true, base);
+			return UriUtils.isAbsoluteUri(expanded, true) ? Rdf.createIRI(expanded) : null;
+		}
+	}
+
+	/**
+	 * The terms of nested JSON-LD contexts, with their expanded properties, shared by all emissions
+	 */
+	private static final class Terms {
+
+		private final Map<String, String> iris;
+
+		private final Set<String> prefixes = new HashSet<>();
+
+		private final IdentityCache<JsonLdContexts, Terms> nestedTerms = new IdentityCache<>();
+
+		private final Map<String, Optional<RdfResource>> expandedProperties = new ConcurrentHashMap<>();
+
+		private Terms(Map<String, String> iris) {
+			this.iris = iris;
+			iris.forEach((term, iri) -> {
+				// JSON-LD 1.1: only simple terms whose IRI ends with a generic delimiter can be used as prefix
+				if (term.indexOf(':') == -1 && term.indexOf('/') == -1
+						&& (UriUtils.endsWithGenDelim(iri) || iri.startsWith(BLANK_NODE_PREFIX))) {
+					prefixes.add(term);
+				}
+			});
+		}
+
+		Terms with(JsonLdContexts jsonLdContexts) {
+			return nestedTerms.computeIfAbsent(jsonLdContexts, contexts -> {
+				final Map<String, String> nestedIris = new HashMap<>(iris);
+				for (JsonLdContext context : contexts.value()) {
+					nestedIris.put(context.term(), context.iri());
+				}
+				return new Terms(Map.copyOf(nestedIris));
+			});
+		}
+
+		/**
+		 * Expands a property name; null if it is not an absolute IRI
+		 */
+		RdfResource expandProperty(String name) {
+			return expandedProperties.computeIfAbsent(name, key -> {
+				final String expanded = expand(key, true, false, null);
+				return UriUtils.isAbsoluteUri(expanded, true) && !expanded.startsWith(BLANK_NODE_PREFIX)
+						? Optional.of(Rdf.createIRI(expanded))
+						: Optional.empty();
+			}).orElse(null);
+		}
+
+		/**
+		 * Expands a value as the <a href="https://www.w3.org/TR/json-ld11-api/#iri-expansion">IRI expansion algorithm</a> does,
+		 * without vocabulary mapping
+		 *
+		 * @param vocab            true if the value can be a term
+		 * @param documentRelative true if the value is resolved against the base IRI
+		 */
+		String expand(String value, boolean vocab, boolean documentRelative, URI base) {
+			if (vocab && iris.containsKey(value)) {
+				return iris.get(value);
+			}
+			String result = value;
+			final int colon = value.indexOf(':', 1);
+			if (colon != -1) {
+				final String prefix = value.substring(0, colon);
+				final String suffix = value.substring(colon + 1);
+				if ("_".equals(prefix) || suffix.startsWith("//")) {
+					return value;
+				}
+				if (prefixes.contains(prefix)) {
+					result = iris.get(prefix) + suffix;
+				}
+				if (result.startsWith(BLANK_NODE_PREFIX) || UriUtils.isAbsoluteUri(result, true)) {
+					return result;
+				}
+			}
+			return documentRelative ? UriResolver.resolve(base, result) : result;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A document loader serving preloaded documents from memory, e.g. the remote JSON-LD contexts referenced by the verifiable credentials.
+ * It never accesses the network: loading a document which has not been preloaded fails.
+ * <p>
+ * The contexts bundled with the library, such as the one of the verifiable credentials data model, are preloaded by
+ * {@link OfflineDocumentLoaderBuilder#bundledContexts()}.
+ */
+public class OfflineDocumentLoader implements DocumentLoader {
+
+	/**
+	 * The URL of the context of the <a href="https://www.w3.org/TR/vc-data-model/">verifiable credentials data model v1.1</a>
+	 */
+	public static final String CREDENTIALS_V1_CONTEXT = "https://www.w3.org/2018/credentials/v1";
+
+	/**
+	 * The resources of the bundled contexts, by URL
+	 */
+	private static final Map<String, String> BUNDLED_CONTEXTS = Map.of(CREDENTIALS_V1_CONTEXT, "credentials-v1.jsonld");
+
+	private final Map<URI, Document> documents;
+
+	private OfflineDocumentLoader(Map<URI, Document> documents) {
+		this.documents = Map.copyOf(documents);
+	}
+
+	public static OfflineDocumentLoaderBuilder builder() {
+		return new OfflineDocumentLoaderBuilder();
+	}
+
+	@Override
+	public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+		final Document document = documents.get(url);
+		if (document == null) {
+			throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED,
+					"The document [%s] has not been preloaded, it cannot be loaded offline".formatted(url));
+		}
+		return document;
+	}
+
+	/**
+	 * Parses the bundled contexts once, when they are first preloaded; the parsed documents are immutable, and shared by the loaders
+	 */
+	private static final class BundledContexts {
+		private static final Map<String, Document> DOCUMENTS = parse();
+
+		private static Map<String, Document> parse() {
+			final Map<String, Document> documents = new HashMap<>();
+			BUNDLED_CONTEXTS.forEach((url, resource) -> {
+				try (InputStream input = OfflineDocumentLoader.class.getResourceAsStream(resource)) {
+					if (input == null) {
+						throw new IllegalStateException("The bundled context %s is missing".formatted(resource));
+					}
+					documents.put(url, JsonDocument.of(input));
+				} catch (JsonLdError | IOException e) {
+					throw new IllegalStateException("The bundled context %s cannot be parsed".formatted(resource), e);
+				}
+			});
+			return Map.copyOf(documents);
+		}
+	}
+
+	public static class OfflineDocumentLoaderBuilder {
+		private final Map<URI, Document> documents = new HashMap<>();
+
+		OfflineDocumentLoaderBuilder() {
+		}
+
+		/**
+		 * Preloads the document served for the specified URL
+		 */
+		public OfflineDocumentLoaderBuilder document(String url, Document document) {
+			this.documents.put(URI.create(url), document);
+			return this;
+		}
+
+		/**
+		 * Preloads the contexts bundled with the library: the context of the verifiable credentials data model v1.1
+		 * ({@value OfflineDocumentLoader#CREDENTIALS_V1_CONTEXT}). A document preloaded for the same URL replaces it.
+		 */
+		public OfflineDocumentLoaderBuilder bundledContexts() {
+			BundledContexts.DOCUMENTS.forEach((url, document) -> this.documents.putIfAbsent(URI.create(url), document));
+			return this;
+		}
+
+		public OfflineDocumentLoader build() {
+			return new OfflineDocumentLoader(documents);
+		}
+
+		@Override
+		public String toString() {
+			return "OfflineDocumentLoaderBuilder{" +
+					"documents=" + documents.keySet() +
+					'}';
+		}
+	}
+}
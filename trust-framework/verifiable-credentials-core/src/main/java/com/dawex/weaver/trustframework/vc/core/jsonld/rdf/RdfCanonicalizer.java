@@ -0,0 +1,864 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfLiteral;
+import com.apicatalog.rdf.RdfNQuad;
+import com.apicatalog.rdf.RdfResource;
+import com.apicatalog.rdf.RdfValue;
+import com.apicatalog.rdf.lang.XsdConstants;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException.Reason;
+import com.dawex.weaver.trustframework.vc.core.utils.Sha256Utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Canonicalizes RDF datasets following <a href="https://w3c-ccg.github.io/rdf-dataset-canonicalization/spec/index.html">URDNA2015</a>,
+ * as <code>RdfNormalize.normalize(dataset)</code> does, at a fraction of its cost:
+ * <ul>
+ *     <li>the first degree hash of each blank node is computed once, as it does not depend on the issued identifiers</li>
+ *     <li>the quads are serialized once, to UTF-8 byte arrays which are sorted and hashed without building any String</li>
+ *     <li>the blank nodes are compared by identity, and the permutations of the n-degree hashing are computed in place</li>
+ *     <li>the SHA-256 digests are reused by each thread</li>
+ * </ul>
+ * The quads are sorted in the code point order of their N-Quads, as the specification requires; <code>RdfNormalize</code> sorts them
+ * in the UTF-16 order, which only differs for the literals mixing supplementary characters with characters above U+E000. A blank node
+ * graph holding several quads of a blank node is also related once per quad, whereas <code>RdfNormalize</code> relates it once.
+ * As the W3C RDF dataset canonicalization test suite is not run yet, the signatures use <code>RdfNormalize</code> by default, see
+ * {@link com.dawex.weaver.trustframework.vc.core.canonicalization.Urdna2015Canonicalizer}.
+ * <p>
+ * The datasets can also be canonicalized with <a href="https://www.w3.org/TR/rdf-canon/">RDFC-1.0</a>, see {@link Algorithm}.
+ * <p>
+ * The large datasets, such as the data products with thousands of distributions, can be canonicalized in a {@link ForkJoinPool}:
+ * the blank node hashes are computed, and the quads are serialized and sorted, in parallel, with the same result.
+ * <p>
+ * The canonicalization of untrusted datasets can be bounded by {@link CanonicalizationLimits}. It is also cancelled cooperatively
+ * when the calling thread is interrupted, including while it waits for the pool. An aborted canonicalization throws a
+ * {@link CanonicalizationAbortedException}.
+ */
+public final class RdfCanonicalizer {
+
+	/**
+	 * A number of quads from which the parallel canonicalization is worth its overhead, in the order of a data product with a
+	 * few hundred distributions
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+	private static final String CANONICAL_BLANK_NODE_PREFIX = "_:c14n";
+
+	private static final String TEMPORARY_BLANK_NODE_PREFIX = "_:b";
+
+	private static final String BLANK_NODE_REFERENCE = "_:a";
+
+	private static final String BLANK_NODE_OTHER = "_:z";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final char[] UPPERCASE_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * The number of blank nodes or quads processed between two checks of the cancellation and of the timeout
+	 */
+	private static final int ABORT_CHECK_INTERVAL = 64;
+
+	private static final String CANCELLED_MESSAGE = "The canonicalization has been cancelled";
+
+	private static final ThreadLocal<NQuadEncoder> ENCODERS = ThreadLocal.withInitial(NQuadEncoder::new);
+
+	private static final ThreadLocal<MessageDigest> SHA256_DIGESTS = ThreadLocal.withInitial(Sha256Utils::newDigest);
+
+	private RdfCanonicalizer() {
+		// no instance allowed
+	}
+
+	/**
+	 * The canonicalization algorithms, which only differ by the serialization of the literals with control characters
+	 */
+	public enum Algorithm {
+		/**
+		 * URDNA2015, whose N-Quads only escape the line feeds, carriage returns, quotation marks and backslashes of the literals
+		 */
+		URDNA2015,
+		/**
+		 * RDFC-1.0, whose canonical N-Quads, used for hashing the blank nodes, sorting and writing the quads, also escape the other
+		 * control characters, with <code>\b</code>, <code>\t</code>, <code>\f</code> or an uppercase <code>&#92;u</code> sequence
+		 */
+		RDFC_1_0
+	}
+
+	/**
+	 * Returns the canonical form of the dataset: its blank nodes are labelled with canonical identifiers, and its quads are sorted
+	 * in the code point order of their N-Quads
+	 */
+	public static RdfDataset canonicalize(RdfDataset rdfDataset) {
+		return canonicalize(rdfDataset, null, 0);
+	}
+
+	/**
+	 * Returns the canonical form of the dataset, computed in parallel in the specified pool if the dataset has enough quads
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 */
+	public static RdfDataset canonicalize(RdfDataset rdfDataset, ForkJoinPool pool, int parallelThreshold) {
+		return canonicalize(rdfDataset, pool, parallelThreshold, CanonicalizationLimits.UNLIMITED);
+	}
+
+	/**
+	 * Returns the canonical form of the dataset, computed in parallel in the specified pool if the dataset has enough quads, within
+	 * the specified limits
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 * @throws CanonicalizationAbortedException If the dataset exceeds the limits, or if the calling thread is interrupted
+	 */
+	public static RdfDataset canonicalize(RdfDataset rdfDataset, ForkJoinPool pool, int parallelThreshold, CanonicalizationLimits limits) {
+		return canonicalize(rdfDataset, Algorithm.URDNA2015, pool, parallelThreshold, limits);
+	}
+
+	/**
+	 * Returns the canonical form of the dataset with the specified algorithm, computed in parallel in the specified pool if the dataset
+	 * has enough quads, within the specified limits
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 * @throws CanonicalizationAbortedException If the dataset exceeds the limits, or if the calling thread is interrupted
+	 */
+	public static RdfDataset canonicalize(RdfDataset rdfDataset, Algorithm algorithm, ForkJoinPool pool, int parallelThreshold,
+			CanonicalizationLimits limits) {
+		final RdfDataset canonicalDataset = Rdf.createDataset();
+		for (SortableQuad sortableQuad : getSortedQuads(rdfDataset, algorithm, pool, parallelThreshold, limits)) {
+			canonicalDataset.add(sortableQuad.quad().toCanonicalNQuad());
+		}
+		return canonicalDataset;
+	}
+
+	/**
+	 * Writes the N-Quads of the canonical form of the dataset, in UTF-8, as the titanium N-Quads writer writes
+	 * <code>canonicalize(dataset)</code>
+	 */
+	public static void writeNQuads(RdfDataset rdfDataset, OutputStream output) throws IOException {
+		writeNQuads(rdfDataset, output, null, 0);
+	}
+
+	/**
+	 * Writes the N-Quads of the canonical form of the dataset, computed in parallel in the specified pool if the dataset has enough quads
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 */
+	public static void writeNQuads(RdfDataset rdfDataset, OutputStream output, ForkJoinPool pool, int parallelThreshold)
+			throws IOException {
+		writeNQuads(rdfDataset, output, pool, parallelThreshold, CanonicalizationLimits.UNLIMITED);
+	}
+
+	/**
+	 * Writes the N-Quads of the canonical form of the dataset, computed in parallel in the specified pool if the dataset has enough quads,
+	 * within the specified limits
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 * @throws CanonicalizationAbortedException If the dataset exceeds the limits, or if the calling thread is interrupted
+	 */
+	public static void writeNQuads(RdfDataset rdfDataset, OutputStream output, ForkJoinPool pool, int parallelThreshold,
+			CanonicalizationLimits limits) throws IOException {
+		writeNQuads(rdfDataset, output, Algorithm.URDNA2015, pool, parallelThreshold, limits);
+	}
+
+	/**
+	 * Writes the N-Quads of the canonical form of the dataset with the specified algorithm, computed in parallel in the specified pool
+	 * if the dataset has enough quads, within the specified limits. The URDNA2015 N-Quads are written as the titanium N-Quads writer
+	 * writes them, the RDFC-1.0 ones as canonical N-Quads.
+	 *
+	 * @param pool              the pool computing the canonical form of the large datasets, or null for computing it sequentially
+	 * @param parallelThreshold the minimum number of quads of the datasets canonicalized in the pool
+	 * @throws CanonicalizationAbortedException If the dataset exceeds the limits, or if the calling thread is interrupted
+	 */
+	public static void writeNQuads(RdfDataset rdfDataset, OutputStream output, Algorithm algorithm, ForkJoinPool pool,
+			int parallelThreshold, CanonicalizationLimits limits) throws IOException {
+		final NQuadEncoder encoder = ENCODERS.get();
+		for (SortableQuad sortableQuad : getSortedQuads(rdfDataset, algorithm, pool, parallelThreshold, limits)) {
+			if (algorithm == Algorithm.URDNA2015 && sortableQuad.quad().hasControlCharacter()) {
+				// the N-Quads writer escapes the control characters that the URDNA2015 serialization keeps
+				encoder.reset();
+				encoder.appendQuad(sortableQuad.quad(), null, Escaping.N_QUADS_WRITER);
+				encoder.writeTo(output);
+			} else {
+				output.write(sortableQuad.nQuad());
+			}
+		}
+	}
+
+	private static SortableQuad[] getSortedQuads(RdfDataset rdfDataset, Algorithm algorithm, ForkJoinPool pool, int parallelThreshold,
+			CanonicalizationLimits limits) {
+		if (rdfDataset.size() > limits.getMaxQuads()) {
+			throw new CanonicalizationAbortedException(Reason.QUAD_LIMIT,
+					"The dataset has %d quads, more than the limit of %d".formatted(rdfDataset.size(), limits.getMaxQuads()));
+		}
+		final boolean parallel = pool != null && rdfDataset.size() >= parallelThreshold;
+		final Canonicalization canonicalization = new Canonicalization(rdfDataset,
+				algorithm == Algorithm.RDFC_1_0 ? Escaping.RDFC_1_0 : Escaping.URDNA2015, parallel, limits);
+		if (!parallel) {
+			return canonicalization.getSortedQuads();
+		}
+		// the tasks forked by the canonicalization, including the ones of Arrays.parallelSort, run in the pool of their caller
+		final ForkJoinTask<SortableQuad[]> task = pool.submit(canonicalization::getSortedQuads);
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			canonicalization.cancel();
+			Thread.currentThread().interrupt();
+			throw new CanonicalizationAbortedException(Reason.CANCELLED, CANCELLED_MESSAGE);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * The state of the canonicalization of a dataset
+	 */
+	private static final class Canonicalization {
+
+		private final List<Quad> quads;
+
+		private final Map<String, BlankNode> blankNodes = new HashMap<>();
+
+		private final Escaping escaping;
+
+		private final boolean parallel;
+
+		private final CanonicalizationLimits limits;
+
+		private final Thread caller = Thread.currentThread();
+
+		private volatile boolean cancelled;
+
+		private final long start = System.nanoTime();
+
+		private final AtomicLong nDegreeIterations = new AtomicLong();
+
+		private int canonicalCounter;
+
+		/**
+		 * @param escaping the escaping of the literals of the N-Quads hashed and sorted by the algorithm
+		 * @param parallel true for forking the computations in a pool
+		 */
+		Canonicalization(RdfDataset rdfDataset, Escaping escaping, boolean parallel, CanonicalizationLimits limits) {
+			this.escaping = escaping;
+			this.parallel = parallel;
+			this.limits = limits;
+			final List<RdfNQuad> rdfNQuads = rdfDataset.toList();
+			quads = new ArrayList<>(rdfNQuads.size());
+			for (RdfNQuad rdfNQuad : rdfNQuads) {
+				final Quad quad = new Quad(rdfNQuad, getBlankNode(rdfNQuad.getSubject()), getBlankNode(rdfNQuad.getObject()),
+						getBlankNode(rdfNQuad.getGraphName().orElse(null)));
+				quads.add(quad);
+				addQuad(quad.subject(), quad);
+				if (quad.object() != quad.subject()) {
+					addQuad(quad.object(), quad);
+				}
+				if (quad.graph() != quad.subject() && quad.graph() != quad.object()) {
+					addQuad(quad.graph(), quad);
+				}
+			}
+			if (blankNodes.size() > limits.getMaxBlankNodes()) {
+				throw new CanonicalizationAbortedException(Reason.BLANK_NODE_LIMIT,
+						"The dataset has %d blank nodes, more than the limit of %d".formatted(blankNodes.size(), limits.getMaxBlankNodes()));
+			}
+		}
+
+		/**
+		 * Issues the canonical identifiers of the blank nodes, and returns the quads sorted by their canonical N-Quads
+		 */
+		SortableQuad[] getSortedQuads() {
+			if (!blankNodes.isEmpty()) {
+				issueCanonicalIds();
+			}
+			final SortableQuad[] sortableQuads = new SortableQuad[quads.size()];
+			forEachIndex(sortableQuads.length, i -> {
+				final NQuadEncoder encoder = ENCODERS.get();
+				encoder.reset();
+				encoder.appendQuad(quads.get(i), null, escaping);
+				sortableQuads[i] = new SortableQuad(encoder.toByteArray(), quads.get(i));
+			});
+			final Comparator<SortableQuad> comparator = (first, second) -> Arrays.compareUnsigned(first.nQuad(), second.nQuad());
+			if (parallel) {
+				Arrays.parallelSort(sortableQuads, comparator);
+			} else {
+				Arrays.sort(sortableQuads, comparator);
+			}
+			return sortableQuads;
+		}
+
+		private BlankNode getBlankNode(RdfValue value) {
+			return value != null && value.isBlankNode() ? blankNodes.computeIfAbsent(value.getValue(), label -> new BlankNode()) : null;
+		}
+
+		private static void addQuad(BlankNode blankNode, Quad quad) {
+			if (blankNode != null) {
+				blankNode.quads.add(quad);
+			}
+		}
+
+		private void issueCanonicalIds() {
+			final BlankNode[] sortedBlankNodes = blankNodes.values().toArray(BlankNode[]::new);
+			forEachIndex(sortedBlankNodes.length, i -> hashFirstDegree(sortedBlankNodes[i]));
+			Arrays.sort(sortedBlankNodes, Comparator.comparing(blankNode -> blankNode.firstDegreeHash));
+
+			// the blank nodes with a unique first degree hash, in the order of the hashes
+			final List<List<BlankNode>> sharedHashes = new ArrayList<>();
+			for (int start = 0, end; start < sortedBlankNodes.length; start = end) {
+				end = start + 1;
+				while (end < sortedBlankNodes.length && sortedBlankNodes[end].firstDegreeHash.equals(sortedBlankNodes[start].firstDegreeHash)) {
+					end++;
+				}
+				if (end - start == 1) {
+					issueCanonicalId(sortedBlankNodes[start]);
+				} else {
+					sharedHashes.add(Arrays.asList(sortedBlankNodes).subList(start, end));
+				}
+			}
+
+			// the other blank nodes, from their n-degree hashes, which only depend on the canonical identifiers of the previous groups
+			for (List<BlankNode> sharedHash : sharedHashes) {
+				final BlankNode[] pending = sharedHash.stream().filter(blankNode -> blankNode.canonicalId == null).toArray(BlankNode[]::new);
+				final NDegreeHash[] nDegreeHashes = new NDegreeHash[pending.length];
+				forEachIndex(pending.length, i -> {
+					final IdentifierIssuer issuer = new IdentifierIssuer(TEMPORARY_BLANK_NODE_PREFIX);
+					issuer.issue(pending[i]);
+					nDegreeHashes[i] = hashNDegreeQuads(pending[i], issuer);
+				});
+				Arrays.sort(nDegreeHashes, Comparator.comparing(NDegreeHash::hash));
+				for (NDegreeHash nDegreeHash : nDegreeHashes) {
+					nDegreeHash.issuer().getIssuedBlankNodes().forEach(this::issueCanonicalId);
+				}
+			}
+		}
+
+		/**
+		 * Applies the action to the indexes from 0 to count, in parallel if the canonicalization is parallel
+		 */
+		private void forEachIndex(int count, IntConsumer action) {
+			final IntConsumer abortableAction = i -> {
+				if (i % ABORT_CHECK_INTERVAL == 0) {
+					checkAborted();
+				}
+				action.accept(i);
+			};
+			if (parallel) {
+				new IndexRangeAction(0, count, abortableAction).invoke();
+			} else {
+				for (int i = 0; i < count; i++) {
+					abortableAction.accept(i);
+				}
+			}
+		}
+
+		/**
+		 * Cancels the canonicalization running in a pool, whose caller has been interrupted while waiting for it
+		 */
+		void cancel() {
+			cancelled = true;
+		}
+
+		/**
+		 * Aborts the canonicalization if it has been cancelled, or if it has exceeded its duration
+		 */
+		private void checkAborted() {
+			if (cancelled || caller.isInterrupted()) {
+				throw new CanonicalizationAbortedException(Reason.CANCELLED, CANCELLED_MESSAGE);
+			}
+			if (limits.getTimeout() != null && System.nanoTime() - start >= limits.getTimeout().toNanos()) {
+				throw new CanonicalizationAbortedException(Reason.TIMEOUT,
+						"The canonicalization has exceeded the limit of %s".formatted(limits.getTimeout()));
+			}
+		}
+
+		private void countNDegreeIteration() {
+			if (nDegreeIterations.incrementAndGet() > limits.getMaxNDegreeIterations()) {
+				throw new CanonicalizationAbortedException(Reason.N_DEGREE_ITERATION_LIMIT,
+						"The n-degree hashing has exceeded the limit of %d iterations".formatted(limits.getMaxNDegreeIterations()));
+			}
+			checkAborted();
+		}
+
+		private void issueCanonicalId(BlankNode blankNode) {
+			if (blankNode.canonicalId == null) {
+				blankNode.canonicalId = CANONICAL_BLANK_NODE_PREFIX + canonicalCounter++;
+			}
+		}
+
+		private String hashFirstDegree(BlankNode blankNode) {
+			if (blankNode.firstDegreeHash == null) {
+				final NQuadEncoder encoder = ENCODERS.get();
+				final MessageDigest sha256 = SHA256_DIGESTS.get();
+				sha256.reset();
+				if (blankNode.quads.size() == 1) {
+					encoder.reset();
+					encoder.appendQuad(blankNode.quads.get(0), blankNode, escaping);
+					encoder.updateDigest(sha256);
+				} else {
+					final byte[][] nQuads = new byte[blankNode.quads.size()][];
+					for (int i = 0; i < nQuads.length; i++) {
+						encoder.reset();
+						encoder.appendQuad(blankNode.quads.get(i), blankNode, escaping);
+						nQuads[i] = encoder.toByteArray();
+					}
+					Arrays.sort(nQuads, Arrays::compareUnsigned);
+					for (byte[] nQuad : nQuads) {
+						sha256.update(nQuad);
+					}
+				}
+				blankNode.firstDegreeHash = Sha256Utils.toHex(sha256.digest());
+			}
+			return blankNode.firstDegreeHash;
+		}
+
+		private NDegreeHash hashNDegreeQuads(BlankNode blankNode, IdentifierIssuer issuer) {
+			final Map<String, List<BlankNode>> hashToRelated = new TreeMap<>();
+			for (Quad quad : blankNode.quads) {
+				addRelated(hashToRelated, blankNode, quad, quad.subject(), 's', issuer);
+				addRelated(hashToRelated, blankNode, quad, quad.object(), 'o', issuer);
+				addRelated(hashToRelated, blankNode, quad, quad.graph(), 'g', issuer);
+			}
+
+			final StringBuilder dataToHash = new StringBuilder();
+			for (Map.Entry<String, List<BlankNode>> entry : hashToRelated.entrySet()) {
+				dataToHash.append(entry.getKey());
+				final BlankNode[] related = entry.getValue().toArray(BlankNode[]::new);
+				final int[] permutation = new int[related.length];
+				Arrays.setAll(permutation, i -> i);
+				String chosenPath = null;
+				IdentifierIssuer chosenIssuer = null;
+				nextPermutation:
+				do {
+					countNDegreeIteration();
+					IdentifierIssuer issuerCopy = issuer.copy();
+					final StringBuilder path = new StringBuilder();
+					final List<BlankNode> recursionList = new ArrayList<>();
+					for (int index : permutation) {
+						if (related[index].canonicalId != null) {
+							path.append(related[index].canonicalId);
+						} else {
+							if (issuerCopy.getId(related[index]) == null) {
+								recursionList.add(related[index]);
+							}
+							path.append(issuerCopy.issue(related[index]));
+						}
+						if (chosenPath != null && CharSequence.compare(path, chosenPath) > 0) {
+							continue nextPermutation;
+						}
+					}
+					for (BlankNode recursion : recursionList) {
+						final NDegreeHash result = hashNDegreeQuads(recursion, issuerCopy);
+						path.append(issuerCopy.issue(recursion)).append('<').append(result.hash()).append('>');
+						issuerCopy = result.issuer();
+						if (chosenPath != null && CharSequence.compare(path, chosenPath) > 0) {
+							continue nextPermutation;
+						}
+					}
+					if (chosenPath == null || CharSequence.compare(path, chosenPath) < 0) {
+						chosenPath = path.toString();
+						chosenIssuer = issuerCopy;
+					}
+				} while (nextPermutation(permutation));
+				dataToHash.append(chosenPath);
+				issuer = chosenIssuer;
+			}
+
+			final MessageDigest sha256 = SHA256_DIGESTS.get();
+			sha256.reset();
+			return new NDegreeHash(Sha256Utils.toHex(sha256.digest(dataToHash.toString().getBytes(StandardCharsets.UTF_8))), issuer);
+		}
+
+		private void addRelated(Map<String, List<BlankNode>> hashToRelated, BlankNode blankNode, Quad quad, BlankNode related,
+				char position, IdentifierIssuer issuer) {
+			if (related != null && related != blankNode) {
+				hashToRelated.computeIfAbsent(hashRelatedBlankNode(related, quad, issuer, position), hash -> new ArrayList<>())
+						.add(related);
+			}
+		}
+
+		private String hashRelatedBlankNode(BlankNode related, Quad quad, IdentifierIssuer issuer, char position) {
+			String id = related.canonicalId != null ? related.canonicalId : issuer.getId(related);
+			if (id == null) {
+				id = hashFirstDegree(related);
+			}
+			final NQuadEncoder encoder = ENCODERS.get();
+			encoder.reset();
+			encoder.append(position);
+			if (position != 'g') {
+				encoder.append('<').appendUtf8(quad.rdfNQuad().getPredicate().getValue()).append('>');
+			}
+			encoder.appendUtf8(id);
+			final MessageDigest sha256 = SHA256_DIGESTS.get();
+			sha256.reset();
+			encoder.updateDigest(sha256);
+			return Sha256Utils.toHex(sha256.digest());
+		}
+
+		/**
+		 * Rearranges the indexes into the next permutation in the lexicographic order, and returns false if they were the last one
+		 */
+		private static boolean nextPermutation(int[] indexes) {
+			int i = indexes.length - 2;
+			while (i >= 0 && indexes[i] >= indexes[i + 1]) {
+				i--;
+			}
+			if (i < 0) {
+				return false;
+			}
+			int j = indexes.length - 1;
+			while (indexes[j] <= indexes[i]) {
+				j--;
+			}
+			swap(indexes, i, j);
+			for (int left = i + 1, right = indexes.length - 1; left < right; left++, right--) {
+				swap(indexes, left, right);
+			}
+			return true;
+		}
+
+		private static void swap(int[] indexes, int i, int j) {
+			final int index = indexes[i];
+			indexes[i] = indexes[j];
+			indexes[j] = index;
+		}
+	}
+
+	/**
+	 * Applies an action to a range of indexes, split in halves forked in the pool of the current thread
+	 */
+	private static final class IndexRangeAction extends RecursiveAction {
+
+		@Serial
+		private static final long serialVersionUID = 4188462393541870203L;
+
+		private static final int SEQUENTIAL_RANGE = 64;
+
+		private final int start;
+
+		private final int end;
+
+		private final transient IntConsumer action;
+
+		IndexRangeAction(int start, int end, IntConsumer action) {
+			this.start = start;
+			this.end = end;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= SEQUENTIAL_RANGE) {
+				for (int i = start; i < end; i++) {
+					action.accept(i);
+				}
+			} else {
+				final int middle = (start + end) >>> 1;
+				invokeAll(new IndexRangeAction(start, middle, action), new IndexRangeAction(middle, end, action));
+			}
+		}
+	}
+
+	/**
+	 * A blank node of the dataset, identified by its instance
+	 */
+	private static final class BlankNode {
+
+		private final List<Quad> quads = new ArrayList<>(2);
+
+		private String firstDegreeHash;
+
+		private String canonicalId;
+
+		private RdfResource canonicalResource;
+
+		RdfResource getCanonicalResource() {
+			if (canonicalResource == null) {
+				canonicalResource = Rdf.createBlankNode(canonicalId);
+			}
+			return canonicalResource;
+		}
+	}
+
+	/**
+	 * A quad, with the blank nodes at its subject, object and graph positions, or null if they are not blank nodes
+	 */
+	private record Quad(RdfNQuad rdfNQuad, BlankNode subject, BlankNode object, BlankNode graph) {
+
+		RdfNQuad toCanonicalNQuad() {
+			if (subject == null && object == null && graph == null) {
+				return rdfNQuad;
+			}
+			return Rdf.createNQuad(
+					subject != null ? subject.getCanonicalResource() : rdfNQuad.getSubject(),
+					rdfNQuad.getPredicate(),
+					object != null ? object.getCanonicalResource() : rdfNQuad.getObject(),
+					graph != null ? graph.getCanonicalResource() : rdfNQuad.getGraphName().orElse(null));
+		}
+
+		boolean hasControlCharacter() {
+			if (!rdfNQuad.getObject().isLiteral()) {
+				return false;
+			}
+			final String value = rdfNQuad.getObject().getValue();
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				if ((c <= 0x1f && c != '\n' && c != '\r') || c == 0x7f) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private record SortableQuad(byte[] nQuad, Quad quad) {
+	}
+
+	private record NDegreeHash(String hash, IdentifierIssuer issuer) {
+	}
+
+	/**
+	 * Issues identifiers to blank nodes, with a prefix followed by a counter
+	 */
+	private static final class IdentifierIssuer {
+
+		private final String prefix;
+
+		private final LinkedHashMap<BlankNode, String> issuedIds;
+
+		private int counter;
+
+		IdentifierIssuer(String prefix) {
+			this(prefix, new LinkedHashMap<>(), 0);
+		}
+
+		private IdentifierIssuer(String prefix, LinkedHashMap<BlankNode, String> issuedIds, int counter) {
+			this.prefix = prefix;
+			this.issuedIds = issuedIds;
+			this.counter = counter;
+		}
+
+		String issue(BlankNode blankNode) {
+			return issuedIds.computeIfAbsent(blankNode, k -> prefix + counter++);
+		}
+
+		String getId(BlankNode blankNode) {
+			return issuedIds.get(blankNode);
+		}
+
+		/**
+		 * Returns the blank nodes in the order their identifiers were issued
+		 */
+		Iterable<BlankNode> getIssuedBlankNodes() {
+			return issuedIds.keySet();
+		}
+
+		IdentifierIssuer copy() {
+			return new IdentifierIssuer(prefix, new LinkedHashMap<>(issuedIds), counter);
+		}
+	}
+
+	/**
+	 * The escaping of the literals of the N-Quads
+	 */
+	private enum Escaping {
+		/**
+		 * Escapes only the line feeds, carriage returns, quotation marks and backslashes, as URDNA2015 does
+		 */
+		URDNA2015,
+		/**
+		 * Also escapes the other control characters, with a lowercase <code>&#92;u</code> sequence, as the N-Quads writer does
+		 */
+		N_QUADS_WRITER,
+		/**
+		 * Also escapes the other control characters, with an uppercase <code>&#92;u</code> sequence, as the canonical N-Quads of
+		 * RDFC-1.0 do
+		 */
+		RDFC_1_0
+	}
+
+	/**
+	 * Serializes quads to UTF-8 N-Quads in a reusable buffer
+	 */
+	private static final class NQuadEncoder {
+
+		private byte[] buffer = new byte[256];
+
+		private int length;
+
+		void reset() {
+			length = 0;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, length);
+		}
+
+		void updateDigest(MessageDigest digest) {
+			digest.update(buffer, 0, length);
+		}
+
+		void writeTo(OutputStream output) throws IOException {
+			output.write(buffer, 0, length);
+		}
+
+		/**
+		 * Appends the N-Quad of the quad, where the blank nodes are labelled with <code>_:a</code> for the reference blank node and
+		 * <code>_:z</code> for the others if there is a reference blank node, or with their canonical identifiers otherwise
+		 *
+		 * @param escaping the escaping of the literals
+		 */
+		void appendQuad(Quad quad, BlankNode reference, Escaping escaping) {
+			final RdfNQuad rdfNQuad = quad.rdfNQuad();
+			appendResource(rdfNQuad.getSubject(), quad.subject(), reference);
+			append(' ');
+			appendResource(rdfNQuad.getPredicate(), null, reference);
+			append(' ');
+			if (rdfNQuad.getObject().isLiteral()) {
+				appendLiteral(rdfNQuad.getObject().asLiteral(), escaping);
+			} else {
+				appendResource(rdfNQuad.getObject(), quad.object(), reference);
+			}
+			append(' ');
+			final Optional<RdfResource> graphName = rdfNQuad.getGraphName();
+			if (graphName.isPresent()) {
+				appendResource(graphName.get(), quad.graph(), reference);
+				append(' ');
+			}
+			append('.').append('\n');
+		}
+
+		private void appendResource(RdfValue resource, BlankNode blankNode, BlankNode reference) {
+			if (blankNode == null) {
+				if (resource.isBlankNode()) {
+					// a blank node predicate of a generalized dataset
+					appendUtf8(resource.getValue());
+				} else {
+					append('<').appendUtf8(resource.getValue()).append('>');
+				}
+			} else if (reference != null) {
+				appendUtf8(blankNode == reference ? BLANK_NODE_REFERENCE : BLANK_NODE_OTHER);
+			} else {
+				appendUtf8(blankNode.canonicalId);
+			}
+		}
+
+		private void appendLiteral(RdfLiteral literal, Escaping escaping) {
+			append('"');
+			final String value = literal.getValue();
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				switch (c) {
+					case '\n' -> append('\\').append('n');
+					case '\r' -> append('\\').append('r');
+					case '"' -> append('\\').append('"');
+					case '\\' -> append('\\').append('\\');
+					default -> {
+						if (escaping != Escaping.URDNA2015 && (c <= 0x1f || c == 0x7f)) {
+							appendControlCharacter(c, escaping == Escaping.RDFC_1_0 ? UPPERCASE_HEX_DIGITS : HEX_DIGITS);
+						} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+							appendCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+						} else {
+							appendCodePoint(c);
+						}
+					}
+				}
+			}
+			append('"');
+			if (literal.getLanguage().isPresent()) {
+				append('@').appendUtf8(literal.getLanguage().get());
+			} else if (literal.getDatatype() != null && !XsdConstants.STRING.equals(literal.getDatatype())) {
+				append('^').append('^').append('<').appendUtf8(literal.getDatatype()).append('>');
+			}
+		}
+
+		private void appendControlCharacter(char c, char[] hexDigits) {
+			switch (c) {
+				case '\t' -> append('\\').append('t');
+				case '\b' -> append('\\').append('b');
+				case '\f' -> append('\\').append('f');
+				default -> append('\\').append('u').append('0').append('0')
+						.append(hexDigits[(c >> 4) & 0x0f]).append(hexDigits[c & 0x0f]);
+			}
+		}
+
+		NQuadEncoder appendUtf8(String value) {
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				if (c < 0x80) {
+					append(c);
+				} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+					appendCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+				} else {
+					appendCodePoint(c);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Appends an ASCII character
+		 */
+		NQuadEncoder append(char c) {
+			ensureCapacity(1);
+			buffer[length++] = (byte) c;
+			return this;
+		}
+
+		private void appendCodePoint(int codePoint) {
+			ensureCapacity(4);
+			if (codePoint < 0x80) {
+				buffer[length++] = (byte) codePoint;
+			} else if (codePoint < 0x800) {
+				buffer[length++] = (byte) (0xc0 | (codePoint >> 6));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+			} else if (Character.isSurrogate((char) codePoint) && codePoint <= 0xffff) {
+				// an unpaired surrogate is replaced, as String.getBytes does
+				buffer[length++] = '?';
+			} else if (codePoint < 0x10000) {
+				buffer[length++] = (byte) (0xe0 | (codePoint >> 12));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+			} else {
+				buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+			}
+		}
+
+		private void ensureCapacity(int count) {
+			if (length + count > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+			}
+		}
+	}
+}
@@ -15,4 +15,23 @@ public interface FormatProvider {
 	 * @param formatName the format name, used in {@link JsonLdProperty#formatName}
 	 */
 	Optional<String> getFormat(String formatName);
+
+	/**
+	 * Returns the compiled template of the format matching the specified format name.
+	 * The default implementation compiles the format on each call; implementations should override it to return precompiled templates.
+	 *
+	 * @param formatName the format name, used in {@link JsonLdProperty#formatName}
+	 */
+	default Optional<FormatTemplate> getTemplate(String formatName) {
+		return getFormat(formatName).map(FormatTemplate::compile);
+	}
+
+	/**
+	 * Returns true if the nested objects without <code>@id</code> property are given a deterministic IRI, derived from the
+	 * <code>@id</code> of their parent and their property path (see {@link SkolemIri}), instead of being blank nodes.
+	 * It is opt-in: the default implementation returns false.
+	 */
+	default boolean isSkolemizationEnabled() {
+		return false;
+	}
 }
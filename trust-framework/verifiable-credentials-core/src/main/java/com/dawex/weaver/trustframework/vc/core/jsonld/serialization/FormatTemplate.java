@@ -0,0 +1,203 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+
+/**
+ * A format compiled once into literal segments and argument references, so that applying it is a plain concatenation.
+ * <p>
+ * Only the <code>%s</code> and <code>%n$s</code> conversions, <code>%%</code> and <code>%n</code> are compiled; a format using any
+ * other {@link java.util.Formatter} syntax (flags, width, other conversions) is applied with {@link String#format}, as well as
+ * {@link Formattable} arguments, so that the result is always the same as <code>format.formatted(values)</code>.
+ */
+public final class FormatTemplate {
+
+	private final String format;
+
+	/**
+	 * Literal segments are Strings, argument references are the Integer index of the argument; null if the format is not compiled
+	 */
+	private final Object[] segments;
+
+	private final int literalLength;
+
+	private FormatTemplate(String format, Object[] segments) {
+		this.format = format;
+		this.segments = segments;
+		int length = 0;
+		if (segments != null) {
+			for (Object segment : segments) {
+				if (segment instanceof String literal) {
+					length += literal.length();
+				}
+			}
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * Compiles the specified format, following the {@link java.util.Formatter} syntax
+	 */
+	public static FormatTemplate compile(String format) {
+		return new FormatTemplate(format, parseSegments(format));
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	/**
+	 * Applies the format to a single value
+	 */
+	public String apply(Object value) {
+		return apply(new Object[]{value});
+	}
+
+	/**
+	 * Applies the format to the specified values, as <code>format.formatted(values)</code> does
+	 */
+	public String apply(Object[] values) {
+		if (segments == null || values == null) {
+			return format.formatted(values);
+		}
+		final StringBuilder result = new StringBuilder(literalLength + 16 * values.length);
+		for (Object segment : segments) {
+			if (segment instanceof String literal) {
+				result.append(literal);
+				continue;
+			}
+			final int index = (Integer) segment;
+			if (index >= values.length || values[index] instanceof Formattable) {
+				// let the Formatter handle Formattable values and report missing arguments
+				return format.formatted(values);
+			}
+			result.append(values[index]);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Extracts the values from a formatted string, reversing {@link #apply(Object[])} for String values.
+	 * Each argument matches the shortest text up to the next literal segment, except the last argument which matches up to the last
+	 * literal segment.
+	 *
+	 * @return the values, indexed as the format arguments, or null if the text does not match the format, or if the format cannot be
+	 * reversed (not compiled, or two arguments without a literal segment between them)
+	 */
+	public String[] parse(String text) {
+		if (segments == null) {
+			return null;
+		}
+		int argumentCount = 0;
+		for (Object segment : segments) {
+			if (segment instanceof Integer index) {
+				argumentCount = Math.max(argumentCount, index + 1);
+			}
+		}
+		final String[] values = new String[argumentCount];
+		int position = 0;
+		for (int i = 0; i < segments.length; i++) {
+			if (segments[i] instanceof String literal) {
+				if (!text.startsWith(literal, position)) {
+					return null;
+				}
+				position += literal.length();
+				continue;
+			}
+			final int end;
+			if (i + 1 == segments.length) {
+				end = text.length();
+			} else if (segments[i + 1] instanceof String nextLiteral) {
+				end = i + 2 == segments.length
+						? (text.endsWith(nextLiteral) ? text.length() - nextLiteral.length() : -1)
+						: text.indexOf(nextLiteral, position);
+			} else {
+				return null;
+			}
+			if (end < position) {
+				return null;
+			}
+			final String value = text.substring(position, end);
+			final int index = (Integer) segments[i];
+			if (values[index] != null && !values[index].equals(value)) {
+				return null;
+			}
+			values[index] = value;
+			position = end;
+		}
+		return position == text.length() ? values : null;
+	}
+
+	@Override
+	public String toString() {
+		return format;
+	}
+
+	/**
+	 * Returns the segments of the format, or null if it uses a syntax that is not compiled
+	 */
+	private static Object[] parseSegments(String format) {
+		final List<Object> segments = new ArrayList<>();
+		final StringBuilder literal = new StringBuilder();
+		int ordinaryIndex = 0;
+		int i = 0;
+		while (i < format.length()) {
+			final char c = format.charAt(i);
+			if (c != '%') {
+				literal.append(c);
+				i++;
+				continue;
+			}
+			if (i + 1 >= format.length()) {
+				return null;
+			}
+			final char next = format.charAt(i + 1);
+			if (next == '%') {
+				literal.append('%');
+				i += 2;
+			} else if (next == 'n') {
+				literal.append(System.lineSeparator());
+				i += 2;
+			} else if (next == 's') {
+				addArgument(segments, literal, ordinaryIndex++);
+				i += 2;
+			} else {
+				// explicit argument index: %n$s
+				int end = i + 1;
+				while (end < format.length() && Character.isDigit(format.charAt(end))) {
+					end++;
+				}
+				if (end == i + 1 || end + 1 >= format.length() || format.charAt(end) != '$' || format.charAt(end + 1) != 's') {
+					return null;
+				}
+				final int index = parseIndex(format.substring(i + 1, end));
+				if (index < 1) {
+					return null;
+				}
+				addArgument(segments, literal, index - 1);
+				i = end + 2;
+			}
+		}
+		if (!literal.isEmpty()) {
+			segments.add(literal.toString());
+		}
+		return segments.toArray();
+	}
+
+	private static void addArgument(List<Object> segments, StringBuilder literal, int index) {
+		if (!literal.isEmpty()) {
+			segments.add(literal.toString());
+			literal.setLength(0);
+		}
+		segments.add(index);
+	}
+
+	private static int parseIndex(String index) {
+		try {
+			return Integer.parseInt(index);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes a date-time truncated to the second, in the {@link DateTimeFormatter#ISO_ZONED_DATE_TIME} format,
+ * e.g. <code>2022-07-28T15:16:01Z</code> or <code>2022-07-28T17:16:01+02:00[Europe/Paris]</code>.
+ * <p>
+ * The characters are rendered directly, without truncating the date-time nor running the formatter; the output is the same as
+ * <code>value.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_ZONED_DATE_TIME)</code>, which is used for years
+ * outside of [0, 9999].
+ */
+public final class IsoDateTimeWriter {
+
+	/**
+	 * yyyy-MM-ddTHH:mm:ss+HH:MM:SS
+	 */
+	private static final int MAX_OFFSET_DATE_TIME_LENGTH = 28;
+
+	private static final int MAX_YEAR = 9999;
+
+	private IsoDateTimeWriter() {
+		// no instance allowed
+	}
+
+	/**
+	 * Writes the date-time as a JSON string
+	 */
+	public static void write(ZonedDateTime value, JsonGenerator jsonGenerator) throws IOException {
+		final char[] buffer = newBuffer(value);
+		if (buffer == null) {
+			jsonGenerator.writeString(formatWithFormatter(value));
+		} else {
+			jsonGenerator.writeString(buffer, 0, render(value, buffer));
+		}
+	}
+
+	/**
+	 * Returns the date-time formatted as a string
+	 */
+	public static String format(ZonedDateTime value) {
+		final char[] buffer = newBuffer(value);
+		return buffer == null ? formatWithFormatter(value) : new String(buffer, 0, render(value, buffer));
+	}
+
+	/**
+	 * Returns a buffer large enough to render the date-time, or null if the year is not supported
+	 */
+	private static char[] newBuffer(ZonedDateTime value) {
+		final int year = value.getYear();
+		if (year < 0 || year > MAX_YEAR) {
+			return null;
+		}
+		final ZoneId zone = value.getZone();
+		// the region, if any, is written between brackets after the offset
+		return new char[zone instanceof ZoneOffset ? MAX_OFFSET_DATE_TIME_LENGTH : MAX_OFFSET_DATE_TIME_LENGTH + zone.getId().length() + 2];
+	}
+
+	private static int render(ZonedDateTime value, char[] buffer) {
+		final int year = value.getYear();
+		write2Digits(year / 100, buffer, 0);
+		write2Digits(year % 100, buffer, 2);
+		buffer[4] = '-';
+		write2Digits(value.getMonthValue(), buffer, 5);
+		buffer[7] = '-';
+		write2Digits(value.getDayOfMonth(), buffer, 8);
+		buffer[10] = 'T';
+		write2Digits(value.getHour(), buffer, 11);
+		buffer[13] = ':';
+		write2Digits(value.getMinute(), buffer, 14);
+		buffer[16] = ':';
+		write2Digits(value.getSecond(), buffer, 17);
+		int position = 19;
+
+		final ZoneOffset offset = value.getOffset();
+		final int totalSeconds = offset.getTotalSeconds();
+		if (totalSeconds == 0) {
+			buffer[position++] = 'Z';
+		} else {
+			final int absoluteSeconds = Math.abs(totalSeconds);
+			buffer[position++] = totalSeconds < 0 ? '-' : '+';
+			write2Digits(absoluteSeconds / 3600, buffer, position);
+			buffer[position + 2] = ':';
+			write2Digits(absoluteSeconds / 60 % 60, buffer, position + 3);
+			position += 5;
+			if (absoluteSeconds % 60 != 0) {
+				buffer[position] = ':';
+				write2Digits(absoluteSeconds % 60, buffer, position + 1);
+				position += 3;
+			}
+		}
+
+		final ZoneId zone = value.getZone();
+		if (!(zone instanceof ZoneOffset)) {
+			final String zoneId = zone.getId();
+			buffer[position++] = '[';
+			zoneId.getChars(0, zoneId.length(), buffer, position);
+			position += zoneId.length();
+			buffer[position++] = ']';
+		}
+		return position;
+	}
+
+	private static void write2Digits(int value, char[] buffer, int position) {
+		buffer[position] = (char) ('0' + value / 10);
+		buffer[position + 1] = (char) ('0' + value % 10);
+	}
+
+	private static String formatWithFormatter(ZonedDateTime value) {
+		return value.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+	}
+}
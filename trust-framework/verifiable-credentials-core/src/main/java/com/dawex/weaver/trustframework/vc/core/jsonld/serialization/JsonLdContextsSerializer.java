@@ -2,19 +2,32 @@ package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
 
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContext;
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.utils.IdentityCache;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
+/**
+ * Serializes the JSON-LD contexts of a class.
+ * The terms and IRIs of each {@link JsonLdContexts} annotation are encoded once, cached by annotation instance, as well as the last
+ * base IRI.
+ */
 public class JsonLdContextsSerializer extends JsonSerializer<JsonLdContexts> {
 
-	private static final String CONTEXT_BASE = "@base";
+	private static final SerializableString CONTEXT_BASE = new SerializedString("@base");
+
+	private final IdentityCache<JsonLdContexts, EncodedContext[]> encodedContexts = new IdentityCache<>();
 
 	private Supplier<String> baseIri;
 
+	private volatile EncodedBaseIri encodedBaseIri;
+
 	public JsonLdContextsSerializer(Supplier<String> baseIri) {
 		this.baseIri = baseIri;
 	}
@@ -24,11 +37,45 @@ public class JsonLdContextsSerializer extends JsonSerializer<JsonLdContexts> {
 			throws IOException {
 		jsonGenerator.writeStartObject();
 		if (jsonLdContexts.addBaseContext() && baseIri != null) {
-			jsonGenerator.writeStringField(CONTEXT_BASE, baseIri.get());
+			jsonGenerator.writeFieldName(CONTEXT_BASE);
+			writeBaseIri(baseIri.get(), jsonGenerator);
 		}
-		for (JsonLdContext jsonLdContext : jsonLdContexts.value()) {
-			jsonGenerator.writeStringField(jsonLdContext.term(), jsonLdContext.iri());
+		for (EncodedContext encodedContext : encodedContexts.computeIfAbsent(jsonLdContexts, JsonLdContextsSerializer::encode)) {
+			jsonGenerator.writeFieldName(encodedContext.term());
+			jsonGenerator.writeString(encodedContext.iri());
 		}
 		jsonGenerator.writeEndObject();
 	}
+
+	/**
+	 * Writes the base IRI, reusing its encoded form as long as the supplier returns the same value
+	 */
+	private void writeBaseIri(String value, JsonGenerator jsonGenerator) throws IOException {
+		if (value == null) {
+			jsonGenerator.writeNull();
+			return;
+		}
+		EncodedBaseIri current = encodedBaseIri;
+		if (current == null || !current.value().equals(value)) {
+			current = new EncodedBaseIri(value, new SerializedString(value));
+			encodedBaseIri = current;
+		}
+		jsonGenerator.writeString(current.encoded());
+	}
+
+	private static EncodedContext[] encode(JsonLdContexts jsonLdContexts) {
+		return Arrays.stream(jsonLdContexts.value())
+				.map(JsonLdContextsSerializer::encode)
+				.toArray(EncodedContext[]::new);
+	}
+
+	private static EncodedContext encode(JsonLdContext jsonLdContext) {
+		return new EncodedContext(new SerializedString(jsonLdContext.term()), new SerializedString(jsonLdContext.iri()));
+	}
+
+	private record EncodedContext(SerializableString term, SerializableString iri) {
+	}
+
+	private record EncodedBaseIri(String value, SerializableString encoded) {
+	}
 }
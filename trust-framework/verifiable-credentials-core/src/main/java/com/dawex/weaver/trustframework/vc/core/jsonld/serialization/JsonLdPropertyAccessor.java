@@ -0,0 +1,64 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Reads the value of a JSON-LD property from its owning object.
+ * Accessors are generated once per read method, so that the JIT compiler can inline the getters instead of going through
+ * {@link Method#invoke}.
+ */
+@FunctionalInterface
+public interface JsonLdPropertyAccessor {
+
+	Object get(Object target);
+
+	/**
+	 * Creates an accessor calling the specified read method (a record accessor or a getter).
+	 * The accessor is generated with {@link LambdaMetafactory} when the declaring class is accessible, otherwise it falls back on a
+	 * {@link MethodHandle}.
+	 *
+	 * @throws JsonLdSerializationException If the read method is not accessible
+	 */
+	static JsonLdPropertyAccessor of(Method readMethod) {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(readMethod.getDeclaringClass(), MethodHandles.lookup());
+			final MethodHandle getter = lookup.unreflect(readMethod);
+			final CallSite callSite = LambdaMetafactory.metafactory(
+					lookup,
+					"get",
+					MethodType.methodType(JsonLdPropertyAccessor.class),
+					MethodType.methodType(Object.class, Object.class),
+					getter,
+					getter.type().wrap());
+			return (JsonLdPropertyAccessor) callSite.getTarget().invoke();
+		} catch (Throwable e) {
+			return ofMethodHandle(readMethod);
+		}
+	}
+
+	private static JsonLdPropertyAccessor ofMethodHandle(Method readMethod) {
+		final MethodHandle getter;
+		try {
+			getter = MethodHandles.publicLookup().unreflect(readMethod)
+					.asType(MethodType.methodType(Object.class, Object.class));
+		} catch (IllegalAccessException e) {
+			throw new JsonLdSerializationException(e);
+		}
+		return target -> {
+			try {
+				return getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new JsonLdSerializationException(e);
+			}
+		};
+	}
+}
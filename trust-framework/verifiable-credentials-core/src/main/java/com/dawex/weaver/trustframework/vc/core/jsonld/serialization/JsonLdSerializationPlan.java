@@ -0,0 +1,208 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdType;
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable serialization plan of a JSON-LD serializable class.
+ * The plan is resolved once from the class annotations (walking the class hierarchy), then cached and shared by all serializers.
+ * The JSON field names and types are kept pre-encoded, as they are written unchanged for every instance of the class.
+ */
+public final class JsonLdSerializationPlan {
+
+	private static final String FIELD_NAME_FORMAT = "%s:%s";
+
+	private static final String KEYWORD_ID = "@id";
+
+	private static final String GETTER_PREFIX = "get";
+
+	private static final ClassValue<JsonLdSerializationPlan> PLANS = new ClassValue<>() {
+		@Override
+		protected JsonLdSerializationPlan computeValue(Class<?> type) {
+			return new JsonLdSerializationPlan(type);
+		}
+	};
+
+	private final Class<?> targetClass;
+
+	private final JsonLdContexts contexts;
+
+	private final List<String> types;
+
+	private final List<SerializableString> serializedTypes;
+
+	private final List<Property> properties;
+
+	private final Property idProperty;
+
+	private JsonLdSerializationPlan(Class<?> targetClass) {
+		this.targetClass = targetClass;
+		this.contexts = findContexts(targetClass);
+		this.types = findTypes(targetClass);
+		this.serializedTypes = types == null ? null : types.stream().<SerializableString>map(SerializedString::new).toList();
+		final List<Property> resolvedProperties = new ArrayList<>();
+		collectProperties(targetClass, resolvedProperties);
+		this.properties = Collections.unmodifiableList(resolvedProperties);
+		this.idProperty = resolvedProperties.stream()
+				.filter(property -> KEYWORD_ID.equals(property.jsonFieldName().getValue()))
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * Returns the serialization plan of the specified class, resolving it on first use
+	 *
+	 * @throws JsonLdSerializationException If the read method of an annotated field cannot be resolved
+	 */
+	public static JsonLdSerializationPlan of(Class<?> targetClass) {
+		return PLANS.get(targetClass);
+	}
+
+	public Class<?> getTargetClass() {
+		return targetClass;
+	}
+
+	/**
+	 * Returns the JSON-LD contexts declared by the class or its nearest annotated parent class, or null if there is none
+	 */
+	public JsonLdContexts getContexts() {
+		return contexts;
+	}
+
+	/**
+	 * Returns the JSON-LD types declared by the class or its nearest annotated parent class, or null if there is none
+	 */
+	public List<String> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Returns the pre-encoded JSON-LD types, or null if there is none
+	 */
+	public List<SerializableString> getSerializedTypes() {
+		return serializedTypes;
+	}
+
+	/**
+	 * Returns the JSON-LD properties, parent class properties first, then in field declaration order
+	 */
+	public List<Property> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Returns the <code>@id</code> property, or null if there is none
+	 */
+	public Property getIdProperty() {
+		return idProperty;
+	}
+
+	private static JsonLdContexts findContexts(Class<?> targetClass) {
+		for (Class<?> current = targetClass; current != null && current != Object.class; current = current.getSuperclass()) {
+			final JsonLdContexts jsonLdContexts = current.getAnnotation(JsonLdContexts.class);
+			if (jsonLdContexts != null) {
+				return jsonLdContexts;
+			}
+		}
+		return null;
+	}
+
+	private static List<String> findTypes(Class<?> targetClass) {
+		for (Class<?> current = targetClass; current != null && current != Object.class; current = current.getSuperclass()) {
+			final JsonLdType jsonLdType = current.getAnnotation(JsonLdType.class);
+			if (jsonLdType != null) {
+				return List.of(jsonLdType.value());
+			}
+		}
+		return null;
+	}
+
+	private static void collectProperties(Class<?> targetClass, List<Property> properties) {
+		if (targetClass == null || targetClass == Object.class) {
+			return;
+		}
+		// parent class fields first
+		collectProperties(targetClass.getSuperclass(), properties);
+
+		for (Field field : targetClass.getDeclaredFields()) {
+			final JsonLdProperty jsonLdProperty = field.getAnnotation(JsonLdProperty.class);
+			if (jsonLdProperty == null) {
+				continue;
+			}
+			final Method readMethod = getReadMethod(targetClass, field);
+			properties.add(new Property(jsonLdProperty, new SerializedString(getJsonFieldName(jsonLdProperty)), field, readMethod,
+					JsonLdPropertyAccessor.of(readMethod)));
+		}
+	}
+
+	/**
+	 * Resolves the read method of the field as the generated serializers do: the record accessor for records, otherwise the public
+	 * method named after the field, or the getter
+	 */
+	private static Method getReadMethod(Class<?> targetClass, Field field) {
+		if (targetClass.isRecord()) {
+			try {
+				return targetClass.getDeclaredMethod(field.getName());
+			} catch (NoSuchMethodException e) {
+				throw new JsonLdSerializationException(e);
+			}
+		}
+		for (String candidate : List.of(field.getName(), GETTER_PREFIX + capitalize(field.getName()))) {
+			try {
+				final Method method = targetClass.getMethod(candidate);
+				if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+					return method;
+				}
+			} catch (NoSuchMethodException e) {
+				// try the next candidate
+			}
+		}
+		throw new JsonLdSerializationException("No read method found for the JSON-LD property %s of %s"
+				.formatted(field.getName(), targetClass.getName()));
+	}
+
+	/**
+	 * Same capitalization as java.beans, used by the generated serializers to resolve getters
+	 */
+	private static String capitalize(String name) {
+		return name.substring(0, 1).toUpperCase(Locale.ENGLISH) + name.substring(1);
+	}
+
+	private static String getJsonFieldName(JsonLdProperty jsonLdProperty) {
+		return jsonLdProperty.namespace().isEmpty()
+				? jsonLdProperty.value()
+				: FIELD_NAME_FORMAT.formatted(jsonLdProperty.namespace(), jsonLdProperty.value());
+	}
+
+	/**
+	 * A JSON-LD property of the plan, with its annotated field, its resolved read method, the accessor generated for it, and its
+	 * pre-encoded JSON field name
+	 */
+	public record Property(
+			JsonLdProperty jsonLdProperty,
+			SerializableString jsonFieldName,
+			Field field,
+			Method readMethod,
+			JsonLdPropertyAccessor accessor
+	) {
+		public boolean isMandatory() {
+			return jsonLdProperty.mandatory();
+		}
+
+		public String formatName() {
+			return jsonLdProperty.formatName();
+		}
+	}
+}
@@ -3,32 +3,26 @@ package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
 import com.dawex.weaver.trustframework.vc.core.jsonld.CompositeValue;
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
-import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdType;
 import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class JsonLdSerializer<T> extends JsonSerializer<T> {
 
-	private static final String FIELD_CONTEXT = "@context";
+	private static final SerializableString FIELD_CONTEXT = new SerializedString("@context");
 
-	private static final String FIELD_TYPE = "@type";
+	private static final SerializableString FIELD_TYPE = new SerializedString("@type");
 
-	private static final String FIELD_NAME_FORMAT = "%s:%s";
+	private static final SerializableString FIELD_ID = new SerializedString("@id");
 
 	private final Class<T> serializableObjectClass;
 
@@ -47,128 +41,151 @@ public class JsonLdSerializer<T> extends JsonSerializer<T> {
 	@Override
 	public void serialize(T value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
 		jsonGenerator.writeStartObject();
-		writeContext(serializableObjectClass, jsonGenerator);
-		writeType(serializableObjectClass, jsonGenerator);
-		writeJsonLdProperties(value, serializableObjectClass, jsonGenerator);
+		writeSkolemId(jsonGenerator);
+		serializeContents(value, jsonGenerator, serializerProvider);
 		jsonGenerator.writeEndObject();
 	}
 
-	protected void writeContext(Class<?> targetClass, JsonGenerator jsonGenerator) throws IOException {
-		if (targetClass == null || targetClass == Object.class) {
+	/**
+	 * Writes the deterministic IRI of a nested object without <code>@id</code> property, if the skolemization is enabled
+	 *
+	 * @see SkolemIri
+	 */
+	protected void writeSkolemId(JsonGenerator jsonGenerator) throws IOException {
+		if (!isSkolemizationEnabled() || JsonLdSerializationPlan.of(serializableObjectClass).getIdProperty() != null) {
 			return;
 		}
-		final JsonLdContexts jsonLdContexts = targetClass.getAnnotation(JsonLdContexts.class);
-		if (jsonLdContexts == null) {
-			// write context from parent class
-			writeContext(targetClass.getSuperclass(), jsonGenerator);
-		} else {
-			// write context
-			jsonGenerator.writeObjectField(FIELD_CONTEXT, jsonLdContexts);
+		final String skolemId = SkolemIri.of(jsonGenerator);
+		if (skolemId != null) {
+			jsonGenerator.writeFieldName(FIELD_ID);
+			jsonGenerator.writeString(skolemId);
+			SkolemIri.setId(jsonGenerator, skolemId);
 		}
 	}
 
-	protected void writeType(Class<?> targetClass, JsonGenerator jsonGenerator) throws IOException {
-		if (targetClass == null || targetClass == Object.class) {
+	/**
+	 * Writes the JSON-LD context, type and properties of the value, without the enclosing JSON object.
+	 * It allows to merge the value with other properties, as done for {@link com.dawex.weaver.trustframework.vc.core.SignedObject}.
+	 */
+	public void serializeContents(T value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+		final JsonLdSerializationPlan plan = JsonLdSerializationPlan.of(serializableObjectClass);
+		writeContext(plan, jsonGenerator);
+		writeType(plan, jsonGenerator);
+		writeJsonLdProperties(value, plan, jsonGenerator);
+	}
+
+	protected void writeContext(JsonLdSerializationPlan plan, JsonGenerator jsonGenerator) throws IOException {
+		writeContext(plan.getContexts(), jsonGenerator);
+	}
+
+	protected void writeContext(JsonLdContexts jsonLdContexts, JsonGenerator jsonGenerator) throws IOException {
+		if (jsonLdContexts != null) {
+			jsonGenerator.writeFieldName(FIELD_CONTEXT);
+			jsonGenerator.writeObject(jsonLdContexts);
+		}
+	}
+
+	protected void writeType(JsonLdSerializationPlan plan, JsonGenerator jsonGenerator) throws IOException {
+		writeType(plan.getSerializedTypes(), jsonGenerator);
+	}
+
+	/**
+	 * Writes the JSON-LD types: a single string if there is only one type, otherwise an array
+	 *
+	 * @param types the pre-encoded types, or null if there is none
+	 */
+	protected void writeType(List<SerializableString> types, JsonGenerator jsonGenerator) throws IOException {
+		if (types == null) {
 			return;
 		}
-		final JsonLdType jsonLdType = targetClass.getAnnotation(JsonLdType.class);
-		if (jsonLdType == null) {
-			// write type from parent class
-			writeType(targetClass.getSuperclass(), jsonGenerator);
+		jsonGenerator.writeFieldName(FIELD_TYPE);
+		if (types.size() == 1) {
+			jsonGenerator.writeString(types.get(0));
 		} else {
-			// write type
-			jsonGenerator.writeFieldName(FIELD_TYPE);
-			if (jsonLdType.value().length == 1) {
-				jsonGenerator.writeString(jsonLdType.value()[0]);
-			} else {
-				jsonGenerator.writeArray(jsonLdType.value(), 0, jsonLdType.value().length);
+			jsonGenerator.writeStartArray(types, types.size());
+			for (SerializableString type : types) {
+				jsonGenerator.writeString(type);
 			}
+			jsonGenerator.writeEndArray();
 		}
 	}
 
-	protected void writeJsonLdProperties(Object value, Class<?> targetClass, JsonGenerator jsonGenerator) {
-		if (targetClass == null || targetClass == Object.class) {
-			return;
+	protected void writeJsonLdProperties(Object value, JsonLdSerializationPlan plan, JsonGenerator jsonGenerator) {
+		for (JsonLdSerializationPlan.Property property : plan.getProperties()) {
+			writeJsonLdProperty(property.jsonFieldName(), property.formatName(), property.isMandatory(), getPropertyValue(value, property),
+					jsonGenerator);
 		}
-		// write parent class fields
-		writeJsonLdProperties(value, targetClass.getSuperclass(), jsonGenerator);
-
-		// get all fields annotated with @JsonLdProperty
-		Arrays.stream(targetClass.getDeclaredFields())
-				.filter(field -> field.isAnnotationPresent(JsonLdProperty.class))
-				.map(field -> new FieldContext(field.getAnnotation(JsonLdProperty.class), getReadMethod(targetClass, field)))
-				.filter(FieldContext::isValid)
-				.forEach(context -> writeJsonLdProperty(value, context.jsonLdProperty, context.readMethod(), jsonGenerator));
 	}
 
-	private static Method getReadMethod(Class<?> targetClass, Field field) {
+	/**
+	 * Writes a JSON-LD property, unless its value is null and the property is not mandatory
+	 *
+	 * @param jsonFieldName the pre-encoded JSON field name, prefixed by the namespace if any
+	 * @param formatName    the format name, see {@link JsonLdProperty#formatName()}
+	 * @param mandatory     true if the property must be written even if its value is null
+	 * @param value         the property value
+	 */
+	protected void writeJsonLdProperty(SerializableString jsonFieldName, String formatName, boolean mandatory, Object value,
+			JsonGenerator jsonGenerator) {
+		if (value == null && !mandatory) {
+			return;
+		}
 		try {
-			if (targetClass.isRecord()) {
-				return targetClass.getDeclaredMethod(field.getName());
+			jsonGenerator.writeFieldName(jsonFieldName);
+			if (value instanceof ZonedDateTime valueDateTime) {
+				IsoDateTimeWriter.write(valueDateTime, jsonGenerator);
+				return;
+			}
+			final Object jsonFieldValue = getJsonFieldValue(formatName, value);
+			if (jsonFieldValue instanceof String jsonFieldString) {
+				jsonGenerator.writeString(jsonFieldString);
+				if (isSkolemizationEnabled() && FIELD_ID.getValue().equals(jsonFieldName.getValue())) {
+					SkolemIri.setId(jsonGenerator, jsonFieldString);
+				}
 			} else {
-				return new PropertyDescriptor(field.getName(), targetClass, field.getName(), null).getReadMethod();
+				jsonGenerator.writeObject(jsonFieldValue);
 			}
-		} catch (NoSuchMethodException | IntrospectionException e) {
+		} catch (IOException e) {
 			throw new JsonLdSerializationException(e);
 		}
 	}
 
-	private void writeJsonLdProperty(Object obj, JsonLdProperty jsonLdProperty, Method getterMethod, JsonGenerator jsonGenerator) {
+	private static Object getPropertyValue(Object obj, JsonLdSerializationPlan.Property property) {
 		try {
-			final Object value = getterMethod.invoke(obj);
-
-			if (value == null && !jsonLdProperty.mandatory()) {
-				return;
-			}
-			jsonGenerator.writeObjectField(getJsonFieldName(jsonLdProperty), getJsonFieldValue(jsonLdProperty, value));
-
-		} catch (IllegalAccessException | InvocationTargetException | IOException e) {
+			return property.accessor().get(obj);
+		} catch (JsonLdSerializationException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			// keep the same exception type as a failing getter called by reflection
 			throw new JsonLdSerializationException(e);
 		}
 	}
 
-	private String getJsonFieldName(JsonLdProperty jsonLdProperty) {
-		return jsonLdProperty.namespace().isEmpty()
-				? jsonLdProperty.value()
-				: FIELD_NAME_FORMAT.formatted(jsonLdProperty.namespace(), jsonLdProperty.value());
-	}
-
-	private Object getJsonFieldValue(JsonLdProperty jsonLdProperty, Object value) {
+	private Object getJsonFieldValue(String formatName, Object value) {
 		if (value == null) {
 			return null;
 		}
 		if (value instanceof String valueString) {
-			return getFormat(jsonLdProperty.formatName())
-					.map(format -> format.formatted(valueString))
-					.orElse(valueString);
+			final FormatTemplate template = getTemplate(formatName);
+			return template == null ? valueString : template.apply(valueString);
 		}
 		if (value instanceof CompositeValue compositeValue) {
-			return getFormat(jsonLdProperty.formatName())
-					.map(format -> (Object) format.formatted(compositeValue.getValues()))
-					.orElse(Arrays.stream(compositeValue.getValues()).map(String::valueOf).collect(Collectors.joining(",")));
-		}
-		if (value instanceof ZonedDateTime valueDateTime) {
-			return valueDateTime.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+			final FormatTemplate template = getTemplate(formatName);
+			return template == null
+					? Arrays.stream(compositeValue.getValues()).map(String::valueOf).collect(Collectors.joining(","))
+					: template.apply(compositeValue.getValues());
 		}
 		return value;
 	}
 
-	private Optional<String> getFormat(String formatName) {
-		if (formatProvider == null || formatName == null || formatName.isEmpty()) {
-			return Optional.empty();
-		}
-		return formatProvider.getFormat(formatName);
+	private boolean isSkolemizationEnabled() {
+		return formatProvider != null && formatProvider.isSkolemizationEnabled();
 	}
 
-	/**
-	 * Helper record used for serializing JSON-LD properties
-	 */
-	private record FieldContext(
-			JsonLdProperty jsonLdProperty,
-			Method readMethod
-	) {
-		public boolean isValid() {
-			return readMethod != null;
+	private FormatTemplate getTemplate(String formatName) {
+		if (formatProvider == null || formatName == null || formatName.isEmpty()) {
+			return null;
 		}
+		return formatProvider.getTemplate(formatName).orElse(null);
 	}
 }
@@ -0,0 +1,77 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+/**
+ * Deterministic IRIs of the nested objects without <code>@id</code> property, when the skolemization is enabled by the
+ * {@link FormatProvider#isSkolemizationEnabled() format provider}.
+ * <p>
+ * The IRI of a nested object is the <code>@id</code> of its nearest enclosing object, followed by the property path to the nested
+ * object: the JSON field names, and the indexes in the arrays, separated by <code>/</code>. The path is appended as a fragment,
+ * or to the fragment if the parent <code>@id</code> already has one: for example <code>./organisations/1#gax-participant:legalAddress</code>,
+ * or <code>./products/1#gax-service:aggregationOf/0/dawex:distribution/2</code>.
+ * The enclosing object must have an <code>@id</code> which is not a blank node identifier, or a skolemized IRI itself; otherwise the
+ * nested object remains a blank node. The indexes follow the iteration order of the collections, which must then be stable.
+ */
+public final class SkolemIri {
+
+	private static final String BLANK_NODE_PREFIX = "_:";
+
+	private static final char FRAGMENT_DELIMITER = '#';
+
+	private static final char PATH_DELIMITER = '/';
+
+	private SkolemIri() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns the IRI of the nested object at the specified property path, or null if the parent is a blank node
+	 *
+	 * @param parentId     the <code>@id</code> of the enclosing object, as written in the JSON-LD document, or null if there is none
+	 * @param propertyPath the JSON field name of the property, followed by the array indexes if any
+	 */
+	public static String of(String parentId, String propertyPath) {
+		if (parentId == null || parentId.startsWith(BLANK_NODE_PREFIX)) {
+			return null;
+		}
+		return parentId + (parentId.indexOf(FRAGMENT_DELIMITER) == -1 ? FRAGMENT_DELIMITER : PATH_DELIMITER) + propertyPath;
+	}
+
+	/**
+	 * Returns the property path of an element of an array
+	 */
+	public static String element(String propertyPath, int index) {
+		return propertyPath + PATH_DELIMITER + index;
+	}
+
+	/**
+	 * Records the <code>@id</code> of the object being written, for its nested objects
+	 */
+	static void setId(JsonGenerator jsonGenerator, String id) {
+		jsonGenerator.getOutputContext().setCurrentValue(new WrittenId(id));
+	}
+
+	/**
+	 * Returns the IRI of the object being written, from the <code>@id</code> recorded for its enclosing object, or null if it has
+	 * no enclosing object, or if the enclosing object has no recorded <code>@id</code>
+	 */
+	static String of(JsonGenerator jsonGenerator) {
+		// the array indexes, from the innermost
+		final StringBuilder indexes = new StringBuilder();
+		for (JsonStreamContext parent = jsonGenerator.getOutputContext().getParent(); parent != null; parent = parent.getParent()) {
+			if (parent.inArray()) {
+				indexes.insert(0, parent.getCurrentIndex()).insert(0, PATH_DELIMITER);
+			} else if (parent.inObject()) {
+				return parent.getCurrentValue() instanceof WrittenId writtenId ? of(writtenId.id(), parent.getCurrentName() + indexes) : null;
+			} else {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private record WrittenId(String id) {
+	}
+}
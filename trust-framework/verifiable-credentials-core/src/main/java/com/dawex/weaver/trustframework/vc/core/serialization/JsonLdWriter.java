@@ -0,0 +1,117 @@
+package com.dawex.weaver.trustframework.vc.core.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Serializes JSON-LD documents (verifiable credentials, signed objects) in UTF-8, straight to a byte destination.
+ * <p>
+ * Unlike <code>ObjectMapper.writeValueAsString</code>, no intermediate String nor char array is built: the generator encodes the
+ * document in its own recycled buffer, then flushes it to the destination. The bytes are the same as the UTF-8 encoding of
+ * <code>writeValueAsString</code>, and can be signed with the byte array or stream overloads of
+ * {@link com.dawex.weaver.trustframework.vc.core.ProofGenerator}.
+ * <p>
+ * The destinations are never closed. The writer is immutable and can be shared between threads.
+ */
+public final class JsonLdWriter {
+
+	private final ObjectWriter objectWriter;
+
+	/**
+	 * @param objectMapper the object mapper, configured with the JSON-LD serialization modules
+	 */
+	public JsonLdWriter(ObjectMapper objectMapper) {
+		this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	/**
+	 * Writes the document to the output stream
+	 *
+	 * @throws JsonLdSerializationException If an error occurs during the serialization or while writing to the stream
+	 */
+	public void write(Object value, OutputStream outputStream) {
+		try {
+			objectWriter.writeValue(outputStream, value);
+		} catch (IOException e) {
+			throw new JsonLdSerializationException(e);
+		}
+	}
+
+	/**
+	 * Writes the document to the channel
+	 *
+	 * @throws JsonLdSerializationException If an error occurs during the serialization or while writing to the channel
+	 */
+	public void write(Object value, WritableByteChannel channel) {
+		write(value, Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Writes the document to the buffer, starting at its current position, typically a buffer taken from a pool.
+	 * On success, the position is moved after the last byte written; otherwise it is left unchanged.
+	 *
+	 * @return the number of bytes written
+	 * @throws BufferOverflowException      If the remaining space of the buffer is not large enough for the document
+	 * @throws JsonLdSerializationException If an error occurs during the serialization
+	 */
+	public int write(Object value, ByteBuffer buffer) {
+		final int start = buffer.position();
+		try {
+			write(value, new ByteBufferOutputStream(buffer));
+		} catch (RuntimeException e) {
+			buffer.position(start);
+			// Jackson wraps the exceptions thrown by the destination
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof BufferOverflowException) {
+					throw new BufferOverflowException();
+				}
+			}
+			throw e;
+		}
+		return buffer.position() - start;
+	}
+
+	/**
+	 * Returns the document serialized in UTF-8
+	 *
+	 * @throws JsonLdSerializationException If an error occurs during the serialization
+	 */
+	public byte[] writeAsBytes(Object value) {
+		try {
+			return objectWriter.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new JsonLdSerializationException(e);
+		}
+	}
+
+	/**
+	 * Output stream writing to a byte buffer, without ever growing it
+	 */
+	private static class ByteBufferOutputStream extends OutputStream {
+
+		private final ByteBuffer buffer;
+
+		private ByteBufferOutputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public void write(int b) {
+			buffer.put((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			buffer.put(bytes, offset, length);
+		}
+	}
+}
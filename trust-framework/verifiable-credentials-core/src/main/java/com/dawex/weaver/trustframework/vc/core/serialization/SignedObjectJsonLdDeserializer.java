@@ -0,0 +1,85 @@
+package com.dawex.weaver.trustframework.vc.core.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.Proof;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jsonld.deserialization.JsonLdDeserializer;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a signed object, whose payload properties are merged with the proof.
+ * The payload type is taken from the requested type, e.g. <code>new TypeReference&lt;SignedObject&lt;Foo&gt;&gt;() {}</code>.
+ * When the payload has a {@link JsonLdDeserializer}, the object is read in a single pass, the proof being picked among the payload
+ * properties.
+ */
+public class SignedObjectJsonLdDeserializer extends JsonDeserializer<SignedObject<?>> implements ContextualDeserializer {
+
+	private static final String FIELD_PROOF = JsonLdSerializationPlan.of(SignedObject.class).getProperties().stream()
+			.filter(property -> "proof".equals(property.field().getName()))
+			.findFirst()
+			.orElseThrow()
+			.jsonFieldName().getValue();
+
+	private final JavaType payloadType;
+
+	private final JsonDeserializer<Object> payloadDeserializer;
+
+	public SignedObjectJsonLdDeserializer() {
+		this(null, null);
+	}
+
+	private SignedObjectJsonLdDeserializer(JavaType payloadType, JsonDeserializer<Object> payloadDeserializer) {
+		this.payloadType = payloadType;
+		this.payloadDeserializer = payloadDeserializer;
+	}
+
+	@Override
+	public Class<?> handledType() {
+		return SignedObject.class;
+	}
+
+	@Override
+	public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+		final JavaType contextualType = property == null ? ctxt.getContextualType() : property.getType();
+		if (contextualType == null || contextualType.containedTypeCount() == 0 || contextualType.containedType(0).isJavaLangObject()) {
+			return this;
+		}
+		final JavaType contextualPayloadType = contextualType.containedType(0);
+		return new SignedObjectJsonLdDeserializer(contextualPayloadType,
+				ctxt.findContextualValueDeserializer(contextualPayloadType, property));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public SignedObject<?> deserialize(JsonParser jsonParser, DeserializationContext ctxt) throws IOException {
+		if (payloadDeserializer == null) {
+			return (SignedObject<?>) ctxt.reportBadDefinition(SignedObject.class,
+					"The payload type of the signed object is unknown, it must be specified in the requested type");
+		}
+		if (payloadDeserializer instanceof JsonLdDeserializer<?> jsonLdDeserializer) {
+			final Proof[] proof = new Proof[1];
+			final Object payload = ((JsonLdDeserializer<Object>) jsonLdDeserializer).deserializeProperties(jsonParser, ctxt,
+					(fieldName, parser, context) -> {
+						if (!FIELD_PROOF.equals(fieldName)) {
+							return false;
+						}
+						proof[0] = context.readValue(parser, Proof.class);
+						return true;
+					});
+			return new SignedObject<>(payload, proof[0]);
+		}
+		// the payload is read from a tree, without the proof
+		final ObjectNode tree = ctxt.readValue(jsonParser, ObjectNode.class);
+		final Proof proof = ctxt.readTreeAsValue(tree.remove(FIELD_PROOF), Proof.class);
+		return new SignedObject<>(ctxt.readTreeAsValue(tree, payloadType), proof);
+	}
+}
@@ -2,12 +2,16 @@ package com.dawex.weaver.trustframework.vc.core.serialization;
 
 import com.dawex.weaver.trustframework.vc.core.SignedObject;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
 
+// registered for the raw SignedObject class, whatever the payload type
+@SuppressWarnings("rawtypes")
 public class SignedObjectJsonLdSerializer extends JsonLdSerializer<SignedObject> {
 
 	public SignedObjectJsonLdSerializer(FormatProvider formatProvider) {
@@ -16,12 +20,25 @@ public class SignedObjectJsonLdSerializer extends JsonLdSerializer<SignedObject>
 
 	@Override
 	public void serialize(SignedObject value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
-		final Class<?> serializablePayloadClass = value.payload().getClass();
 		jsonGenerator.writeStartObject();
-		writeContext(serializablePayloadClass, jsonGenerator);
-		writeType(serializablePayloadClass, jsonGenerator);
-		writeJsonLdProperties(value.payload(), serializablePayloadClass, jsonGenerator);
-		writeJsonLdProperties(value, SignedObject.class, jsonGenerator);
+		writePayload(value.payload(), jsonGenerator, serializerProvider);
+		writeJsonLdProperties(value, JsonLdSerializationPlan.of(SignedObject.class), jsonGenerator);
 		jsonGenerator.writeEndObject();
 	}
+
+	/**
+	 * Writes the payload properties, using the JSON-LD serializer registered for the payload class if any
+	 */
+	@SuppressWarnings("unchecked")
+	private void writePayload(Object payload, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+		final JsonSerializer<Object> payloadSerializer = serializerProvider.findValueSerializer(payload.getClass());
+		if (payloadSerializer instanceof JsonLdSerializer<?> jsonLdSerializer) {
+			((JsonLdSerializer<Object>) jsonLdSerializer).serializeContents(payload, jsonGenerator, serializerProvider);
+		} else {
+			final JsonLdSerializationPlan payloadPlan = JsonLdSerializationPlan.of(payload.getClass());
+			writeContext(payloadPlan, jsonGenerator);
+			writeType(payloadPlan, jsonGenerator);
+			writeJsonLdProperties(payload, payloadPlan, jsonGenerator);
+		}
+	}
 }
@@ -0,0 +1,104 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import com.apicatalog.jsonld.context.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe cache holding at most a maximum number of entries. Once full, adding an entry evicts the least recently used entries,
+ * until an eighth of the cache is free again.
+ * <p>
+ * Reading an entry does not lock: it only stamps the entry with the number of entries added so far, which is written once per
+ * addition, so that a hot entry read by many threads is not written again. The evictions are serialized, and scan the entries.
+ */
+public class BoundedCache<K, V> implements Cache<K, V> {
+
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	private final AtomicLong additions = new AtomicLong();
+
+	private final Object evictionLock = new Object();
+
+	private final int maxSize;
+
+	public BoundedCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		return entries.containsKey(key);
+	}
+
+	@Override
+	public V get(K key) {
+		final Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		final long lastAddition = additions.get();
+		if (entry.lastAccess != lastAddition) {
+			entry.lastAccess = lastAddition;
+		}
+		return entry.value;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		entries.put(key, new Entry<>(value, additions.incrementAndGet()));
+		if (entries.size() > maxSize) {
+			evict();
+		}
+	}
+
+	public void remove(K key) {
+		entries.remove(key);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void evict() {
+		synchronized (evictionLock) {
+			if (entries.size() <= maxSize) {
+				return;
+			}
+			final List<Map.Entry<K, Entry<V>>> leastRecentlyUsed = new ArrayList<>(entries.entrySet());
+			leastRecentlyUsed.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+			final int targetSize = maxSize - maxSize / 8;
+			for (int i = 0; i < leastRecentlyUsed.size() && entries.size() > targetSize; i++) {
+				// an entry replaced in the meantime is kept
+				entries.remove(leastRecentlyUsed.get(i).getKey(), leastRecentlyUsed.get(i).getValue());
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedCache{" +
+				"maxSize=" + maxSize +
+				", size=" + entries.size() +
+				'}';
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+
+		private volatile long lastAccess;
+
+		Entry(V value, long lastAccess) {
+			this.value = value;
+			this.lastAccess = lastAccess;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache of values computed from their keys, compared by identity, for a few long-lived keys such as annotations: an
+ * annotation is a proxy whose <code>hashCode</code> and <code>equals</code> walk its members, whereas the same instance is returned for
+ * a class by {@link Class#getAnnotation(Class)}.
+ * <p>
+ * Reading a value does not lock: the entries are held in an immutable map, copied once per added key.
+ */
+public class IdentityCache<K, V> {
+
+	private volatile Map<K, V> entries = new IdentityHashMap<>();
+
+	/**
+	 * Returns the value of the key, computing it if it is not cached yet
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+		final V value = entries.get(key);
+		return value != null ? value : compute(key, function);
+	}
+
+	private synchronized V compute(K key, Function<? super K, ? extends V> function) {
+		final V cachedValue = entries.get(key);
+		if (cachedValue != null) {
+			return cachedValue;
+		}
+		final V value = Objects.requireNonNull(function.apply(key), "value");
+		final Map<K, V> copy = new IdentityHashMap<>(entries);
+		copy.put(key, value);
+		entries = copy;
+		return value;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public String toString() {
+		return "IdentityCache{" +
+				"size=" + entries.size() +
+				'}';
+	}
+}
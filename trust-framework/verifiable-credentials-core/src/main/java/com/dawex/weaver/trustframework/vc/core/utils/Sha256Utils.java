@@ -0,0 +1,51 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes SHA-256 digests, and encodes them in hexadecimal or in Base64URL
+ */
+public final class Sha256Utils {
+
+	private static final String HASH_ALGORITHM_SHA256 = "SHA-256";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private Sha256Utils() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns a new SHA-256 message digest, which is not thread-safe: the callers hashing many values keep one per thread
+	 */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM_SHA256);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns the Base64URL SHA-256 digest of the bytes, as the thumbprints of the JOSE headers are encoded
+	 */
+	public static String toBase64UrlDigest(byte[] bytes) {
+		return Base64URL.encode(newDigest().digest(bytes)).toString();
+	}
+
+	/**
+	 * Converts a byte array to a lowercase hexadecimal String
+	 */
+	public static String toHex(byte[] bytes) {
+		final char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+		}
+		return new String(hex);
+	}
+}
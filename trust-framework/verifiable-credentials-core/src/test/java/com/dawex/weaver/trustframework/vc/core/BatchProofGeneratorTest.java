@@ -0,0 +1,188 @@
+package com.dawex.weaver.trustframework.vc.core;
+
+import com.dawex.weaver.trustframework.vc.core.BatchProofGenerator.SigningResult;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.JcsCanonicalizer;
+import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.Keyring;
+import com.dawex.weaver.trustframework.vc.core.jose.SignatureConfiguration;
+import com.dawex.weaver.trustframework.vc.core.serialization.JsonLdWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchProofGeneratorTest {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final JsonLdWriter JSON_LD_WRITER = new JsonLdWriter(OBJECT_MAPPER);
+
+	private static Keyring keyring;
+
+	private static String keyId;
+
+	private static ExecutorService executor;
+
+	private static BatchProofGenerator batchProofGenerator;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		final JWK jwk = JWKSet.parse(Constant.JWK_SET).getKeys().get(0);
+		keyring = Keyring.builder().key(jwk).build();
+		keyId = jwk.getKeyID();
+		executor = Executors.newFixedThreadPool(4);
+		batchProofGenerator = BatchProofGenerator.builder()
+				.signer(keyring.getSigner(keyId))
+				.verificationMethod("verificationMethod")
+				.jsonLdWriter(JSON_LD_WRITER)
+				.executor(executor)
+				.maxInFlight(3)
+				.build();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void shouldGenerateProofsInTheOrderOfTheDocuments() throws Exception {
+		// given
+		final List<Map<String, Object>> payloads = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			payloads.add(getDocument("Participant " + i));
+		}
+
+		// when
+		final List<SigningResult<Map<String, Object>>> actual = batchProofGenerator.generateProofs(payloads);
+
+		// then
+		assertThat(actual).hasSize(payloads.size());
+		for (int i = 0; i < payloads.size(); i++) {
+			final SigningResult<Map<String, Object>> result = actual.get(i);
+			assertThat(result.index()).isEqualTo(i);
+			assertThat(result.payload()).isSameAs(payloads.get(i));
+			assertThat(result.isSuccess()).isTrue();
+			assertThat(result.signedObject().payload()).isSameAs(payloads.get(i));
+			final Proof proof = result.signedObject().proof();
+			assertThat(proof.type()).isEqualTo(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020);
+			assertThat(proof.verificationMethod()).isEqualTo("verificationMethod");
+			assertThat(JsonWebSignatureUtils.isSignatureValid(proof.jws(), JSON_LD_WRITER.writeAsBytes(payloads.get(i)),
+					keyring.getVerifier(keyId), proof.type())).isTrue();
+		}
+	}
+
+	@Test
+	void shouldReportTheDocumentWhichCannotBeSignedWithoutFailingTheOthers() throws Exception {
+		// given
+		final Map<String, Object> invalidDocument = getDocument("Invalid");
+		invalidDocument.put("@context", 42);
+		final List<Map<String, Object>> payloads = List.of(getDocument("First"), invalidDocument, getDocument("Last"));
+
+		// when
+		final List<SigningResult<Map<String, Object>>> actual = batchProofGenerator.generateProofs(payloads);
+
+		// then
+		assertThat(actual).extracting(SigningResult::isSuccess).containsExactly(true, false, true);
+		assertThat(actual.get(1).payload()).isSameAs(invalidDocument);
+		assertThat(actual.get(1).signedObject()).isNull();
+		assertThat(actual.get(1).error()).isNotNull();
+	}
+
+	@Test
+	void shouldReportTheErrorOfADocumentWithoutFailingTheOthers() throws Exception {
+		// given
+		final BatchProofGenerator defaultExecutorBatchProofGenerator = BatchProofGenerator.builder()
+				.signer(keyring.getSigner(keyId))
+				.verificationMethod("verificationMethod")
+				.jsonLdWriter(JSON_LD_WRITER)
+				.build();
+		final Map<String, Object> overflowingDocument = getDocument("Overflowing");
+		overflowingDocument.put("https://dawex.com/name", new OverflowingName());
+		final List<Map<String, Object>> payloads = List.of(getDocument("First"), overflowingDocument, getDocument("Last"));
+
+		// when
+		final List<SigningResult<Map<String, Object>>> actual = defaultExecutorBatchProofGenerator.generateProofs(payloads);
+
+		// then
+		assertThat(actual).extracting(SigningResult::isSuccess).containsExactly(true, false, true);
+		assertThat(actual.get(1).error()).isInstanceOf(StackOverflowError.class);
+	}
+
+	@Test
+	void shouldSignTheStreamedDocumentsAsTheResultsAreConsumed() throws Exception {
+		// given
+		final Map<String, Object> document = getDocument("Streamed");
+		final AtomicBoolean closed = new AtomicBoolean();
+		final Stream<Map<String, Object>> payloads = IntStream.range(0, 1000)
+				.mapToObj(i -> document)
+				.onClose(() -> closed.set(true));
+
+		// when
+		final List<SigningResult<Map<String, Object>>> actual;
+		try (Stream<SigningResult<Map<String, Object>>> results = batchProofGenerator.generateProofs(payloads)) {
+			actual = results.limit(5).toList();
+		}
+
+		// then
+		assertThat(actual).extracting(SigningResult::index).containsExactly(0L, 1L, 2L, 3L, 4L);
+		assertThat(actual).allMatch(SigningResult::isSuccess);
+		assertThat(closed).isTrue();
+	}
+
+	@Test
+	void shouldCanonicalizeTheDocumentsWithTheCanonicalizerOfTheConfiguration() throws Exception {
+		// given
+		final SignatureConfiguration configuration = SignatureConfiguration.builder()
+				.canonicalizer("JcsSignature2023", new JcsCanonicalizer())
+				.build();
+		final BatchProofGenerator jcsBatchProofGenerator = BatchProofGenerator.builder()
+				.signer(keyring.getSigner(keyId))
+				.proofType("JcsSignature2023")
+				.configuration(configuration)
+				.jsonLdWriter(JSON_LD_WRITER)
+				.executor(executor)
+				.build();
+		final Map<String, Object> document = getDocument("Jcs");
+
+		// when
+		final List<SigningResult<Map<String, Object>>> actual = jcsBatchProofGenerator.generateProofs(List.of(document));
+
+		// then
+		assertThat(actual).singleElement().satisfies(result -> {
+			assertThat(result.isSuccess()).isTrue();
+			assertThat(JsonWebSignatureUtils.isSignatureValid(result.signedObject().proof().jws(), JSON_LD_WRITER.writeAsBytes(document),
+					keyring.getVerifier(keyId), "JcsSignature2023", configuration)).isTrue();
+		});
+	}
+
+	private static Map<String, Object> getDocument(String name) throws Exception {
+		final Map<String, Object> document = OBJECT_MAPPER.readValue(Constant.JSON_LD, new TypeReference<>() {
+		});
+		final Map<String, Object> copy = new HashMap<>(document);
+		copy.put("@id", "https://dawex.com/" + name.replace(' ', '-'));
+		return copy;
+	}
+
+	public static class OverflowingName {
+
+		public String getValue() {
+			throw new StackOverflowError();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.OfflineDocumentLoader;
+import io.setl.rdf.normalization.RdfNormalize;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanonicalDigestTest {
+
+	@Test
+	void shouldHashSameAsNQuadsString() throws Exception {
+		// given
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader("""
+				{
+				  "@context": {"@base": "https://dawex.com", "gax-participant": "https://w3id.org/gaia-x/participant#"},
+				  "@id": "./organisations/1",
+				  "gax-participant:name": "Société \\"Dawex\\"\\n東京",
+				  "gax-participant:headquarterAddress": {"gax-participant:country-name": "ESP"}
+				}"""))).get();
+		final StringWriter writer = new StringWriter();
+		RdfProvider.provider().createWriter(MediaType.N_QUADS, writer).write(RdfNormalize.normalize(rdfDataset));
+		final byte[] expected = MessageDigest.getInstance("SHA-256").digest(writer.toString().getBytes(StandardCharsets.UTF_8));
+		final Canonicalizer canonicalizer = new Urdna2015Canonicalizer(JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build()));
+
+		// when
+		final String actual = canonicalizer.digest(rdfDataset);
+
+		// then
+		assertThat(actual).isEqualTo("%064x".formatted(new BigInteger(1, expected)));
+		assertThat(canonicalizer.digest(rdfDataset)).isEqualTo(actual);
+	}
+}
@@ -0,0 +1,95 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.Rdf;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JcsCanonicalizerTest {
+
+	private final JcsCanonicalizer canonicalizer = new JcsCanonicalizer();
+
+	@Test
+	void shouldSortMembersAndRemoveWhitespace() throws Exception {
+		// given, from RFC 8785 sections 3.2.2 and 3.2.3
+		final JsonDocument json = JsonDocument.of(new StringReader("""
+				{
+				  "numbers": [333333333.33333329, 1E30, 4.50, 2e-3, 0.000000000000000000000000001],
+				  "string": "\\u20ac$\\u000F\\u000aA'\\u0042\\u0022\\u005c\\\\\\"\\/",
+				  "literals": [null, true, false],
+				  "\\u20ac": "Euro Sign",
+				  "\\r": "Carriage Return",
+				  "\\ufb33": "Hebrew Letter Dalet With Dagesh",
+				  "1": "One",
+				  "\\ud83d\\ude00": "Emoji: Grinning Face",
+				  "\\u0080": "Control",
+				  "\\u00f6": "Latin Small Letter O With Diaeresis"
+				}"""));
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		canonicalizer.canonicalize(json, output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				{"\\r":"Carriage Return","1":"One","literals":[null,true,false],\
+				"numbers":[333333333.3333333,1e+30,4.5,0.002,1e-27],\
+				"string":"€$\\u000f\\nA'B\\"\\\\\\\\\\"/",\
+				"\u0080":"Control","ö":"Latin Small Letter O With Diaeresis","€":"Euro Sign",\
+				"😀":"Emoji: Grinning Face","דּ":"Hebrew Letter Dalet With Dagesh"}""");
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			// from RFC 8785 appendix B
+			"0000000000000000, 0",
+			"8000000000000000, 0",
+			"0000000000000001, 5e-324",
+			"8000000000000001, -5e-324",
+			"7fefffffffffffff, 1.7976931348623157e+308",
+			"ffefffffffffffff, -1.7976931348623157e+308",
+			"4340000000000000, 9007199254740992",
+			"c340000000000000, -9007199254740992",
+			"4430000000000000, 295147905179352830000",
+			"44b52d02c7e14af5, 9.999999999999997e+22",
+			"44b52d02c7e14af6, 1e+23",
+			"44b52d02c7e14af7, 1.0000000000000001e+23",
+			"444b1ae4d6e2ef4e, 999999999999999700000",
+			"444b1ae4d6e2ef4f, 999999999999999900000",
+			"444b1ae4d6e2ef50, 1e+21",
+			"3eb0c6f7a0b5ed8c, 9.999999999999997e-7",
+			"3eb0c6f7a0b5ed8d, 0.000001",
+			"41b3de4355555553, 333333333.3333332",
+			"41b3de4355555554, 333333333.33333325",
+			"41b3de4355555555, 333333333.3333333",
+			"41b3de4355555556, 333333333.3333334",
+			"41b3de4355555557, 333333333.33333343",
+			"becbf647612f3696, -0.0000033333333333333333",
+			"43143ff3c1cb0959, 1424953923781206.2"
+	})
+	void shouldFormatNumbersAsEcmaScript(String bits, String expected) {
+		// given
+		final double value = Double.longBitsToDouble(Long.parseUnsignedLong(bits, 16));
+
+		// when
+		final String actual = JcsCanonicalizer.formatNumber(value);
+
+		// then
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	void shouldNotCanonicalizeRdfDataset() {
+		assertThatThrownBy(() -> canonicalizer.canonicalize(Rdf.createDataset(), new ByteArrayOutputStream()))
+				.isInstanceOf(CanonicalizationException.class);
+	}
+}
@@ -0,0 +1,139 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.lang.XsdConstants;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException.Reason;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.OfflineDocumentLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Rdfc10CanonicalizerTest {
+
+	private static final JsonLdRdfConverter CONVERTER = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build());
+
+	@Test
+	void shouldWriteSameNQuadsAsUrdna2015WithoutControlCharacters() throws Exception {
+		// given
+		final JsonDocument jsonLd = JsonDocument.of(new StringReader("""
+				{
+				  "@context": {"@base": "https://dawex.com", "ex": "https://example.com/vocab#"},
+				  "@id": "./organisations/1",
+				  "ex:name": ["Société \\"Dawex\\"\\nLyon", {"@value": "hola", "@language": "es"}],
+				  "ex:count": 3,
+				  "ex:address": [{"ex:country": "ESP"}, {"ex:country": "FRA"}]
+				}"""));
+
+		// when
+		final String actual = canonicalize(new Rdfc10Canonicalizer(CONVERTER), jsonLd);
+
+		// then
+		assertThat(actual)
+				.isEqualTo(canonicalize(new Urdna2015Canonicalizer(CONVERTER), jsonLd))
+				.contains("_:c14n0", "\"hola\"@es", "\"3\"^^<http://www.w3.org/2001/XMLSchema#integer>");
+	}
+
+	@Test
+	void shouldEscapeControlCharacters() throws Exception {
+		// given
+		final RdfDataset rdfDataset = Rdf.createDataset().add(Rdf.createNQuad(
+				Rdf.createIRI("https://dawex.com/a"),
+				Rdf.createIRI("https://example.com/vocab#name"),
+				Rdf.createTypedString("tab\tbell\u0007vt\u000Bdel\u007Fé", XsdConstants.STRING),
+				null));
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new Rdfc10Canonicalizer(CONVERTER).canonicalize(rdfDataset, output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+				"<https://dawex.com/a> <https://example.com/vocab#name> \"tab\\tbell\\u0007vt\\u000Bdel\\u007Fé\" .\n");
+	}
+
+	@Test
+	void shouldLabelBlankNodesFromCanonicalNQuads() throws Exception {
+		// given
+		// the first degree hash of the blank node with a bell character is the highest one with the RDFC-1.0 escaping, and the lowest
+		// one without it, as URDNA2015 does
+		final RdfDataset rdfDataset = Rdf.createDataset()
+				.add(Rdf.createNQuad(Rdf.createBlankNode("_:x"), Rdf.createIRI("https://example.com/vocab#name"),
+						Rdf.createTypedString("bell\u00073", XsdConstants.STRING), null))
+				.add(Rdf.createNQuad(Rdf.createBlankNode("_:y"), Rdf.createIRI("https://example.com/vocab#name"),
+						Rdf.createTypedString("bell3", XsdConstants.STRING), null));
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new Rdfc10Canonicalizer(CONVERTER).canonicalize(rdfDataset, output);
+		final ByteArrayOutputStream urdna2015Output = new ByteArrayOutputStream();
+		new Urdna2015Canonicalizer(CONVERTER).canonicalize(rdfDataset, urdna2015Output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				_:c14n0 <https://example.com/vocab#name> "bell3" .
+				_:c14n1 <https://example.com/vocab#name> "bell\\u00073" .
+				""");
+		assertThat(urdna2015Output.toString(StandardCharsets.UTF_8))
+				.startsWith("_:c14n0 <https://example.com/vocab#name> \"bell\\u00073\" .\n");
+	}
+
+	@Test
+	void shouldSortInCodePointOrder() throws Exception {
+		// given
+		// U+FB33 is before U+1F600 in the code point order, but after its surrogates in the UTF-16 order
+		final RdfDataset rdfDataset = Rdf.createDataset()
+				.add(Rdf.createNQuad(Rdf.createIRI("https://dawex.com/a"), Rdf.createIRI("https://example.com/vocab#name"),
+						Rdf.createTypedString("😀", XsdConstants.STRING), null))
+				.add(Rdf.createNQuad(Rdf.createIRI("https://dawex.com/a"), Rdf.createIRI("https://example.com/vocab#name"),
+						Rdf.createTypedString("דּ", XsdConstants.STRING), null));
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new Rdfc10Canonicalizer(CONVERTER).canonicalize(rdfDataset, output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				<https://dawex.com/a> <https://example.com/vocab#name> "דּ" .
+				<https://dawex.com/a> <https://example.com/vocab#name> "😀" .
+				""");
+	}
+
+	@Test
+	void shouldAbortCanonicalizationOfCraftedGraphExceedingLimits() {
+		// given
+		// a clique of blank nodes sharing the same first degree hash, whose n-degree hashing evaluates all their permutations
+		final RdfDataset rdfDataset = Rdf.createDataset();
+		for (int i = 0; i < 6; i++) {
+			for (int j = 0; j < 6; j++) {
+				if (i != j) {
+					rdfDataset.add(Rdf.createNQuad(Rdf.createBlankNode("_:n" + i), Rdf.createIRI("https://example.com/vocab#knows"),
+							Rdf.createBlankNode("_:n" + j), null));
+				}
+			}
+		}
+		final Rdfc10Canonicalizer canonicalizer = new Rdfc10Canonicalizer(CONVERTER, null, 0,
+				CanonicalizationLimits.builder().maxNDegreeIterations(1000).build());
+
+		// when, then
+		assertThatThrownBy(() -> canonicalizer.canonicalize(rdfDataset, OutputStream.nullOutputStream()))
+				.isInstanceOfSatisfying(CanonicalizationAbortedException.class,
+						e -> assertThat(e.getReason()).isEqualTo(Reason.N_DEGREE_ITERATION_LIMIT));
+	}
+
+	private static String canonicalize(Canonicalizer canonicalizer, JsonDocument jsonLd) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		canonicalizer.canonicalize(jsonLd, output);
+		return output.toString(StandardCharsets.UTF_8);
+	}
+}
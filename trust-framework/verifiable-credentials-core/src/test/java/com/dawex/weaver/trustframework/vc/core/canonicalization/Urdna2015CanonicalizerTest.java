@@ -0,0 +1,88 @@
+package com.dawex.weaver.trustframework.vc.core.canonicalization;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException.Reason;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.OfflineDocumentLoader;
+import io.setl.rdf.normalization.RdfNormalize;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Urdna2015CanonicalizerTest {
+
+	private static final JsonLdRdfConverter CONVERTER = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build());
+
+	private static final String JSON_LD = """
+			{
+			  "@context": {"@base": "https://dawex.com", "ex": "https://example.com/vocab#"},
+			  "@id": "./organisations/1",
+			  "ex:name": ["Société \\"Dawex\\"\\nLyon", {"@value": "hola", "@language": "es"}],
+			  "ex:address": [{"ex:country": "ESP"}, {"ex:country": "FRA", "ex:region": {"ex:name": "Savoie"}}]
+			}""";
+
+	@Test
+	void shouldWriteNQuadsOfRdfNormalizeByDefault() throws Exception {
+		// given
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader(JSON_LD))).get();
+		final StringWriter expected = new StringWriter();
+		RdfProvider.provider().createWriter(MediaType.N_QUADS, expected).write(RdfNormalize.normalize(rdfDataset));
+
+		// when
+		final String actual = canonicalize(new Urdna2015Canonicalizer(CONVERTER), rdfDataset);
+
+		// then
+		assertThat(actual).isEqualTo(expected.toString());
+	}
+
+	@Test
+	void shouldWriteSameNQuadsWithRdfCanonicalizer() throws Exception {
+		// given
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader(JSON_LD))).get();
+		final Canonicalizer canonicalizer = Urdna2015Canonicalizer.withRdfCanonicalizer(CONVERTER, ForkJoinPool.commonPool(), 0,
+				CanonicalizationLimits.UNLIMITED);
+
+		// when
+		final String actual = canonicalize(canonicalizer, rdfDataset);
+
+		// then
+		assertThat(actual).isEqualTo(canonicalize(new Urdna2015Canonicalizer(CONVERTER), rdfDataset));
+	}
+
+	@Test
+	void shouldAbortCanonicalizationExceedingBlankNodeLimitByDefault() {
+		// given
+		final RdfDataset rdfDataset = Rdf.createDataset();
+		for (int i = 0; i < 3; i++) {
+			rdfDataset.add(Rdf.createNQuad(Rdf.createBlankNode("_:n" + i), Rdf.createIRI("https://example.com/vocab#knows"),
+					Rdf.createBlankNode("_:n" + (i + 1)), null));
+		}
+		final Canonicalizer canonicalizer = new Urdna2015Canonicalizer(CONVERTER, CanonicalizationLimits.builder().maxBlankNodes(3).build());
+
+		// when, then
+		assertThatThrownBy(() -> canonicalizer.canonicalize(rdfDataset, OutputStream.nullOutputStream()))
+				.isInstanceOfSatisfying(CanonicalizationAbortedException.class,
+						e -> assertThat(e.getReason()).isEqualTo(Reason.BLANK_NODE_LIMIT));
+	}
+
+	private static String canonicalize(Canonicalizer canonicalizer, RdfDataset rdfDataset) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		canonicalizer.canonicalize(rdfDataset, output);
+		return output.toString(StandardCharsets.UTF_8);
+	}
+}
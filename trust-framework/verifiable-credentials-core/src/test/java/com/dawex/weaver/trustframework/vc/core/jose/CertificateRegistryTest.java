@@ -0,0 +1,104 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.util.X509CertUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.CertificateExpiredException;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CertificateRegistryTest {
+
+	private static JWK jwk;
+
+	private static String certificate;
+
+	private static String otherCertificate;
+
+	@BeforeAll
+	public static void init() {
+		final JwkSetUtils.CreatedKeys createdKeys = JwkSetUtils.createKeys("Dawex", 12, JwkSetUtils.KeyAlgorithm.ED25519);
+		jwk = createdKeys.jwkSet().getKeys().get(0);
+		certificate = createdKeys.certificates().get(0);
+		otherCertificate = JwkSetUtils.createKeys("Other", 12, JwkSetUtils.KeyAlgorithm.ED25519).certificates().get(0);
+	}
+
+	@Test
+	void shouldRegisterCertificateOnce() {
+		// given
+		final CertificateRegistry certificateRegistry = CertificateRegistry.builder().build();
+
+		// when
+		final CertificateRegistry.RegisteredCertificate first = certificateRegistry.register(certificate);
+		final CertificateRegistry.RegisteredCertificate second = certificateRegistry.register(certificate);
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(first.getThumbprint()).isEqualTo(Keyring.getThumbprint(X509CertUtils.parse(certificate)));
+		assertThat(certificateRegistry.find(first.getThumbprint())).containsSame(first);
+		assertThat(certificateRegistry.size()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldValidateSignatureWithVerifierOfCertificate() {
+		// given
+		final CertificateRegistry certificateRegistry = CertificateRegistry.builder().build();
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, jwk);
+		final String proofType = JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+
+		// when, then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, certificateRegistry.getVerifier(certificate),
+				proofType)).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, certificateRegistry.getVerifier(otherCertificate),
+				proofType)).isFalse();
+	}
+
+	@Test
+	void withExpiredCertificateShouldThrowSignatureException() {
+		// given
+		final Clock clock = Clock.fixed(ZonedDateTime.now(ZoneOffset.UTC).plusYears(2).toInstant(), ZoneOffset.UTC);
+		final CertificateRegistry certificateRegistry = CertificateRegistry.builder().clock(clock).build();
+
+		// when
+		final CertificateRegistry.RegisteredCertificate actual = certificateRegistry.register(certificate);
+
+		// then
+		assertThat(actual.isValid()).isFalse();
+		assertThatThrownBy(actual::getVerifier)
+				.isInstanceOf(SignatureException.class)
+				.hasCauseInstanceOf(CertificateExpiredException.class);
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedCertificate() {
+		// given
+		final CertificateRegistry certificateRegistry = CertificateRegistry.builder().maxSize(1).build();
+		final String thumbprint = certificateRegistry.register(certificate).getThumbprint();
+
+		// when
+		final String otherThumbprint = certificateRegistry.register(otherCertificate).getThumbprint();
+
+		// then
+		assertThat(certificateRegistry.find(thumbprint)).isEmpty();
+		assertThat(certificateRegistry.find(otherThumbprint)).isPresent();
+	}
+
+	@Test
+	void withInvalidPemShouldThrowKeyParsingException() {
+		// given
+		final CertificateRegistry certificateRegistry = CertificateRegistry.builder().build();
+
+		// when, then
+		assertThatThrownBy(() -> certificateRegistry.register("not a certificate"))
+				.isInstanceOf(KeyParsingException.class);
+	}
+}
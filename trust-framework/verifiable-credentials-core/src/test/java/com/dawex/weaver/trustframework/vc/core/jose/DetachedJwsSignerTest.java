@@ -0,0 +1,72 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DetachedJwsSignerTest {
+
+	private static RSAKey rsaKey;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		rsaKey = (RSAKey) JWKSet.parse(Constant.JWK_SET).getKeys().get(0);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, 64, 10_000})
+	void shouldSignPayloadVerifiedByNimbus(int payloadLength) throws Exception {
+		// given
+		final String payload = "a".repeat(payloadLength);
+
+		// when
+		final String actual = new DetachedJwsSigner(rsaKey).sign(payload);
+
+		// then
+		final JWSObject jwsObject = JWSObject.parse(actual, new Payload(payload));
+		assertThat(jwsObject.getHeader().getAlgorithm()).isEqualTo(JWSAlgorithm.PS256);
+		assertThat(jwsObject.getHeader().isBase64URLEncodePayload()).isFalse();
+		assertThat(jwsObject.verify(new RSASSAVerifier(rsaKey.toPublicJWK()))).isTrue();
+		assertThat(actual).contains("..");
+	}
+
+	@Test
+	void shouldSignNonAsciiPayload() throws Exception {
+		// given
+		final String payload = "Société Générale 😀";
+
+		// when
+		final String actual = new DetachedJwsSigner(rsaKey).sign(payload);
+
+		// then
+		assertThat(JWSObject.parse(actual, new Payload(payload)).verify(new RSASSAVerifier(rsaKey.toPublicJWK()))).isTrue();
+	}
+
+	@Test
+	void shouldReuseSignerForDifferentPayloadsAndKeys() throws Exception {
+		// given
+		final DetachedJwsSigner signer = new DetachedJwsSigner(rsaKey);
+		final RSAKey otherRsaKey = (RSAKey) JwkSetUtils.createKeys("Other", 1).jwkSet().getKeys().get(0);
+		final DetachedJwsSigner otherSigner = new DetachedJwsSigner(otherRsaKey);
+
+		// when
+		final String first = signer.sign("first");
+		final String other = otherSigner.sign("other");
+		final String second = signer.sign("second");
+
+		// then
+		assertThat(JWSObject.parse(first, new Payload("first")).verify(new RSASSAVerifier(rsaKey.toPublicJWK()))).isTrue();
+		assertThat(JWSObject.parse(other, new Payload("other")).verify(new RSASSAVerifier(otherRsaKey.toPublicJWK()))).isTrue();
+		assertThat(JWSObject.parse(second, new Payload("second")).verify(new RSASSAVerifier(rsaKey.toPublicJWK()))).isTrue();
+	}
+}
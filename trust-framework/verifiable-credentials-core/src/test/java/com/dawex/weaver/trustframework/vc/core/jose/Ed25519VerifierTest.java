@@ -0,0 +1,64 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Signature;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Ed25519VerifierTest {
+
+	private static final String PAYLOAD = "payload";
+
+	private static OctetKeyPair octetKeyPair;
+
+	@BeforeAll
+	static void init() {
+		octetKeyPair = JwkSetUtils.createKeys("Dawex", 12, JwkSetUtils.KeyAlgorithm.ED25519).jwkSet().getKeys().get(0).toOctetKeyPair();
+	}
+
+	@Test
+	void shouldVerifyDetachedSignature() throws Exception {
+		// given
+		final String signature = new DetachedJwsSigner(octetKeyPair).sign(PAYLOAD);
+
+		// when
+		final boolean actual = JWSObject.parse(signature, new Payload(PAYLOAD))
+				.verify(new Ed25519Verifier(Ed25519Keys.toPublicKey(octetKeyPair)));
+
+		// then
+		assertThat(actual).isTrue();
+	}
+
+	@Test
+	void withUnprocessedCriticalHeaderParameterShouldRejectSignature() throws Exception {
+		// given
+		final JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.EdDSA)
+				.base64URLEncodePayload(false)
+				.customParam("exp", 0)
+				.criticalParams(Set.of("b64", "exp"))
+				.build();
+		final byte[] signingInput = (header.toBase64URL() + "." + PAYLOAD).getBytes(StandardCharsets.UTF_8);
+		final Signature signer = Signature.getInstance(Ed25519Keys.ALGORITHM);
+		signer.initSign(Ed25519Keys.toPrivateKey(octetKeyPair));
+		signer.update(signingInput);
+		final Base64URL signature = Base64URL.encode(signer.sign());
+		final Ed25519Verifier verifier = new Ed25519Verifier(Ed25519Keys.toPublicKey(octetKeyPair));
+
+		// when
+		final boolean actual = verifier.verify(header, signingInput, signature);
+
+		// then
+		assertThat(actual).isFalse();
+		assertThat(verifier.verify(new JWSHeader.Builder(header).criticalParams(Set.of("b64")).build(), signingInput, signature)).isTrue();
+	}
+}
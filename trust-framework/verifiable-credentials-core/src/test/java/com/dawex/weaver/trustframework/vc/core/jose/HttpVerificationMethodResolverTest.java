@@ -0,0 +1,371 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.VerificationMethodResolutionException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpVerificationMethodResolverTest {
+
+	private static final String OTHER_JWK_SET = JwkSetUtils.createKeys("Other", 12, JwkSetUtils.KeyAlgorithm.ED25519)
+			.jwkSet()
+			.toString();
+
+	private final AtomicInteger requestCount = new AtomicInteger();
+
+	private final MutableClock clock = new MutableClock();
+
+	private HttpServer server;
+
+	private volatile StubResponse stubResponse;
+
+	private volatile String lastIfNoneMatch;
+
+	private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+
+	private volatile String redirectLocation;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/api/jwks", this::handle);
+		server.createContext("/api/redirect", this::redirect);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		stubResponse = new StubResponse(200, publicJwkSet(), "max-age=60", null);
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void shouldResolveVerificationMethodFromCache() throws Exception {
+		// given
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+		final String keyId = JWKSet.parse(Constant.JWK_SET).getKeys().get(0).getKeyID();
+
+		// when
+		final IndexedJwkSet first = resolver.resolve(getVerificationMethod(keyId));
+		final IndexedJwkSet second = resolver.resolve(getVerificationMethod("other"));
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(first.findByKeyId(keyId)).isPresent();
+		assertThat(resolver.resolveVerifier(getVerificationMethod(keyId))).isNotNull();
+		assertThat(requestCount).hasValue(1);
+	}
+
+	@Test
+	void shouldRetrieveJwkSetOnceForConcurrentResolutions() throws Exception {
+		// given
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+		responseLatch = new CountDownLatch(1);
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+		try {
+			// when
+			final List<Future<IndexedJwkSet>> resolutions = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				resolutions.add(executorService.submit(() -> resolver.resolve(getVerificationMethod("key"))));
+			}
+			// the resolutions wait for the response of the first request
+			Thread.sleep(500);
+			responseLatch.countDown();
+
+			// then
+			final IndexedJwkSet first = resolutions.get(0).get(10, TimeUnit.SECONDS);
+			for (Future<IndexedJwkSet> resolution : resolutions) {
+				assertThat(resolution.get(10, TimeUnit.SECONDS)).isSameAs(first);
+			}
+			assertThat(requestCount).hasValue(1);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldReturnStaleJwkSetWhileRevalidating() {
+		// given
+		stubResponse = new StubResponse(200, publicJwkSet(), "max-age=60, stale-while-revalidate=600", null);
+		// the background retrievals run synchronously, after the stale JWK set is read
+		final HttpVerificationMethodResolver resolver = resolverBuilder().executor(Runnable::run).build();
+		final IndexedJwkSet first = resolver.resolve(getVerificationMethod("key"));
+		stubResponse = new StubResponse(200, OTHER_JWK_SET, "max-age=60", null);
+
+		// when
+		clock.advance(Duration.ofSeconds(120));
+		final IndexedJwkSet stale = resolver.resolve(getVerificationMethod("key"));
+		final IndexedJwkSet revalidated = resolver.resolve(getVerificationMethod("key"));
+
+		// then
+		assertThat(stale).isSameAs(first);
+		assertThat(revalidated.getJwkSet().toString()).isEqualTo(OTHER_JWK_SET);
+		assertThat(requestCount).hasValue(2);
+	}
+
+	@Test
+	void shouldReturnStaleJwkSetWhenBackgroundRetrievalIsRejected() {
+		// given
+		stubResponse = new StubResponse(200, publicJwkSet(), "max-age=60, stale-while-revalidate=600", null);
+		final HttpVerificationMethodResolver resolver = resolverBuilder().executor(runnable -> {
+			throw new RejectedExecutionException("The queue is full");
+		}).build();
+		final IndexedJwkSet first = resolver.resolve(getVerificationMethod("key"));
+
+		// when
+		clock.advance(Duration.ofSeconds(120));
+		final IndexedJwkSet stale = resolver.resolve(getVerificationMethod("key"));
+		final IndexedJwkSet staleAgain = resolver.resolve(getVerificationMethod("key"));
+
+		// then
+		assertThat(stale).isSameAs(first);
+		assertThat(staleAgain).isSameAs(first);
+		assertThat(requestCount).hasValue(1);
+	}
+
+	@Test
+	void shouldRevalidateJwkSetWithEtag() {
+		// given
+		stubResponse = new StubResponse(200, publicJwkSet(), "no-cache", "\"v1\"");
+		final HttpVerificationMethodResolver resolver = resolverBuilder().defaultStaleWhileRevalidate(Duration.ZERO).build();
+		final IndexedJwkSet first = resolver.resolve(getVerificationMethod("key"));
+		stubResponse = new StubResponse(304, null, "max-age=60", "\"v1\"");
+
+		// when
+		clock.advance(Duration.ofSeconds(1));
+		final IndexedJwkSet actual = resolver.resolve(getVerificationMethod("key"));
+
+		// then
+		assertThat(actual).isSameAs(first);
+		assertThat(lastIfNoneMatch).isEqualTo("\"v1\"");
+		assertThat(requestCount).hasValue(2);
+	}
+
+	@Test
+	void shouldCacheFailedRetrieval() {
+		// given
+		stubResponse = new StubResponse(404, "", null, null);
+		final HttpVerificationMethodResolver resolver = resolverBuilder().negativeTimeToLive(Duration.ofSeconds(30)).build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve(getVerificationMethod("key")))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("404");
+		assertThatThrownBy(() -> resolver.resolve(getVerificationMethod("key")))
+				.isInstanceOf(VerificationMethodResolutionException.class);
+		assertThat(requestCount).hasValue(1);
+
+		stubResponse = new StubResponse(200, publicJwkSet(), "max-age=60", null);
+		clock.advance(Duration.ofSeconds(31));
+		assertThat(resolver.resolve(getVerificationMethod("key"))).isNotNull();
+		assertThat(requestCount).hasValue(2);
+	}
+
+	@Test
+	void shouldNotServeNoCacheJwkSetWhileRevalidating() {
+		// given
+		stubResponse = new StubResponse(200, publicJwkSet(), "no-cache", null);
+		final HttpVerificationMethodResolver resolver = resolverBuilder().executor(Runnable::run).build();
+		resolver.resolve(getVerificationMethod("key"));
+		stubResponse = new StubResponse(200, OTHER_JWK_SET, "max-age=60", null);
+
+		// when
+		clock.advance(Duration.ofSeconds(1));
+		final IndexedJwkSet actual = resolver.resolve(getVerificationMethod("key"));
+
+		// then
+		assertThat(actual.getJwkSet().toString()).isEqualTo(OTHER_JWK_SET);
+		assertThat(requestCount).hasValue(2);
+	}
+
+	@Test
+	void shouldNotCacheNoStoreJwkSet() {
+		// given
+		stubResponse = new StubResponse(200, publicJwkSet(), "no-store, max-age=60", null);
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+
+		// when
+		resolver.resolve(getVerificationMethod("key"));
+		resolver.resolve(getVerificationMethod("key"));
+
+		// then
+		assertThat(requestCount).hasValue(2);
+	}
+
+	@Test
+	void shouldFollowSameOriginRedirect() {
+		// given
+		redirectLocation = "/api/jwks";
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+
+		// when
+		final IndexedJwkSet actual = resolver.resolve(getUrl("/api/redirect#key"));
+
+		// then
+		assertThat(actual).isNotNull();
+		assertThat(requestCount).hasValue(1);
+	}
+
+	@Test
+	void withCrossOriginRedirectShouldThrowVerificationMethodResolutionException() {
+		// given
+		redirectLocation = "http://127.0.0.1:%d/api/jwks".formatted(server.getAddress().getPort());
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve(getUrl("/api/redirect#key")))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("302");
+		assertThat(requestCount).hasValue(0);
+	}
+
+	@Test
+	void withTooLargeJwkSetShouldThrowVerificationMethodResolutionException() {
+		// given
+		final HttpVerificationMethodResolver resolver = resolverBuilder().maxBodySize(100).build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve(getVerificationMethod("key")))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("100 bytes");
+	}
+
+	@Test
+	void withHttpVerificationMethodShouldThrowVerificationMethodResolutionExceptionByDefault() {
+		// given
+		final HttpVerificationMethodResolver resolver = HttpVerificationMethodResolver.builder().clock(clock).build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve(getVerificationMethod("key")))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("HTTPS");
+		assertThat(requestCount).hasValue(0);
+	}
+
+	@Test
+	void withNotAllowedHostShouldThrowVerificationMethodResolutionException() {
+		// given
+		final HttpVerificationMethodResolver resolver = resolverBuilder().allowedHosts(List.of("dawex.com")).build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve(getVerificationMethod("key")))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("not allowed");
+		assertThat(resolverBuilder().allowedHosts(List.of("LOCALHOST")).build().resolve(getVerificationMethod("key"))).isNotNull();
+		assertThat(requestCount).hasValue(1);
+	}
+
+	@Test
+	void withNonHttpVerificationMethodShouldThrowVerificationMethodResolutionException() {
+		// given
+		final HttpVerificationMethodResolver resolver = resolverBuilder().build();
+
+		// when, then
+		assertThatThrownBy(() -> resolver.resolve("did:web:dawex.com#key"))
+				.isInstanceOf(VerificationMethodResolutionException.class)
+				.hasMessageContaining("did:web:dawex.com#key");
+		assertThat(requestCount).hasValue(0);
+	}
+
+	private HttpVerificationMethodResolver.HttpVerificationMethodResolverBuilder resolverBuilder() {
+		// the stub server is only reachable over HTTP
+		return HttpVerificationMethodResolver.builder().clock(clock).allowHttp(true);
+	}
+
+	private String getVerificationMethod(String keyId) {
+		return getUrl("/api/jwks#" + keyId);
+	}
+
+	private String getUrl(String path) {
+		return "http://localhost:%d%s".formatted(server.getAddress().getPort(), path);
+	}
+
+	private static String publicJwkSet() {
+		try {
+			return JWKSet.parse(Constant.JWK_SET).toString();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requestCount.incrementAndGet();
+		lastIfNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+		try {
+			responseLatch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		final StubResponse response = stubResponse;
+		if (response.cacheControl() != null) {
+			exchange.getResponseHeaders().add("Cache-Control", response.cacheControl());
+		}
+		if (response.etag() != null) {
+			exchange.getResponseHeaders().add("ETag", response.etag());
+		}
+		final byte[] body = response.body() == null ? new byte[0] : response.body().getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+		exchange.getResponseBody().write(body);
+		exchange.close();
+	}
+
+	private void redirect(HttpExchange exchange) throws IOException {
+		exchange.getResponseHeaders().add("Location", redirectLocation);
+		exchange.sendResponseHeaders(302, -1);
+		exchange.close();
+	}
+
+	private record StubResponse(int statusCode, String body, String cacheControl, String etag) {
+	}
+
+	private static class MutableClock extends Clock {
+		private volatile Instant instant = Instant.parse("2023-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
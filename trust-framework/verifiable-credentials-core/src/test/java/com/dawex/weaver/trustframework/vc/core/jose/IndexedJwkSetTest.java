@@ -0,0 +1,76 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.util.X509CertUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexedJwkSetTest {
+
+	private static JWK jwk;
+
+	private static JWK otherJwk;
+
+	private static X509Certificate otherCertificate;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		jwk = JWKSet.parse(Constant.JWK_SET).getKeys().get(0).toPublicJWK();
+		final JwkSetUtils.CreatedKeys createdKeys = JwkSetUtils.createKeys("Other", 12, JwkSetUtils.KeyAlgorithm.ED25519);
+		otherJwk = createdKeys.jwkSet().getKeys().get(0).toPublicJWK();
+		otherCertificate = X509CertUtils.parse(createdKeys.certificates().get(0));
+	}
+
+	@Test
+	void shouldFindKeysByKeyIdAndThumbprint() {
+		// when
+		final IndexedJwkSet actual = IndexedJwkSet.of(new JWKSet(List.of(jwk, otherJwk)));
+
+		// then
+		assertThat(actual.findByKeyId(jwk.getKeyID())).hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(jwk));
+		assertThat(actual.findByKeyId(otherJwk.getKeyID())).hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(otherJwk));
+		assertThat(actual.findByThumbprint(Keyring.getThumbprint(otherCertificate)))
+				.hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(otherJwk));
+		assertThat(actual.findByKeyId("unknown")).isEmpty();
+	}
+
+	@Test
+	void shouldFindKeyByVerificationMethod() {
+		// given
+		final IndexedJwkSet indexedJwkSet = IndexedJwkSet.of(new JWKSet(List.of(jwk, otherJwk)));
+
+		// when, then
+		assertThat(indexedJwkSet.findByVerificationMethod("did:web:dawex.com#" + jwk.getKeyID()))
+				.hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(jwk));
+		assertThat(indexedJwkSet.findByVerificationMethod("https://dawex.com/jwks#" + Keyring.getThumbprint(otherCertificate)))
+				.hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(otherJwk));
+		assertThat(indexedJwkSet.findByVerificationMethod("https://dawex.com/jwks")).isEmpty();
+		assertThat(IndexedJwkSet.of(new JWKSet(jwk)).findByVerificationMethod("https://dawex.com/jwks"))
+				.hasValueSatisfying(key -> assertThat(key.getJwk()).isEqualTo(jwk));
+	}
+
+	@Test
+	void withUnsupportedKeyShouldThrowSignatureExceptionWhenVerifying() throws Exception {
+		// given
+		final JWK secretKey = new OctetSequenceKeyGenerator(256).keyID("secret").generate();
+
+		// when
+		final IndexedJwkSet actual = IndexedJwkSet.of(new JWKSet(List.of(jwk, secretKey)));
+
+		// then
+		assertThat(actual.findByKeyId(jwk.getKeyID()).orElseThrow().getVerifier()).isNotNull();
+		assertThatThrownBy(() -> actual.findByKeyId("secret").orElseThrow().getVerifier())
+				.isInstanceOf(SignatureException.class)
+				.hasMessageContaining("secret");
+	}
+}
@@ -1,19 +1,36 @@
 package com.dawex.weaver.trustframework.vc.core.jose;
 
 import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.JcsCanonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.Urdna2015Canonicalizer;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.CanonicalizationLimits;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfConverter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.OfflineDocumentLoader;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.util.X509CertUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.security.cert.X509Certificate;
 import java.text.ParseException;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JsonWebSignatureUtilsTest {
 
+	private static final String PROOF_TYPE_JCS_TEST_SIGNATURE = "JcsTestSignature";
+
 	private static JWK jwk;
 
 	private static X509Certificate certificate;
@@ -35,6 +52,51 @@ class JsonWebSignatureUtilsTest {
 				});
 	}
 
+	@ParameterizedTest
+	@EnumSource(JwkSetUtils.KeyAlgorithm.class)
+	void shouldGenerateAndValidateSignatureWithAlgorithmOfKey(JwkSetUtils.KeyAlgorithm keyAlgorithm) throws ParseException {
+		// given
+		final JwkSetUtils.CreatedKeys createdKeys = JwkSetUtils.createKeys("Dawex", 12, keyAlgorithm);
+		final JWK createdJwk = createdKeys.jwkSet().getKeys().get(0);
+		final X509Certificate createdCertificate = X509CertUtils.parse(createdKeys.certificates().get(0));
+
+		// when
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, createdJwk);
+
+		// then
+		assertThat(JWSObject.parse(signature, new Payload("")).getHeader().getAlgorithm()).isEqualTo(switch (keyAlgorithm) {
+			case RSA -> JWSAlgorithm.PS256;
+			case EC_P256 -> JWSAlgorithm.ES256;
+			case ED25519 -> JWSAlgorithm.EdDSA;
+		});
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, createdJwk.toPublicJWK())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, createdCertificate)).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD.replace("2022-07-28", "2022-07-29"), createdJwk.toPublicJWK()))
+				.isFalse();
+	}
+
+	@Test
+	void shouldGenerateAndValidateSignatureOfDocumentWithRemoteContext() {
+		// given
+		final String jsonLd = """
+				{
+				  "@context": ["https://www.w3.org/2018/credentials/v1", {"gax-participant": "https://w3id.org/gaia-x/participant#"}],
+				  "id": "https://dawex.com/organisations/1/verifiableCredential",
+				  "type": ["VerifiableCredential"],
+				  "issuer": "https://dawex.com/organisations/1",
+				  "issuanceDate": "2022-07-28T15:16:01Z",
+				  "credentialSubject": {"id": "https://dawex.com/organisations/1", "gax-participant:name": "Dawex"}
+				}""";
+
+		// when
+		final String signature = JsonWebSignatureUtils.generateSignature(jsonLd, jwk);
+
+		// then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, jsonLd, jwk.toPublicJWK())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, jsonLd.replace("2022-07-28", "2022-07-29"), jwk.toPublicJWK()))
+				.isFalse();
+	}
+
 	@Test
 	void withInvalidSignatureShouldReturnFalse() throws ParseException {
 		final String invalidSignature = "eyJhbGciOiJQUzI1NiIsImI2NCI6ZmFsc2UsImNyaXQiOlsiYjY0Il19..invalid-signature";
@@ -42,4 +104,127 @@ class JsonWebSignatureUtilsTest {
 		assertThat(JsonWebSignatureUtils.isSignatureValid(invalidSignature, Constant.JSON_LD, jwk.toPublicJWK())).isFalse();
 		assertThat(JsonWebSignatureUtils.isSignatureValid(invalidSignature, Constant.JSON_LD, certificate)).isFalse();
 	}
-}
\ No newline at end of file
+
+	@Test
+	void shouldGenerateAndValidateSignatureWithCanonicalizerOfProofType() throws JOSEException {
+		// given
+		final SignatureConfiguration configuration = SignatureConfiguration.builder()
+				.canonicalizer(PROOF_TYPE_JCS_TEST_SIGNATURE, new JcsCanonicalizer())
+				.build();
+
+		// when
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, new DetachedJwsSigner(jwk),
+				PROOF_TYPE_JCS_TEST_SIGNATURE, configuration);
+
+		// then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, JwsVerifiers.of(jwk.toPublicJWK()),
+				PROOF_TYPE_JCS_TEST_SIGNATURE, configuration)).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, JwsVerifiers.of(certificate.getPublicKey()),
+				PROOF_TYPE_JCS_TEST_SIGNATURE, configuration)).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, jwk.toPublicJWK())).isFalse();
+		assertThatThrownBy(() -> JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, JwsVerifiers.of(jwk.toPublicJWK()),
+				PROOF_TYPE_JCS_TEST_SIGNATURE))
+				.isInstanceOf(SignatureException.class);
+	}
+
+	@Test
+	void shouldKeepCanonicalizerSetForProofTypeWhenChangingDefaultCanonicalizer() {
+		// given
+		final JcsCanonicalizer canonicalizer = new JcsCanonicalizer();
+
+		// when
+		final SignatureConfiguration configuration = SignatureConfiguration.builder()
+				.canonicalizer(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020, canonicalizer)
+				.canonicalizationLimits(CanonicalizationLimits.builder().maxQuads(1).build())
+				.build();
+
+		// then
+		assertThat(configuration.getCanonicalizer(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020)).isSameAs(canonicalizer);
+		assertThat(SignatureConfiguration.DEFAULT.getCanonicalizer(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020))
+				.isInstanceOf(Urdna2015Canonicalizer.class);
+		assertThatThrownBy(() -> configuration.getCanonicalizer(PROOF_TYPE_JCS_TEST_SIGNATURE))
+				.isInstanceOf(SignatureException.class);
+	}
+
+	@Test
+	void shouldValidateSignatureWithParallelRdfCanonicalizer() throws JOSEException {
+		// given
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, jwk);
+
+		// when
+		final SignatureConfiguration configuration = SignatureConfiguration.builder()
+				.canonicalizer(JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020,
+						Urdna2015Canonicalizer.withRdfCanonicalizer(JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build()),
+								ForkJoinPool.commonPool(), 0, CanonicalizationLimits.UNLIMITED))
+				.build();
+
+		// then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, JwsVerifiers.of(jwk.toPublicJWK()),
+				JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020, configuration)).isTrue();
+	}
+
+	@Test
+	void withCanonicalizationExceedingLimitsShouldThrowSignatureException() throws JOSEException {
+		// given
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, jwk);
+
+		final SignatureConfiguration configuration = SignatureConfiguration.builder()
+				.canonicalizationLimits(CanonicalizationLimits.builder().maxQuads(1).build())
+				.build();
+
+		// when, then
+		assertThatThrownBy(() -> JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, JwsVerifiers.of(jwk.toPublicJWK()),
+				JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020, configuration))
+				.isInstanceOf(SignatureException.class)
+				.cause()
+				.isInstanceOfSatisfying(CanonicalizationAbortedException.class,
+						e -> assertThat(e.getReason()).isEqualTo(CanonicalizationAbortedException.Reason.QUAD_LIMIT));
+	}
+
+	@Test
+	void shouldGenerateAndValidateSignatureUsingKeyring() {
+		// given
+		final Keyring keyring = Keyring.builder()
+				.key(jwk)
+				.certificate(certificate)
+				.build();
+		final String proofType = JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+
+		// when
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, keyring.getSigner(jwk.getKeyID()), proofType);
+
+		// then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, jwk.toPublicJWK())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD, keyring.getVerifier(jwk.getKeyID()), proofType))
+				.isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD,
+				keyring.getVerifier(Keyring.getThumbprint(certificate)), proofType)).isTrue();
+	}
+
+	@Test
+	void shouldValidateSignatureUsingKeyOfVerificationMethod() throws ParseException {
+		// given
+		final IndexedJwkSet jwkSet = JwkSetUtils.parseIndexedJwkSet(JWKSet.parse(Constant.JWK_SET).toPublicJWKSet().toJSONObject());
+		final String proofType = JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+		final String signature = JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, jwk);
+
+		// when, then
+		assertThat(JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD,
+				jwkSet.getVerifier("https://dawex.com/jwks#" + jwk.getKeyID()), proofType)).isTrue();
+		assertThatThrownBy(() -> JsonWebSignatureUtils.isSignatureValid(signature, Constant.JSON_LD,
+				jwkSet.getVerifier("https://dawex.com/jwks#unknown"), proofType))
+				.isInstanceOf(SignatureException.class)
+				.hasMessageContaining("https://dawex.com/jwks#unknown");
+	}
+
+	@Test
+	void withUnknownProofTypeShouldThrowSignatureException() throws JOSEException {
+		// given
+		final DetachedJwsSigner signer = new DetachedJwsSigner(jwk);
+
+		// when, then
+		assertThatThrownBy(() -> JsonWebSignatureUtils.generateSignature(Constant.JSON_LD, signer, "UnknownSignature"))
+				.isInstanceOf(SignatureException.class)
+				.hasMessageContaining("UnknownSignature");
+	}
+}
@@ -1,10 +1,19 @@
 package com.dawex.weaver.trustframework.vc.core.jose;
 
 import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.X509CertUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.security.cert.X509Certificate;
 import java.text.ParseException;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,4 +31,59 @@ class JwkSetUtilsTest {
 		assertThat(actual.toString(false))
 				.isEqualTo(expectedJwkSet);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void shouldParseIndexedJwkSetOnce() throws ParseException {
+		// given
+		final Map<String, Object> jwkSetAsMap = JWKSet.parse(Constant.JWK_SET).toJSONObject(true);
+
+		// when
+		final IndexedJwkSet first = JwkSetUtils.parseIndexedJwkSet(jwkSetAsMap);
+		final IndexedJwkSet second = JwkSetUtils.parseIndexedJwkSet(JWKSet.parse(Constant.JWK_SET).toJSONObject(true));
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(first.getJwkSet().toString()).isEqualTo(JWKSet.parse(Constant.JWK_SET).toPublicJWKSet().toString());
+		assertThat(JwkSetUtils.parseIndexedJwkSet(Constant.JWK_SET)).isNotSameAs(first);
+		assertThat(JwkSetUtils.getCachedIndexedJwkSetCount()).isGreaterThanOrEqualTo(2);
+	}
+
+	@ParameterizedTest
+	@EnumSource(JwkSetUtils.KeyAlgorithm.class)
+	void shouldCreateKeysOfAlgorithm(JwkSetUtils.KeyAlgorithm keyAlgorithm) {
+		// when
+		final JwkSetUtils.CreatedKeys actual = JwkSetUtils.createKeys("Dawex", 12, keyAlgorithm);
+
+		// then
+		final JWK jwk = actual.jwkSet().getKeys().get(0);
+		final X509Certificate certificate = X509CertUtils.parse(actual.certificates().get(0));
+		assertThat(jwk).isInstanceOf(switch (keyAlgorithm) {
+			case RSA -> RSAKey.class;
+			case EC_P256 -> ECKey.class;
+			case ED25519 -> OctetKeyPair.class;
+		});
+		assertThat(jwk.isPrivate()).isTrue();
+		assertThat(jwk.getKeyID()).isEqualTo(certificate.getSerialNumber().toString(10));
+		assertThat(jwk.getX509CertSHA256Thumbprint()).hasToString(Keyring.getThumbprint(certificate));
+	}
+
+	@Test
+	void shouldCreateKeysInParallelWithKeyPairPool() {
+		// given
+		final List<String> commonNames = List.of("First", "Second", "Third");
+
+		try (KeyPairPool keyPairPool = KeyPairPool.builder().keyAlgorithm(JwkSetUtils.KeyAlgorithm.ED25519).capacity(2).build()) {
+			// when
+			final List<JwkSetUtils.CreatedKeys> actual = JwkSetUtils.createKeys(commonNames, 12, keyPairPool);
+
+			// then
+			assertThat(actual)
+					.extracting(createdKeys -> X509CertUtils.parse(createdKeys.certificates().get(0)).getSubjectX500Principal().getName())
+					.containsExactly("CN=First", "CN=Second", "CN=Third");
+			assertThat(actual)
+					.extracting(createdKeys -> createdKeys.jwkSet().getKeys().get(0))
+					.allMatch(jwk -> jwk instanceof OctetKeyPair && jwk.isPrivate())
+					.doesNotHaveDuplicates();
+		}
+	}
+}
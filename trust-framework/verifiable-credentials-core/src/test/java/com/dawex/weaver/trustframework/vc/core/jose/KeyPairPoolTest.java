@@ -0,0 +1,55 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyPairPoolTest {
+
+	@Test
+	void shouldFillPoolUpToCapacity() throws InterruptedException {
+		// given
+		try (KeyPairPool keyPairPool = KeyPairPool.builder()
+				.keyAlgorithm(JwkSetUtils.KeyAlgorithm.ED25519)
+				.capacity(4)
+				.refillThreadCount(2)
+				.build()) {
+
+			// when
+			awaitAvailableCount(keyPairPool, 4);
+			final KeyPair actual = keyPairPool.take();
+
+			// then
+			assertThat(actual.getPrivate().getAlgorithm()).isEqualTo("EdDSA");
+			awaitAvailableCount(keyPairPool, 4);
+			assertThat(keyPairPool.getAvailableCount()).isEqualTo(4);
+		}
+	}
+
+	@Test
+	void withClosedEmptyPoolShouldGenerateKeyPair() {
+		// given
+		final KeyPairPool keyPairPool = KeyPairPool.builder()
+				.keyAlgorithm(JwkSetUtils.KeyAlgorithm.EC_P256)
+				.capacity(1)
+				.build();
+		keyPairPool.close();
+
+		// when
+		for (int i = 0; i < 3; i++) {
+			// then
+			assertThat(keyPairPool.take().getPrivate().getAlgorithm()).isEqualTo("EC");
+		}
+	}
+
+	private static void awaitAvailableCount(KeyPairPool keyPairPool, int count) throws InterruptedException {
+		final Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+		while (keyPairPool.getAvailableCount() < count && Instant.now().isBefore(deadline)) {
+			Thread.sleep(10);
+		}
+	}
+}
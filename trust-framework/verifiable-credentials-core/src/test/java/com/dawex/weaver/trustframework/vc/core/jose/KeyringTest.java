@@ -0,0 +1,92 @@
+package com.dawex.weaver.trustframework.vc.core.jose;
+
+import com.dawex.weaver.trustframework.vc.core.Constant;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.KeyParsingException;
+import com.dawex.weaver.trustframework.vc.core.jose.exception.SignatureException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.util.X509CertUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyringTest {
+
+	private static JWK jwk;
+
+	private static X509Certificate certificate;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		jwk = JWKSet.parse(Constant.JWK_SET).getKeys().get(0);
+		certificate = X509CertUtils.parse(Constant.CERTIFICATE);
+	}
+
+	@Test
+	void shouldIdentifyKeysByKeyIdAndCertificateThumbprint() {
+		// given
+		final String thumbprint = Keyring.getThumbprint(certificate);
+
+		// when
+		final Keyring keyring = Keyring.builder()
+				.key(jwk)
+				.certificate(certificate)
+				.build();
+
+		// then
+		assertThat(keyring.getKeyIds()).contains(jwk.getKeyID(), thumbprint);
+		assertThat(keyring.getSigner(jwk.getKeyID())).isNotNull();
+		assertThat(keyring.getVerifier(jwk.getKeyID())).isNotNull();
+		assertThat(keyring.getVerifier(thumbprint)).isNotNull();
+	}
+
+	@Test
+	void shouldReuseSignersAndVerifiers() {
+		// when
+		final Keyring keyring = Keyring.builder().key(jwk).build();
+
+		// then
+		assertThat(keyring.getSigner(jwk.getKeyID())).isSameAs(keyring.getSigner(jwk.getKeyID()));
+		assertThat(keyring.getVerifier(jwk.getKeyID())).isSameAs(keyring.getVerifier(jwk.getKeyID()));
+	}
+
+	@Test
+	void withPublicKeyShouldNotSign() {
+		// given
+		final Keyring keyring = Keyring.builder().key(jwk.toPublicJWK()).build();
+
+		// when, then
+		assertThat(keyring.getVerifier(jwk.getKeyID())).isNotNull();
+		assertThatThrownBy(() -> keyring.getSigner(jwk.getKeyID()))
+				.isInstanceOf(SignatureException.class)
+				.hasMessageContaining("has no private key");
+	}
+
+	@Test
+	void withUnknownKeyShouldThrowSignatureException() {
+		// given
+		final Keyring keyring = Keyring.builder().key(jwk).build();
+
+		// when, then
+		assertThatThrownBy(() -> keyring.getVerifier("unknown"))
+				.isInstanceOf(SignatureException.class)
+				.hasMessageContaining("unknown");
+	}
+
+	@Test
+	void withUnsupportedKeyShouldThrowKeyParsingException() throws Exception {
+		// given
+		final JWK ecKey = new ECKeyGenerator(Curve.P_384).keyID("ec").generate();
+
+		// when, then
+		assertThatThrownBy(() -> Keyring.builder().key(ecKey))
+				.isInstanceOf(KeyParsingException.class)
+				.hasMessageContaining("ec");
+	}
+}
@@ -0,0 +1,126 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfDatasetTestUtils.toCanonicalNQuads;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonLdRdfConverterTest {
+
+	private static final String CONTEXT = """
+			{"@base": "https://dawex.com", "sd": "https://www.w3.org/2018/credentials/v1", "gax-participant": "https://w3id.org/gaia-x/participant#"}""";
+
+	private static final String REMOTE_CONTEXT_URL = "https://dawex.com/contexts/participant.jsonld";
+
+	private static final String REMOTE_CONTEXT = """
+			{"@context": {"sd": "https://www.w3.org/2018/credentials/v1", "gax-participant": "https://w3id.org/gaia-x/participant#"}}""";
+
+	@Test
+	void shouldConvertSameAsJsonLdToRdf() throws Exception {
+		// given
+		final JsonLdRdfConverter converter = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build());
+		final String json = getDocument(CONTEXT, "first");
+
+		// when
+		final RdfDataset actual = converter.toRdf(toJsonDocument(json));
+
+		// then
+		assertThat(toCanonicalNQuads(actual)).isEqualTo(toCanonicalNQuads(JsonLd.toRdf(toJsonDocument(json)).get()));
+	}
+
+	@Test
+	void shouldProcessSameContextOnce() throws Exception {
+		// given
+		final JsonLdRdfConverter converter = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build());
+
+		// when
+		final RdfDataset first = converter.toRdf(toJsonDocument(getDocument(CONTEXT, "first")));
+		final RdfDataset second = converter.toRdf(toJsonDocument(getDocument(CONTEXT, "second")));
+		converter.toRdf(toJsonDocument(getDocument(CONTEXT.replace("https://dawex.com", "https://weaver.dawex.com"), "third")));
+
+		// then
+		assertThat(converter.getCachedContextCount()).isEqualTo(2);
+		assertThat(toCanonicalNQuads(second)).isEqualTo(toCanonicalNQuads(first).replace("first", "second"));
+	}
+
+	@Test
+	void shouldLoadPreloadedRemoteContext() throws Exception {
+		// given
+		final JsonLdRdfConverter converter = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder()
+				.document(REMOTE_CONTEXT_URL, toJsonDocument(REMOTE_CONTEXT))
+				.build());
+		// the base IRI of a remote context is ignored
+		final String context = "[\"%s\", {\"@base\": \"https://dawex.com\"}]".formatted(REMOTE_CONTEXT_URL);
+
+		// when
+		final RdfDataset actual = converter.toRdf(toJsonDocument(getDocument(context, "first")));
+
+		// then
+		assertThat(toCanonicalNQuads(actual)).isEqualTo(toCanonicalNQuads(JsonLd.toRdf(toJsonDocument(getDocument(CONTEXT, "first"))).get()));
+	}
+
+	@Test
+	void shouldLoadBundledVerifiableCredentialsContext() throws Exception {
+		// given
+		final JsonLdRdfConverter converter = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().bundledContexts().build());
+		final JsonDocument document = toJsonDocument("""
+				{
+				  "@context": ["https://www.w3.org/2018/credentials/v1", {"gax-participant": "https://w3id.org/gaia-x/participant#"}],
+				  "id": "https://dawex.com/organisations/first",
+				  "type": "VerifiableCredential",
+				  "issuer": "https://dawex.com/organisations/issuer",
+				  "issuanceDate": "2022-07-28T15:16:01Z",
+				  "credentialSubject": {"id": "https://dawex.com/organisations/first/subject", "gax-participant:name": "first"}
+				}""");
+
+		// when
+		final RdfDataset actual = converter.toRdf(document);
+
+		// then
+		assertThat(toCanonicalNQuads(actual)).isEqualTo("""
+				<https://dawex.com/organisations/first/subject> <https://w3id.org/gaia-x/participant#name> "first" .
+				<https://dawex.com/organisations/first> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <https://www.w3.org/2018/credentials#VerifiableCredential> .
+				<https://dawex.com/organisations/first> <https://www.w3.org/2018/credentials#credentialSubject> <https://dawex.com/organisations/first/subject> .
+				<https://dawex.com/organisations/first> <https://www.w3.org/2018/credentials#issuanceDate> "2022-07-28T15:16:01Z"^^<http://www.w3.org/2001/XMLSchema#dateTime> .
+				<https://dawex.com/organisations/first> <https://www.w3.org/2018/credentials#issuer> <https://dawex.com/organisations/issuer> .
+				""");
+	}
+
+	@Test
+	void shouldNotLoadRemoteContextWhichIsNotPreloaded() throws Exception {
+		// given
+		final JsonLdRdfConverter converter = JsonLdRdfConverter.offline(OfflineDocumentLoader.builder().build());
+		final JsonDocument document = toJsonDocument(getDocument("\"https://www.w3.org/2018/credentials/v1\"", "first"));
+
+		// when, then
+		assertThatThrownBy(() -> converter.toRdf(document))
+				.isInstanceOf(JsonLdError.class)
+				.satisfies(e -> assertThat(((JsonLdError) e).getCode()).isEqualTo(JsonLdErrorCode.LOADING_REMOTE_CONTEXT_FAILED));
+	}
+
+	private static String getDocument(String context, String name) {
+		return """
+				{
+				  "@context": %s,
+				  "@type": ["VerifiableCredential", "LegalPerson"],
+				  "@id": "./organisations/%s",
+				  "sd:issuanceDate": "2022-07-28T15:16:01Z",
+				  "sd:credentialSubject": {
+				    "gax-participant:name": "%s",
+				    "gax-participant:headquarterAddress": {"gax-participant:country-name": "ESP"}
+				  }
+				}""".formatted(context, name, name);
+	}
+
+	private static JsonDocument toJsonDocument(String json) throws JsonLdError {
+		return JsonDocument.of(new StringReader(json));
+	}
+}
@@ -0,0 +1,178 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.jsonld.CompositeValue;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContext;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdType;
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdContextsSerializer;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfDatasetTestUtils.toCanonicalNQuads;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonLdRdfEmitterTest {
+
+	private static final FormatProvider FORMAT_PROVIDER = new FormatProvider() {
+		@Override
+		public Optional<String> getFormat(String formatName) {
+			return switch (formatName) {
+				case "node" -> Optional.of("./nodes/%s");
+				case "pair" -> Optional.of("./pairs/%s/%s");
+				case "blank" -> Optional.of("_:%s");
+				default -> Optional.empty();
+			};
+		}
+	};
+
+	@ParameterizedTest
+	@MethodSource("getObjects")
+	void shouldEmitSameCanonicalNQuadsAsJsonLdToRdf(Object object) throws Exception {
+		// given
+		final Supplier<String> baseIri = () -> "https://dawex.com/base/";
+		final String json = getObjectMapper(baseIri).writeValueAsString(object);
+
+		// when
+		final RdfDataset actual = new JsonLdRdfEmitter(FORMAT_PROVIDER, baseIri).toRdfDataset(object);
+
+		// then
+		assertThat(toCanonicalNQuads(actual)).isEqualTo(toCanonicalNQuads(JsonLd.toRdf(JsonDocument.of(new StringReader(json))).get()));
+	}
+
+	@ParameterizedTest
+	@MethodSource("getObjects")
+	void shouldEmitSameCanonicalNQuadsAsJsonLdToRdfWithoutBaseIri(Object object) throws Exception {
+		// given
+		final Supplier<String> baseIri = () -> null;
+		final String json = getObjectMapper(baseIri).writeValueAsString(object);
+
+		// when
+		final RdfDataset actual = new JsonLdRdfEmitter(FORMAT_PROVIDER, baseIri).toRdfDataset(object);
+
+		// then
+		assertThat(toCanonicalNQuads(actual)).isEqualTo(toCanonicalNQuads(JsonLd.toRdf(JsonDocument.of(new StringReader(json))).get()));
+	}
+
+	@Test
+	void shouldRejectObjectWithoutJsonLdAnnotations() {
+		// given
+		final JsonLdRdfEmitter emitter = new JsonLdRdfEmitter(FORMAT_PROVIDER, () -> "https://dawex.com");
+
+		// when, then
+		assertThatThrownBy(() -> emitter.toRdfDataset(new Object()))
+				.isInstanceOf(JsonLdSerializationException.class)
+				.hasMessageContaining("java.lang.Object");
+	}
+
+	private static Stream<Object> getObjects() {
+		final Leaf leaf = new Leaf("leaf \"quoted\"\n\ttabbed \u0001 é", Kind.FIRST, true, 42L, 1.5, 2.0f, 1e22,
+				new BigDecimal("1E+3"), BigInteger.TEN.pow(30), Double.NaN,
+				ZonedDateTime.of(2022, 8, 4, 10, 11, 12, 345_000_000, ZoneOffset.ofHours(2)));
+		return Stream.of(
+				new Root("first", new Pair("a", "b"), List.of("x", "y", "x"), new Leaf[]{leaf, leaf}, List.of(new Identified("id-1"),
+						new Identified("id-1")), new NestedContext("nested", leaf), new int[]{1, 2}),
+				new Root(null, null, List.of(), new Leaf[0], List.of(), null, null),
+				new Root("with:colon", new Pair("a:b", "c"), null, null, List.of(new Identified("https://example.com/absolute"),
+						new Identified("urn:uuid:6a2f41a3-c54c-fce8-32d2-0324e1c32e22")), null, null),
+				new BlankIdentified("label", new BlankIdentified("label", null)),
+				leaf);
+	}
+
+	private static ObjectMapper getObjectMapper(Supplier<String> baseIri) {
+		final SimpleModule module = new SimpleModule();
+		module.addSerializer(JsonLdContexts.class, new JsonLdContextsSerializer(baseIri));
+		Stream.of(Root.class, Leaf.class, Identified.class, NestedContext.class, BlankIdentified.class)
+				.forEach(type -> addSerializer(module, type));
+		return new ObjectMapper().registerModule(module);
+	}
+
+	private static <T> void addSerializer(SimpleModule module, Class<T> type) {
+		module.addSerializer(type, new JsonLdSerializer<>(type, FORMAT_PROVIDER));
+	}
+
+	enum Kind {
+		FIRST
+	}
+
+	@JsonLdContexts(addBaseContext = true, value = {
+			@JsonLdContext(term = "ex", iri = "https://example.com/vocab#"),
+			@JsonLdContext(term = "nodelim", iri = "https://example.com/no-delimiter"),
+			@JsonLdContext(term = "title", iri = "https://example.com/vocab#title")
+	})
+	@JsonLdType({"Root", "ex:Root", "nodelim:Root", "title"})
+	record Root(
+			@JsonLdProperty(value = "@id", formatName = "node") String id,
+			@JsonLdProperty(value = "pair", namespace = "ex", formatName = "pair", mandatory = true) Pair pair,
+			@JsonLdProperty(value = "title", mandatory = true) List<String> titles,
+			@JsonLdProperty(value = "leaf", namespace = "nodelim") Leaf[] leaves,
+			@JsonLdProperty(value = "identified", namespace = "ex") List<Identified> identified,
+			@JsonLdProperty(value = "nested", namespace = "ex") NestedContext nested,
+			@JsonLdProperty(value = "numbers", namespace = "ex") int[] numbers) {
+	}
+
+	record Pair(String first, String second) implements CompositeValue {
+
+		@Override
+		public Object[] getValues() {
+			return new Object[]{first, second};
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(getValues());
+		}
+	}
+
+	@JsonLdType("ex:Leaf")
+	record Leaf(
+			@JsonLdProperty(value = "text", namespace = "ex") String text,
+			@JsonLdProperty(value = "kind", namespace = "ex") Kind kind,
+			@JsonLdProperty(value = "flag", namespace = "ex") Boolean flag,
+			@JsonLdProperty(value = "long", namespace = "ex") Long longValue,
+			@JsonLdProperty(value = "double", namespace = "ex") Double doubleValue,
+			@JsonLdProperty(value = "float", namespace = "ex") Float floatValue,
+			@JsonLdProperty(value = "large", namespace = "ex") Double largeValue,
+			@JsonLdProperty(value = "decimal", namespace = "ex") BigDecimal decimalValue,
+			@JsonLdProperty(value = "integer", namespace = "ex") BigInteger integerValue,
+			@JsonLdProperty(value = "nan", namespace = "ex") Double nanValue,
+			@JsonLdProperty(value = "date", namespace = "ex") ZonedDateTime date) {
+	}
+
+	record Identified(@JsonLdProperty(value = "@id") String id) {
+	}
+
+	@JsonLdContexts(@JsonLdContext(term = "ex", iri = "https://example.com/nested/"))
+	@JsonLdType("ex:Nested")
+	record NestedContext(
+			@JsonLdProperty(value = "name", namespace = "ex") String name,
+			@JsonLdProperty(value = "leaf", namespace = "ex") Leaf leaf) {
+	}
+
+	@JsonLdContexts(@JsonLdContext(term = "ex", iri = "https://example.com/vocab#"))
+	record BlankIdentified(
+			@JsonLdProperty(value = "@id", formatName = "blank") String id,
+			@JsonLdProperty(value = "self", namespace = "ex") BlankIdentified self) {
+	}
+}
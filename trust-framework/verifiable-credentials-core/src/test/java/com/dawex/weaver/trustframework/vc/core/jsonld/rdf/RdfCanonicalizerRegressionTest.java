@@ -0,0 +1,70 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the in-house regression tests of the manifest in <code>rdf-canonicalization-regression</code>, whose expected results were
+ * mostly produced by rdf-urdna: each test canonicalizes the N-Quads of its action, and expects the N-Quads of its result. This is not
+ * the W3C RDF dataset canonicalization test suite.
+ */
+class RdfCanonicalizerRegressionTest {
+
+	private static final String TEST_SUITE = "/rdf-canonicalization-regression/";
+
+	@ParameterizedTest(name = "{0}: {1}")
+	@MethodSource("getRegressionTests")
+	void shouldCanonicalizeAsExpected(String id, String name, String action, String result) throws Exception {
+		// given
+		final RdfDataset rdfDataset;
+		try (Reader reader = new InputStreamReader(getResource(action), StandardCharsets.UTF_8)) {
+			rdfDataset = RdfProvider.provider().createReader(MediaType.N_QUADS, reader).readDataset();
+		}
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, output);
+
+		// then
+		try (InputStream expected = getResource(result)) {
+			assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(new String(expected.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	static Stream<Arguments> getRegressionTests() throws IOException {
+		final JsonNode manifest;
+		try (InputStream input = getResource("manifest.jsonld")) {
+			manifest = new ObjectMapper().readTree(input);
+		}
+		final List<Arguments> regressionTests = new ArrayList<>();
+		for (JsonNode entry : manifest.get("entries")) {
+			if ("Urdna2015RegressionTest".equals(entry.get("type").asText())) {
+				regressionTests.add(Arguments.of(entry.get("id").asText(), entry.get("name").asText(), entry.get("action").asText(),
+						entry.get("result").asText()));
+			}
+		}
+		return regressionTests.stream();
+	}
+
+	private static InputStream getResource(String name) {
+		return RdfCanonicalizerRegressionTest.class.getResourceAsStream(TEST_SUITE + name);
+	}
+}
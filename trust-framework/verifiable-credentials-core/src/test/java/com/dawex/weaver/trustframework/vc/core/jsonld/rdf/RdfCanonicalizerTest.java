@@ -0,0 +1,296 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException.Reason;
+import io.setl.rdf.normalization.RdfNormalize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RdfCanonicalizerTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			// no blank node
+			"""
+					{"@id": "https://dawex.com/b", "ex:name": ["Zeta", "alpha", "Line\\nbreak \\"quoted\\" \\\\", {"@value": "hola", "@language": "es"}],
+					 "ex:count": 3, "ex:ratio": 1.5, "ex:knows": {"@id": "https://dawex.com/a", "ex:name": "Société 東京"}}""",
+			// tree of blank nodes with distinct contents
+			"""
+					{"@id": "https://dawex.com/organisations/1",
+					 "ex:headquarterAddress": {"ex:country-name": "ESP", "ex:locality": {"ex:name": "Madrid"}},
+					 "ex:legalAddress": {"ex:country-name": "ESP", "ex:locality": {"ex:name": "Madrid"}}}""",
+			// blank root with blank children
+			"""
+					{"ex:distribution": [{"ex:title": "first"}, {"ex:title": "second"}], "ex:location": {"ex:name": "Paris"}}""",
+			// siblings with identical contents, requiring the n-degree hashes
+			"""
+					{"@id": "https://dawex.com/products/1", "ex:distribution": [{"ex:format": "csv"}, {"ex:format": "csv"}, {"ex:format": "json"}]}""",
+			// cycle of blank nodes
+			"""
+					{"@id": "_:a", "ex:next": {"@id": "_:b", "ex:next": {"@id": "_:c", "ex:next": {"@id": "_:a"}}}}""",
+			// named graph
+			"""
+					{"@id": "_:g", "@graph": [{"@id": "https://dawex.com/a", "ex:knows": {"ex:name": "b"}}]}"""
+	})
+	void shouldCanonicalizeSameAsRdfNormalize(String jsonLd) throws Exception {
+		// given
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader(
+				"{\"@context\": {\"ex\": \"https://example.com/vocab#\"}, \"@included\": [%s]}".formatted(jsonLd)))).get();
+
+		// when
+		final RdfDataset actual = RdfCanonicalizer.canonicalize(rdfDataset);
+
+		// then
+		assertThat(toNQuads(actual)).isEqualTo(toNQuads(RdfNormalize.normalize(rdfDataset)));
+	}
+
+	static IntStream shouldCanonicalizeRandomDatasetSameAsRdfNormalize() {
+		return IntStream.range(0, 200);
+	}
+
+	/**
+	 * Differential test of the n-degree hashing and of its permutations, on random datasets made of cliques, rings and isomorphic
+	 * copies of them, linked by quads in blank node graphs
+	 */
+	@ParameterizedTest
+	@MethodSource
+	void shouldCanonicalizeRandomDatasetSameAsRdfNormalize(int seed) throws Exception {
+		// given
+		final RdfDataset rdfDataset = readNQuads(getRandomNQuads(new Random(seed), false));
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(toNQuads(RdfNormalize.normalize(rdfDataset)));
+	}
+
+	static IntStream shouldCanonicalizeRandomDatasetRegardlessOfLabelsAndOrder() {
+		return IntStream.range(0, 100);
+	}
+
+	/**
+	 * A blank node graph shared by several quads of a blank node is related to it once per quad, as in the reference implementations
+	 * of URDNA2015, whereas rdf-urdna relates it only once: such datasets are checked against relabelled and shuffled copies of them
+	 */
+	@ParameterizedTest
+	@MethodSource
+	void shouldCanonicalizeRandomDatasetRegardlessOfLabelsAndOrder(int seed) throws Exception {
+		// given
+		final Random random = new Random(seed);
+		final String nQuads = getRandomNQuads(random, true);
+		final Map<String, String> labels = new HashMap<>();
+		final String relabelledNQuads = Pattern.compile("_:\\w+").matcher(nQuads)
+				.replaceAll(match -> labels.computeIfAbsent(match.group(), label -> "_:r" + random.nextInt(1_000_000) + "x" + labels.size()));
+		final List<String> shuffledNQuads = new ArrayList<>(relabelledNQuads.lines().toList());
+		Collections.shuffle(shuffledNQuads, random);
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(readNQuads(nQuads), output);
+		final ByteArrayOutputStream shuffledOutput = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(readNQuads(String.join("\n", shuffledNQuads) + "\n"), shuffledOutput);
+
+		// then
+		assertThat(shuffledOutput.toString(StandardCharsets.UTF_8)).isEqualTo(output.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void shouldWriteNQuadsAsNQuadsWriter() throws Exception {
+		// given
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader("""
+				{"@context": {"ex": "https://example.com/vocab#"},
+				 "ex:name": ["Tab\\tand bell\\u0007", "Line\\nbreak"], "ex:address": {"ex:locality": "Köln"}}"""))).get();
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, output);
+
+		// then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(toNQuads(RdfNormalize.normalize(rdfDataset)));
+	}
+
+	@Test
+	void shouldCanonicalizeInParallelSameAsSequentially() throws Exception {
+		// given
+		final String distributions = IntStream.range(0, 500)
+				.mapToObj(i -> "{\"ex:format\": \"%s\", \"ex:location\": {\"ex:name\": \"%s\"}}".formatted(i % 3 == 0 ? "json" : "csv", i % 7))
+				.collect(Collectors.joining(","));
+		final RdfDataset rdfDataset = JsonLd.toRdf(JsonDocument.of(new StringReader("""
+				{"@context": {"ex": "https://example.com/vocab#"}, "@id": "https://dawex.com/products/1", "ex:distribution": [%s]}"""
+				.formatted(distributions)))).get();
+		final ForkJoinPool pool = new ForkJoinPool(4);
+
+		// when
+		final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, sequential);
+		final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, parallel, pool, 0);
+		pool.shutdown();
+
+		// then
+		assertThat(parallel.toByteArray()).isEqualTo(sequential.toByteArray());
+		assertThat(toNQuads(RdfCanonicalizer.canonicalize(rdfDataset, ForkJoinPool.commonPool(), 0)))
+				.isEqualTo(parallel.toString(StandardCharsets.UTF_8));
+	}
+
+	static Stream<Arguments> shouldAbortWhenExceedingLimit() {
+		return Stream.of(
+				Arguments.of(CanonicalizationLimits.builder().maxQuads(2).build(), Reason.QUAD_LIMIT),
+				Arguments.of(CanonicalizationLimits.builder().maxBlankNodes(2).build(), Reason.BLANK_NODE_LIMIT),
+				Arguments.of(CanonicalizationLimits.builder().maxNDegreeIterations(2).build(), Reason.N_DEGREE_ITERATION_LIMIT),
+				Arguments.of(CanonicalizationLimits.builder().timeout(Duration.ZERO).build(), Reason.TIMEOUT));
+	}
+
+	@ParameterizedTest
+	@MethodSource
+	void shouldAbortWhenExceedingLimit(CanonicalizationLimits limits, Reason expectedReason) throws Exception {
+		// given
+		final RdfDataset rdfDataset = getCycleOfBlankNodes();
+
+		// when, then
+		assertThatThrownBy(() -> RdfCanonicalizer.canonicalize(rdfDataset, null, 0, limits))
+				.isInstanceOf(CanonicalizationAbortedException.class)
+				.satisfies(e -> assertThat(((CanonicalizationAbortedException) e).getReason()).isEqualTo(expectedReason));
+	}
+
+	@Test
+	void shouldCanonicalizeWithinLimits() throws Exception {
+		// given
+		final RdfDataset rdfDataset = getCycleOfBlankNodes();
+		final CanonicalizationLimits limits = CanonicalizationLimits.builder()
+				.maxQuads(3)
+				.maxBlankNodes(3)
+				.maxNDegreeIterations(100)
+				.timeout(Duration.ofMinutes(1))
+				.build();
+
+		// when
+		final RdfDataset actual = RdfCanonicalizer.canonicalize(rdfDataset, null, 0, limits);
+
+		// then
+		assertThat(toNQuads(actual)).isEqualTo(toNQuads(RdfNormalize.normalize(rdfDataset)));
+	}
+
+	@Test
+	void shouldAbortWhenCancelled() throws Exception {
+		// given
+		final RdfDataset rdfDataset = getCycleOfBlankNodes();
+		final ForkJoinPool pool = new ForkJoinPool(2);
+
+		// when
+		Thread.currentThread().interrupt();
+		try {
+			// then
+			assertThatThrownBy(() -> RdfCanonicalizer.canonicalize(rdfDataset, pool, 0, CanonicalizationLimits.UNLIMITED))
+					.isInstanceOf(CanonicalizationAbortedException.class)
+					.satisfies(e -> assertThat(((CanonicalizationAbortedException) e).getReason()).isEqualTo(Reason.CANCELLED));
+		} finally {
+			Thread.interrupted();
+			pool.shutdown();
+		}
+	}
+
+	private static RdfDataset getCycleOfBlankNodes() throws Exception {
+		return JsonLd.toRdf(JsonDocument.of(new StringReader("""
+				{"@context": {"ex": "https://example.com/vocab#"},
+				 "@id": "_:a", "ex:next": {"@id": "_:b", "ex:next": {"@id": "_:c", "ex:next": {"@id": "_:a"}}}}"""))).get();
+	}
+
+	/**
+	 * Returns N-Quads made of a few components, each one being a clique or a ring of blank nodes copied one to three times under new
+	 * labels, in the default graph, a named graph or, if the blank node graphs are shared, a blank node graph. The components are
+	 * linked by a few quads, each one in the default graph or in its own blank node graph, which may be a node of the components.
+	 */
+	private static String getRandomNQuads(Random random, boolean sharedBlankNodeGraphs) {
+		final List<String> predicates = List.of("<https://example.com/vocab#p>", "<https://example.com/vocab#q>");
+		final List<String> objects = List.of("\"a\"", "\"b\"", "<https://example.com/c>");
+		final List<String> blankNodes = new ArrayList<>();
+		final StringBuilder nQuads = new StringBuilder();
+		final int componentCount = 1 + random.nextInt(3);
+		for (int component = 0; component < componentCount; component++) {
+			final int size = 2 + random.nextInt(3);
+			final boolean clique = random.nextBoolean();
+			final List<int[]> edges = new ArrayList<>();
+			for (int from = 0; from < size; from++) {
+				for (int to = 0; to < size; to++) {
+					if (clique ? from != to : to == (from + 1) % size) {
+						edges.add(new int[] {from, to, random.nextInt(predicates.size())});
+					}
+				}
+			}
+			final int copyCount = 1 + random.nextInt(3);
+			for (int copy = 0; copy < copyCount; copy++) {
+				final String prefix = "_:n" + component + "x" + copy + "x";
+				final String graphName = switch (random.nextInt(sharedBlankNodeGraphs ? 3 : 2)) {
+					case 0 -> "";
+					case 1 -> " <https://example.com/graphs/" + random.nextInt(2) + ">";
+					default -> " _:g" + random.nextInt(2);
+				};
+				for (int[] edge : edges) {
+					nQuads.append(prefix).append(edge[0]).append(' ').append(predicates.get(edge[2])).append(' ')
+							.append(prefix).append(edge[1]).append(graphName).append(" .\n");
+				}
+				IntStream.range(0, size).forEach(node -> blankNodes.add(prefix + node));
+			}
+		}
+		final Set<String> links = new HashSet<>();
+		final int linkCount = random.nextInt(5);
+		for (int link = 0; link < linkCount; link++) {
+			final String subject = blankNodes.get(random.nextInt(blankNodes.size()));
+			final String object = random.nextBoolean()
+					? blankNodes.get(random.nextInt(blankNodes.size()))
+					: objects.get(random.nextInt(objects.size()));
+			if (links.add(subject + ' ' + object)) {
+				final String graphName = switch (random.nextInt(3)) {
+					case 0 -> "";
+					case 1 -> " _:l" + link;
+					default -> " " + blankNodes.get(random.nextInt(blankNodes.size()));
+				};
+				nQuads.append(subject).append(" <https://example.com/vocab#link> ").append(object).append(graphName).append(" .\n");
+			}
+		}
+		return nQuads.toString();
+	}
+
+	private static RdfDataset readNQuads(String nQuads) throws Exception {
+		return RdfProvider.provider().createReader(MediaType.N_QUADS, new StringReader(nQuads)).readDataset();
+	}
+
+	private static String toNQuads(RdfDataset rdfDataset) throws Exception {
+		final StringWriter writer = new StringWriter();
+		RdfProvider.provider().createWriter(MediaType.N_QUADS, writer).write(rdfDataset);
+		return writer.toString();
+	}
+}
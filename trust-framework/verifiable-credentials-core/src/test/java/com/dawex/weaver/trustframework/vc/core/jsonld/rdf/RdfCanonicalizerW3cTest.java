@@ -0,0 +1,137 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import com.dawex.weaver.trustframework.vc.core.canonicalization.exception.CanonicalizationAbortedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the evaluation tests of the W3C RDF dataset canonicalization test suite, vendored in <code>w3c-rdf-canon</code>: the RDFC-1.0
+ * tests of the w3c/rdf-canon manifest, and the URDNA2015 tests of the former json-ld/rdf-dataset-canonicalization manifest. The tests
+ * are skipped while the suite is not vendored, see the README of the directory.
+ * <p>
+ * The map tests, and the tests of other hash algorithms than SHA-256, are not run. The negative tests expect the canonicalization to
+ * be aborted by the n-degree iteration limit.
+ */
+class RdfCanonicalizerW3cTest {
+
+	private static final String TEST_SUITE = "/w3c-rdf-canon/";
+
+	private static final List<String> MANIFESTS = List.of("manifest.jsonld", "manifest-urdna2015.jsonld");
+
+	private static final CanonicalizationLimits NEGATIVE_TEST_LIMITS = CanonicalizationLimits.builder()
+			.maxNDegreeIterations(100_000)
+			.build();
+
+	@ParameterizedTest(name = "{0}: {2}")
+	@MethodSource("getEvalTests")
+	void shouldCanonicalizeAsExpected(String id, RdfCanonicalizer.Algorithm algorithm, String name, String action, String result)
+			throws Exception {
+		// given
+		final RdfDataset rdfDataset = readDataset(action);
+
+		// when
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RdfCanonicalizer.writeNQuads(rdfDataset, output, algorithm, null, 0, CanonicalizationLimits.UNLIMITED);
+
+		// then
+		try (InputStream expected = getResource(result)) {
+			assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(new String(expected.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@ParameterizedTest(name = "{0}: {2}")
+	@MethodSource("getNegativeEvalTests")
+	void shouldAbortCanonicalization(String id, RdfCanonicalizer.Algorithm algorithm, String name, String action) throws Exception {
+		// given
+		final RdfDataset rdfDataset = readDataset(action);
+
+		// when, then
+		assertThatThrownBy(() -> RdfCanonicalizer.writeNQuads(rdfDataset, OutputStream.nullOutputStream(), algorithm, null, 0,
+				NEGATIVE_TEST_LIMITS))
+				.isInstanceOf(CanonicalizationAbortedException.class);
+	}
+
+	static Stream<Arguments> getEvalTests() throws IOException {
+		return getTests(false);
+	}
+
+	static Stream<Arguments> getNegativeEvalTests() throws IOException {
+		return getTests(true);
+	}
+
+	/**
+	 * Returns the evaluation tests of the vendored manifests, e.g. of type <code>rdfc:RDFC10EvalTest</code>, or their negative ones
+	 */
+	private static Stream<Arguments> getTests(boolean negative) throws IOException {
+		final List<Arguments> tests = new ArrayList<>();
+		boolean vendored = false;
+		for (String manifestName : MANIFESTS) {
+			final JsonNode manifest;
+			try (InputStream input = getResource(manifestName)) {
+				if (input == null) {
+					continue;
+				}
+				manifest = new ObjectMapper().readTree(input);
+			}
+			vendored = true;
+			for (JsonNode entry : manifest.get("entries")) {
+				final String type = entry.path("type").asText(entry.path("@type").asText());
+				final RdfCanonicalizer.Algorithm algorithm = getAlgorithm(type);
+				if (algorithm == null || !type.endsWith("EvalTest") || type.endsWith("NegativeEvalTest") != negative
+						|| !"SHA256".equals(entry.path("hashAlgorithm").asText("SHA256"))) {
+					continue;
+				}
+				final String id = entry.path("id").asText(entry.path("@id").asText());
+				final String name = entry.get("name").asText();
+				final String action = entry.get("action").asText();
+				tests.add(negative
+						? Arguments.of(id, algorithm, name, action)
+						: Arguments.of(id, algorithm, name, action, entry.get("result").asText()));
+			}
+		}
+		Assumptions.assumeTrue(vendored, "The W3C RDF dataset canonicalization test suite is not vendored in " + TEST_SUITE);
+		Assumptions.assumeFalse(tests.isEmpty(), "The vendored manifests have no such test");
+		return tests.stream();
+	}
+
+	private static RdfCanonicalizer.Algorithm getAlgorithm(String type) {
+		if (type.contains("RDFC10")) {
+			return RdfCanonicalizer.Algorithm.RDFC_1_0;
+		}
+		if (type.contains("Urdna2015")) {
+			return RdfCanonicalizer.Algorithm.URDNA2015;
+		}
+		return null;
+	}
+
+	private static RdfDataset readDataset(String action) throws Exception {
+		try (Reader reader = new InputStreamReader(getResource(action), StandardCharsets.UTF_8)) {
+			return RdfProvider.provider().createReader(MediaType.N_QUADS, reader).readDataset();
+		}
+	}
+
+	private static InputStream getResource(String name) {
+		return RdfCanonicalizerW3cTest.class.getResourceAsStream(TEST_SUITE + name);
+	}
+}
@@ -0,0 +1,24 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.rdf;
+
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.spi.RdfProvider;
+import io.setl.rdf.normalization.RdfNormalize;
+
+import java.io.StringWriter;
+
+public class RdfDatasetTestUtils {
+
+	private RdfDatasetTestUtils() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns the N-Quads of the dataset canonicalized by rdf-urdna, for comparing datasets regardless of their blank node labels
+	 */
+	public static String toCanonicalNQuads(RdfDataset rdfDataset) throws Exception {
+		final StringWriter writer = new StringWriter();
+		RdfProvider.provider().createWriter(MediaType.N_QUADS, writer).write(RdfNormalize.normalize(rdfDataset));
+		return writer.toString();
+	}
+}
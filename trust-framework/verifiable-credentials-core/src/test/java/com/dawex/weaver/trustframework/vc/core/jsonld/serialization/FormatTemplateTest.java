@@ -0,0 +1,112 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.MissingFormatArgumentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormatTemplateTest {
+
+	private static final Object[] VALUES = {"62bab5ae84fd784b1541e8f3", "62b570acb33e417edcb345ee", null};
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"./organisations/%s",
+			"./organisations/%s/dataproducts/%s/verifiableCredential",
+			"%s",
+			"no argument",
+			"",
+			"%2$s/%1$s/%s",
+			"100%% %s%n",
+			"%s-%3$s",
+			"%-30s|",
+			"%S",
+			"%.3s",
+			"%d%%",
+			"%<s"
+	})
+	void shouldFormatLikeStringFormat(String format) {
+		// given
+		final FormatTemplate template = FormatTemplate.compile(format);
+
+		// when
+		final Object expected = formatOrException(format, VALUES);
+		final Object actual = applyOrException(template, VALUES);
+
+		// then
+		assertThat(actual).isEqualTo(expected);
+		assertThat(template.getFormat()).isEqualTo(format);
+	}
+
+	@Test
+	void shouldFormatSingleValue() {
+		assertThat(FormatTemplate.compile("./organisations/%s/verifiableCredential").apply("62b573deb33e417ed-issuer"))
+				.isEqualTo("./organisations/62b573deb33e417ed-issuer/verifiableCredential");
+	}
+
+	@Test
+	void shouldFormatFormattableValue() {
+		final Formattable formattable = (formatter, flags, width, precision) -> formatter.format("formattable");
+
+		assertThat(FormatTemplate.compile("<%s>").apply(formattable)).isEqualTo("<formattable>");
+	}
+
+	@Test
+	void shouldThrowLikeStringFormatWhenArgumentIsMissing() {
+		final FormatTemplate template = FormatTemplate.compile("%s/%s");
+
+		assertThatThrownBy(() -> template.apply("single")).isInstanceOf(MissingFormatArgumentException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"./organisations/%s",
+			"./organisations/%s/dataproducts/%s/verifiableCredential",
+			"%s",
+			"%2$s/%1$s",
+			"100%% %s%n"
+	})
+	void shouldParseFormattedValues(String format) {
+		// given
+		final FormatTemplate template = FormatTemplate.compile(format);
+		final String[] values = {"62bab5ae84fd784b1541e8f3", "62b570acb33e417edcb345ee"};
+
+		// when
+		final String[] actual = template.parse(format.formatted((Object[]) values));
+
+		// then
+		assertThat(template.apply(actual)).isEqualTo(format.formatted((Object[]) values));
+		assertThat(actual).isSubsetOf(values);
+	}
+
+	@Test
+	void shouldNotParseValueNotMatchingFormat() {
+		assertThat(FormatTemplate.compile("./organisations/%s").parse("./dataproducts/62bab5ae84fd784b1541e8f3")).isNull();
+		assertThat(FormatTemplate.compile("./organisations/%s/verifiableCredential").parse("./organisations/62bab5ae84fd784b1541e8f3"))
+				.isNull();
+		assertThat(FormatTemplate.compile("%s%s").parse("ab")).isNull();
+		assertThat(FormatTemplate.compile("%-10s").parse("a         ")).isNull();
+	}
+
+	private static Object formatOrException(String format, Object[] values) {
+		try {
+			return new Formatter().format(format, values).toString();
+		} catch (RuntimeException e) {
+			return e.getClass();
+		}
+	}
+
+	private static Object applyOrException(FormatTemplate template, Object[] values) {
+		try {
+			return template.apply(values);
+		} catch (RuntimeException e) {
+			return e.getClass();
+		}
+	}
+}
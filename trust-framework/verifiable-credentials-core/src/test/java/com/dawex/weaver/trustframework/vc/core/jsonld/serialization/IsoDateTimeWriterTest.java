@@ -0,0 +1,83 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsoDateTimeWriterTest {
+
+	private static final List<ZoneId> ZONES = List.of(
+			ZoneOffset.UTC,
+			ZoneOffset.ofHours(2),
+			ZoneOffset.ofHoursMinutes(-9, -30),
+			ZoneOffset.ofHoursMinutesSeconds(5, 45, 30),
+			ZoneOffset.ofTotalSeconds(-1),
+			ZoneOffset.MAX,
+			ZoneOffset.MIN,
+			ZoneId.of("UTC"),
+			ZoneId.of("Europe/Paris"),
+			ZoneId.of("America/Argentina/Buenos_Aires"),
+			ZoneId.of("GMT+01:00"));
+
+	@Test
+	void shouldFormatUtcDateTime() {
+		final ZonedDateTime value = LocalDateTime.of(2022, 7, 28, 15, 16, 1, 999_999_999).atZone(ZoneOffset.UTC);
+
+		assertThat(IsoDateTimeWriter.format(value)).isEqualTo("2022-07-28T15:16:01Z");
+	}
+
+	@Test
+	void shouldFormatLikeIsoZonedDateTimeFormatter() throws IOException {
+		final Random random = new Random(42);
+		for (int i = 0; i < 10_000; i++) {
+			// given
+			final LocalDateTime localDateTime = LocalDateTime.of(
+					randomYear(random),
+					1 + random.nextInt(12),
+					1 + random.nextInt(28),
+					random.nextInt(24),
+					random.nextInt(60),
+					random.nextInt(60),
+					random.nextBoolean() ? 0 : random.nextInt(1_000_000_000));
+			final ZonedDateTime value = localDateTime.atZone(ZONES.get(random.nextInt(ZONES.size())));
+			final String expected = value.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+
+			// when
+			final String formatted = IsoDateTimeWriter.format(value);
+			final String written = write(value);
+
+			// then
+			assertThat(formatted).isEqualTo(expected);
+			assertThat(written).isEqualTo("\"" + expected + "\"");
+		}
+	}
+
+	private static int randomYear(Random random) {
+		return switch (random.nextInt(10)) {
+			case 0 -> -50_000 + random.nextInt(100_000);
+			case 1 -> random.nextInt(10_000);
+			default -> 1970 + random.nextInt(100);
+		};
+	}
+
+	private static String write(ZonedDateTime value) throws IOException {
+		final StringWriter writer = new StringWriter();
+		try (final JsonGenerator jsonGenerator = new JsonFactory().createGenerator(writer)) {
+			IsoDateTimeWriter.write(value, jsonGenerator);
+		}
+		return writer.toString();
+	}
+}
@@ -0,0 +1,65 @@
+package com.dawex.weaver.trustframework.vc.core.jsonld.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContext;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLdContextsSerializerTest {
+
+	@Test
+	void shouldSerializeContextsWithCurrentBaseIri() throws JsonProcessingException {
+		// given
+		final AtomicReference<String> baseIri = new AtomicReference<>("https://dawex.com");
+		final ObjectMapper objectMapper = getObjectMapper(baseIri);
+		final JsonLdContexts jsonLdContexts = WithContexts.class.getAnnotation(JsonLdContexts.class);
+
+		// when
+		final String first = objectMapper.writeValueAsString(jsonLdContexts);
+		final String second = objectMapper.writeValueAsString(jsonLdContexts);
+		baseIri.set("https://weaver.dawex.com");
+		final String afterChange = objectMapper.writeValueAsString(jsonLdContexts);
+
+		// then
+		assertThat(first)
+				.isEqualTo(second)
+				.isEqualTo("{\"@base\":\"https://dawex.com\",\"sd\":\"https://www.w3.org/2018/credentials/v1\",\"q\":\"quote\\\"d\"}");
+		assertThat(afterChange)
+				.isEqualTo("{\"@base\":\"https://weaver.dawex.com\",\"sd\":\"https://www.w3.org/2018/credentials/v1\",\"q\":\"quote\\\"d\"}");
+	}
+
+	@Test
+	void shouldSerializeContextsWithoutBaseIri() throws JsonProcessingException {
+		// given
+		final ObjectMapper objectMapper = getObjectMapper(new AtomicReference<>("https://dawex.com"));
+
+		// when
+		final String actual = objectMapper.writeValueAsString(WithoutBase.class.getAnnotation(JsonLdContexts.class));
+
+		// then
+		assertThat(actual).isEqualTo("{\"sd\":\"https://www.w3.org/2018/credentials/v1\"}");
+	}
+
+	private static ObjectMapper getObjectMapper(AtomicReference<String> baseIri) {
+		final SimpleModule module = new SimpleModule();
+		module.addSerializer(JsonLdContexts.class, new JsonLdContextsSerializer(baseIri::get));
+		return new ObjectMapper().registerModule(module);
+	}
+
+	@JsonLdContexts(addBaseContext = true, value = {
+			@JsonLdContext(term = "sd", iri = "https://www.w3.org/2018/credentials/v1"),
+			@JsonLdContext(term = "q", iri = "quote\"d")
+	})
+	private static class WithContexts {
+	}
+
+	@JsonLdContexts(@JsonLdContext(term = "sd", iri = "https://www.w3.org/2018/credentials/v1"))
+	private static class WithoutBase {
+	}
+}
@@ -0,0 +1,85 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+	@Test
+	void shouldEvictLeastRecentlyUsedEntriesOnceFull() {
+		// given
+		final BoundedCache<String, Integer> cache = new BoundedCache<>(8);
+		for (int i = 0; i < 8; i++) {
+			cache.put("key" + i, i);
+		}
+		cache.get("key0");
+		cache.get("key1");
+
+		// when
+		cache.put("key8", 8);
+
+		// then
+		assertThat(cache.size()).isEqualTo(7);
+		assertThat(cache.get("key0")).isZero();
+		assertThat(cache.get("key1")).isEqualTo(1);
+		assertThat(cache.get("key8")).isEqualTo(8);
+		assertThat(cache.containsKey("key2")).isFalse();
+		assertThat(cache.containsKey("key3")).isFalse();
+		assertThat(cache.containsKey("key4")).isTrue();
+	}
+
+	@Test
+	void shouldRemoveEntry() {
+		// given
+		final BoundedCache<String, Integer> cache = new BoundedCache<>(8);
+		cache.put("key", 1);
+
+		// when
+		cache.remove("key");
+
+		// then
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void shouldStayBoundedWhenFilledConcurrently() throws Exception {
+		// given
+		final BoundedCache<Integer, Integer> cache = new BoundedCache<>(64);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		// when
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int thread = 0; thread < 4; thread++) {
+			final int offset = thread * 10_000;
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					cache.put(offset + i, i);
+					cache.get(offset + i / 2);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(cache.size()).isBetween(1, 64);
+	}
+
+	@Test
+	void withNonPositiveMaxSizeShouldThrowIllegalArgumentException() {
+		// when, then
+		assertThatThrownBy(() -> new BoundedCache<>(0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
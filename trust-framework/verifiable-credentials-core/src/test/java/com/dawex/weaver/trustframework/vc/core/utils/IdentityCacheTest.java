@@ -0,0 +1,49 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityCacheTest {
+
+	@Test
+	void shouldComputeValueOncePerKeyInstance() {
+		// given
+		final IdentityCache<String, Integer> cache = new IdentityCache<>();
+		final AtomicInteger computations = new AtomicInteger();
+		final String key = "key";
+		final String equalKey = new String(key);
+
+		// when
+		final Integer first = cache.computeIfAbsent(key, k -> computations.incrementAndGet());
+		final Integer second = cache.computeIfAbsent(key, k -> computations.incrementAndGet());
+		final Integer other = cache.computeIfAbsent(equalKey, k -> computations.incrementAndGet());
+
+		// then
+		assertThat(first).isEqualTo(1).isSameAs(second);
+		assertThat(other).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldComputeValueOncePerAnnotatedElement() throws Exception {
+		// given
+		final IdentityCache<JsonLdProperty, String> cache = new IdentityCache<>();
+		final AtomicInteger computations = new AtomicInteger();
+
+		// when
+		for (int i = 0; i < 3; i++) {
+			cache.computeIfAbsent(SignedObject.class.getDeclaredField("proof").getAnnotation(JsonLdProperty.class), annotation -> {
+				computations.incrementAndGet();
+				return annotation.value();
+			});
+		}
+
+		// then
+		assertThat(computations).hasValue(1);
+	}
+}
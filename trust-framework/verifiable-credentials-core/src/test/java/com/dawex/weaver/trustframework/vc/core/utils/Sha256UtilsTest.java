@@ -0,0 +1,36 @@
+package com.dawex.weaver.trustframework.vc.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Sha256UtilsTest {
+
+	@Test
+	void shouldConvertToLowercaseHex() {
+		// given
+		final byte[] bytes = {0x00, 0x0f, (byte) 0x9a, (byte) 0xff, 0x10};
+
+		// when
+		final String actual = Sha256Utils.toHex(bytes);
+
+		// then
+		assertThat(actual).isEqualTo("000f9aff10");
+	}
+
+	@Test
+	void shouldDigestToBase64Url() {
+		// given
+		final byte[] bytes = "abc".getBytes(StandardCharsets.UTF_8);
+
+		// when
+		final String actual = Sha256Utils.toBase64UrlDigest(bytes);
+
+		// then
+		assertThat(actual).isEqualTo("ungWv48Bz-pBQUDeXa4iI7ADYaOWF3qctBD_YfIAFa0");
+		assertThat(Sha256Utils.toHex(Sha256Utils.newDigest().digest(bytes)))
+				.isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+	}
+}
@@ -151,6 +151,10 @@ public class DataProductVerifiableCredential {
 	}
 
 	public record Id(String dataProductId, String organisationId) implements CompositeValue {
+		public static Id fromValues(Object[] values) {
+			return new Id((String) values[1], (String) values[0]);
+		}
+
 		@Override
 		public Object[] getValues() {
 			return new Object[]{organisationId, dataProductId};
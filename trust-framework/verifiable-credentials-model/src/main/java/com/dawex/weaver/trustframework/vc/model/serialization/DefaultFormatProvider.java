@@ -2,18 +2,31 @@ package com.dawex.weaver.trustframework.vc.model.serialization;
 
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatTemplate;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.SkolemIri;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Format provider backed by a map of formats, compiled when they are saved.
+ * It is safe to share it between threads, including while formats are saved.
+ */
 public class DefaultFormatProvider implements FormatProvider {
 
-	private final Map<String, String> formats = new HashMap<>();
+	private final Map<String, FormatTemplate> templates = new ConcurrentHashMap<>();
+
+	private volatile boolean skolemizationEnabled;
 
 	@Override
 	public Optional<String> getFormat(String formatName) {
-		return Optional.ofNullable(formats.get(formatName));
+		return getTemplate(formatName).map(FormatTemplate::getFormat);
+	}
+
+	@Override
+	public Optional<FormatTemplate> getTemplate(String formatName) {
+		return formatName == null ? Optional.empty() : Optional.ofNullable(templates.get(formatName));
 	}
 
 	/**
@@ -23,6 +36,24 @@ public class DefaultFormatProvider implements FormatProvider {
 	 * @param format     is the format, following the {@link java.util.Formatter} syntax, where the argument is replaced by the attribute value
 	 */
 	public void setFormat(String formatName, String format) {
-		formats.put(formatName, format);
+		if (format == null) {
+			templates.remove(formatName);
+		} else {
+			templates.put(formatName, FormatTemplate.compile(format));
+		}
+	}
+
+	@Override
+	public boolean isSkolemizationEnabled() {
+		return skolemizationEnabled;
+	}
+
+	/**
+	 * Enables or disables the skolemization of the nested objects without identifier, such as addresses or distributions.
+	 *
+	 * @param skolemizationEnabled true to give them deterministic IRIs, see {@link SkolemIri}
+	 */
+	public void setSkolemizationEnabled(boolean skolemizationEnabled) {
+		this.skolemizationEnabled = skolemizationEnabled;
 	}
 }
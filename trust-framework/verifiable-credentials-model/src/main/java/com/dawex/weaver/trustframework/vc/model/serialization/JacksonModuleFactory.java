@@ -3,18 +3,28 @@ package com.dawex.weaver.trustframework.vc.model.serialization;
 import com.dawex.weaver.trustframework.vc.core.Proof;
 import com.dawex.weaver.trustframework.vc.core.SignedObject;
 import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.deserialization.JsonLdDeserializer;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdContextsSerializer;
 import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer;
+import com.dawex.weaver.trustframework.vc.core.serialization.SignedObjectJsonLdDeserializer;
 import com.dawex.weaver.trustframework.vc.core.serialization.SignedObjectJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.Address;
+import com.dawex.weaver.trustframework.vc.model.AddressJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.dataproduct.AggregationOf;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.AggregationOfJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductCredentialSubjectJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredentialJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.dataproduct.Distribution;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DistributionJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.dataproduct.Location;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.LocationJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationCredentialSubjectJsonLdSerializer;
 import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredentialJsonLdSerializer;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
@@ -23,36 +33,50 @@ import java.util.function.Supplier;
 public class JacksonModuleFactory {
 
 	/**
-	 * Create a configured Jackson module for serializing organisation verifiable credentials
+	 * Create a configured Jackson module for serializing and deserializing organisation verifiable credentials.
+	 * The model serializers are generated at compile time from the JSON-LD annotations.
 	 */
 	public static Module organisationSerializationModule(FormatProvider formatProvider, Supplier<String> baseIriSupplier) {
 		final SimpleModule module = new SimpleModule();
-		module.addSerializer(Address.class, new JsonLdSerializer<>(Address.class, formatProvider));
-		module.addSerializer(OrganisationCredentialSubject.class, new JsonLdSerializer<>(OrganisationCredentialSubject.class,
-				formatProvider));
+		module.addSerializer(Address.class, new AddressJsonLdSerializer(formatProvider));
+		module.addSerializer(OrganisationCredentialSubject.class, new OrganisationCredentialSubjectJsonLdSerializer(formatProvider));
 		module.addSerializer(JsonLdContexts.class, new JsonLdContextsSerializer(baseIriSupplier));
-		module.addSerializer(OrganisationVerifiableCredential.class, new JsonLdSerializer<>(OrganisationVerifiableCredential.class,
-				formatProvider));
+		module.addSerializer(OrganisationVerifiableCredential.class, new OrganisationVerifiableCredentialJsonLdSerializer(formatProvider));
 		module.addSerializer(Proof.class, new JsonLdSerializer<>(Proof.class, formatProvider));
 		module.addSerializer(SignedObject.class, new SignedObjectJsonLdSerializer(formatProvider));
+		module.addDeserializer(Address.class, new JsonLdDeserializer<>(Address.class, formatProvider));
+		module.addDeserializer(OrganisationCredentialSubject.class,
+				new JsonLdDeserializer<>(OrganisationCredentialSubject.class, formatProvider));
+		module.addDeserializer(OrganisationVerifiableCredential.class,
+				new JsonLdDeserializer<>(OrganisationVerifiableCredential.class, formatProvider));
+		module.addDeserializer(Proof.class, new JsonLdDeserializer<>(Proof.class, formatProvider));
+		module.addDeserializer(SignedObject.class, new SignedObjectJsonLdDeserializer());
 		return module;
 	}
 
 	/**
-	 * Create a configured Jackson module for serializing data product verifiable credentials
+	 * Create a configured Jackson module for serializing and deserializing data product verifiable credentials.
+	 * The model serializers are generated at compile time from the JSON-LD annotations.
 	 */
 	public static Module dataProductSerializationModule(FormatProvider formatProvider, Supplier<String> baseIriSupplier) {
 		final SimpleModule module = new SimpleModule();
-		module.addSerializer(AggregationOf.class, new JsonLdSerializer<>(AggregationOf.class, formatProvider));
-		module.addSerializer(DataProductCredentialSubject.class,
-				new JsonLdSerializer<>(DataProductCredentialSubject.class, formatProvider));
-		module.addSerializer(Distribution.class, new JsonLdSerializer<>(Distribution.class, formatProvider));
+		module.addSerializer(AggregationOf.class, new AggregationOfJsonLdSerializer(formatProvider));
+		module.addSerializer(DataProductCredentialSubject.class, new DataProductCredentialSubjectJsonLdSerializer(formatProvider));
+		module.addSerializer(Distribution.class, new DistributionJsonLdSerializer(formatProvider));
 		module.addSerializer(JsonLdContexts.class, new JsonLdContextsSerializer(baseIriSupplier));
-		module.addSerializer(Location.class, new JsonLdSerializer<>(Location.class, formatProvider));
-		module.addSerializer(DataProductVerifiableCredential.class,
-				new JsonLdSerializer<>(DataProductVerifiableCredential.class, formatProvider));
+		module.addSerializer(Location.class, new LocationJsonLdSerializer(formatProvider));
+		module.addSerializer(DataProductVerifiableCredential.class, new DataProductVerifiableCredentialJsonLdSerializer(formatProvider));
 		module.addSerializer(Proof.class, new JsonLdSerializer<>(Proof.class, formatProvider));
 		module.addSerializer(SignedObject.class, new SignedObjectJsonLdSerializer(formatProvider));
+		module.addDeserializer(AggregationOf.class, new JsonLdDeserializer<>(AggregationOf.class, formatProvider));
+		module.addDeserializer(DataProductCredentialSubject.class,
+				new JsonLdDeserializer<>(DataProductCredentialSubject.class, formatProvider));
+		module.addDeserializer(Distribution.class, new JsonLdDeserializer<>(Distribution.class, formatProvider));
+		module.addDeserializer(Location.class, new JsonLdDeserializer<>(Location.class, formatProvider));
+		module.addDeserializer(DataProductVerifiableCredential.class,
+				new JsonLdDeserializer<>(DataProductVerifiableCredential.class, formatProvider));
+		module.addDeserializer(Proof.class, new JsonLdDeserializer<>(Proof.class, formatProvider));
+		module.addDeserializer(SignedObject.class, new SignedObjectJsonLdDeserializer());
 		return module;
 	}
 
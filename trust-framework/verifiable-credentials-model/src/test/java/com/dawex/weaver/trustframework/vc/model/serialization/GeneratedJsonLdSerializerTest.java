@@ -0,0 +1,178 @@
+package com.dawex.weaver.trustframework.vc.model.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.Proof;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdType;
+import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdContextsSerializer;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer;
+import com.dawex.weaver.trustframework.vc.core.serialization.SignedObjectJsonLdSerializer;
+import com.dawex.weaver.trustframework.vc.model.Address;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.AggregationOf;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Distribution;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Location;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getDataProductVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getFormatProvider;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getOrganisationVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getProof;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The serializers generated at compile time must produce exactly the same JSON as the reflective {@link JsonLdSerializer}
+ */
+class GeneratedJsonLdSerializerTest {
+
+	private static final String BASE_IRI = "https://dawex.com";
+
+	private static final FormatProvider FORMAT_PROVIDER = getFormatProvider();
+
+	@Test
+	void shouldSerializeOrganisationVerifiableCredentialLikeReflectiveSerializer() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final var generated = getObjectMapper(JacksonModuleFactory.organisationSerializationModule(FORMAT_PROVIDER, () -> BASE_IRI));
+		final var reflective = getObjectMapper(reflectiveModule(Address.class, OrganisationCredentialSubject.class,
+				OrganisationVerifiableCredential.class));
+
+		// when
+		final var generatedJson = generated.writeValueAsString(verifiableCredential);
+		final var reflectiveJson = reflective.writeValueAsString(verifiableCredential);
+		final var generatedSignedJson = generated.writeValueAsString(new SignedObject<>(verifiableCredential, getProof()));
+		final var reflectiveSignedJson = reflective.writeValueAsString(new SignedObject<>(verifiableCredential, getProof()));
+
+		// then
+		assertThat(generatedJson).isEqualTo(reflectiveJson);
+		assertThat(generatedSignedJson).isEqualTo(reflectiveSignedJson);
+	}
+
+	@Test
+	void shouldSerializeDataProductVerifiableCredentialLikeReflectiveSerializer() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getDataProductVerifiableCredential();
+		final var generated = getObjectMapper(JacksonModuleFactory.dataProductSerializationModule(FORMAT_PROVIDER, () -> BASE_IRI));
+		final var reflective = getObjectMapper(reflectiveModule(AggregationOf.class, DataProductCredentialSubject.class,
+				Distribution.class, Location.class, DataProductVerifiableCredential.class));
+
+		// when
+		final var generatedJson = generated.writeValueAsString(verifiableCredential);
+		final var reflectiveJson = reflective.writeValueAsString(verifiableCredential);
+		final var generatedSignedJson = generated.writeValueAsString(new SignedObject<>(verifiableCredential, getProof()));
+		final var reflectiveSignedJson = reflective.writeValueAsString(new SignedObject<>(verifiableCredential, getProof()));
+
+		// then
+		assertThat(generatedJson).isEqualTo(reflectiveJson);
+		assertThat(generatedSignedJson).isEqualTo(reflectiveSignedJson);
+	}
+
+	@Test
+	void shouldSerializeGetterOnlyClassLikeReflectiveSerializer() throws JsonProcessingException {
+		// given
+		final var contact = new Contact("Mercat de la Boqueria", "contact@boqueria.barcelona");
+		final var generated = getObjectMapper(new SimpleModule()
+				.addSerializer(Contact.class, new GeneratedJsonLdSerializerTest_ContactJsonLdSerializer(FORMAT_PROVIDER)));
+		final var reflective = getObjectMapper(reflectiveModule(Contact.class));
+
+		// when
+		final var generatedJson = generated.writeValueAsString(contact);
+		final var reflectiveJson = reflective.writeValueAsString(contact);
+
+		// then
+		assertThat(generatedJson)
+				.isEqualTo(reflectiveJson)
+				.contains("\"vcard:fn\" : \"Mercat de la Boqueria\"", "\"vcard:hasEmail\" : \"contact@boqueria.barcelona\"");
+	}
+
+	@Test
+	void shouldWrapExceptionOfGetterLikeReflectiveSerializer() {
+		// given
+		final var contact = new UnreachableContact();
+		final var generated = getObjectMapper(new SimpleModule()
+				.addSerializer(UnreachableContact.class, new GeneratedJsonLdSerializerTest_UnreachableContactJsonLdSerializer(FORMAT_PROVIDER)));
+		final var reflective = getObjectMapper(reflectiveModule(UnreachableContact.class));
+
+		// when, then
+		for (ObjectMapper objectMapper : List.of(generated, reflective)) {
+			assertThatThrownBy(() -> objectMapper.writeValueAsString(contact))
+					.isInstanceOf(JsonMappingException.class)
+					.cause()
+					.isInstanceOf(JsonLdSerializationException.class)
+					.cause()
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessage("unreachable");
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Module reflectiveModule(Class<?>... modelClasses) {
+		final SimpleModule module = new SimpleModule();
+		for (Class modelClass : modelClasses) {
+			module.addSerializer(modelClass, new JsonLdSerializer<>(modelClass, FORMAT_PROVIDER));
+		}
+		module.addSerializer(JsonLdContexts.class, new JsonLdContextsSerializer(() -> BASE_IRI));
+		module.addSerializer(Proof.class, new JsonLdSerializer<>(Proof.class, FORMAT_PROVIDER));
+		module.addSerializer(SignedObject.class, new SignedObjectJsonLdSerializer(FORMAT_PROVIDER));
+		return module;
+	}
+
+	private static ObjectMapper getObjectMapper(Module module) {
+		final var objectMapper = new ObjectMapper();
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		objectMapper.registerModule(module);
+		return objectMapper;
+	}
+
+	/**
+	 * A class whose JSON-LD properties are only read through getters
+	 */
+	@JsonLdType("vcard:Individual")
+	public static class Contact {
+		@JsonLdProperty(value = "fn", namespace = "vcard")
+		private final String name;
+
+		@JsonLdProperty(value = "hasEmail", namespace = "vcard")
+		private final String email;
+
+		public Contact(String name, String email) {
+			this.name = name;
+			this.email = email;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+	}
+
+	/**
+	 * A class whose getter fails
+	 */
+	public static class UnreachableContact {
+		@JsonLdProperty(value = "hasEmail", namespace = "vcard")
+		private String email;
+
+		public String getEmail() {
+			throw new IllegalStateException("unreachable");
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.dawex.weaver.trustframework.vc.model.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.ProofGenerator;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getDataProductVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getFormatProvider;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getOrganisationVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getProof;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getSigningJwk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonLdDeserializerTest {
+
+	private static final FormatProvider FORMAT_PROVIDER = getFormatProvider();
+
+	private static final ObjectMapper ORGANISATION_OBJECT_MAPPER = getObjectMapper()
+			.registerModule(JacksonModuleFactory.organisationSerializationModule(FORMAT_PROVIDER, () -> "https://dawex.com"));
+
+	private static final ObjectMapper DATA_PRODUCT_OBJECT_MAPPER = getObjectMapper()
+			.registerModule(JacksonModuleFactory.dataProductSerializationModule(FORMAT_PROVIDER, () -> "https://dawex.com"));
+
+	@Test
+	void shouldDeserializeOrganisationVerifiableCredential() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final var json = ORGANISATION_OBJECT_MAPPER.writeValueAsString(verifiableCredential);
+
+		// when
+		final var actual = ORGANISATION_OBJECT_MAPPER.readValue(json, OrganisationVerifiableCredential.class);
+
+		// then
+		assertThat(actual).isEqualTo(verifiableCredential);
+	}
+
+	@Test
+	void shouldDeserializeDataProductVerifiableCredential() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getDataProductVerifiableCredential();
+		final var json = DATA_PRODUCT_OBJECT_MAPPER.writeValueAsString(verifiableCredential);
+
+		// when
+		final var actual = DATA_PRODUCT_OBJECT_MAPPER.readValue(json, DataProductVerifiableCredential.class);
+
+		// then
+		assertThat(actual).isEqualTo(verifiableCredential);
+	}
+
+	@Test
+	void shouldDeserializeSignedObject() throws JsonProcessingException {
+		// given
+		final var signedVc = new SignedObject<>(getDataProductVerifiableCredential(), getProof());
+		final var json = DATA_PRODUCT_OBJECT_MAPPER.writeValueAsString(signedVc);
+
+		// when
+		final var actual = DATA_PRODUCT_OBJECT_MAPPER.readValue(json,
+				new TypeReference<SignedObject<DataProductVerifiableCredential>>() {
+				});
+
+		// then
+		assertThat(actual).isEqualTo(signedVc);
+	}
+
+	@Test
+	void shouldVerifyDeserializedSignedObject() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final var proof = ProofGenerator.generateProof(ORGANISATION_OBJECT_MAPPER.writeValueAsString(verifiableCredential),
+				"https://dawex.com/api/jwks", getSigningJwk());
+		final var json = ORGANISATION_OBJECT_MAPPER.writeValueAsString(new SignedObject<>(verifiableCredential, proof));
+
+		// when
+		final var actual = ORGANISATION_OBJECT_MAPPER.readValue(json,
+				new TypeReference<SignedObject<OrganisationVerifiableCredential>>() {
+				});
+
+		// then
+		final var payloadJson = ORGANISATION_OBJECT_MAPPER.writeValueAsString(actual.payload());
+		assertThat(JsonWebSignatureUtils.isSignatureValid(actual.proof().jws(), payloadJson, getSigningJwk().toPublicJWK())).isTrue();
+	}
+
+	@Test
+	void shouldRejectIdentifierNotMatchingFormat() throws JsonProcessingException {
+		// given
+		final var json = ORGANISATION_OBJECT_MAPPER.writeValueAsString(getOrganisationVerifiableCredential())
+				.replace("./organisations/62b573deb33e417ed-issuer", "https://example.com/issuer");
+
+		// when, then
+		assertThatThrownBy(() -> ORGANISATION_OBJECT_MAPPER.readValue(json, OrganisationVerifiableCredential.class))
+				.isInstanceOf(InvalidFormatException.class)
+				.hasMessageContaining("sd:issuer");
+	}
+
+	private static ObjectMapper getObjectMapper() {
+		final var objectMapper = new ObjectMapper();
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		return objectMapper;
+	}
+}
@@ -0,0 +1,182 @@
+package com.dawex.weaver.trustframework.vc.model.serialization;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+import com.dawex.weaver.trustframework.vc.core.Proof;
+import com.dawex.weaver.trustframework.vc.core.ProofGenerator;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.Keyring;
+import com.dawex.weaver.trustframework.vc.core.jsonld.rdf.JsonLdRdfEmitter;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.model.Address;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.AggregationOf;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getDataProductVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getFormatProvider;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getOrganisationVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getProof;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getSigningJwk;
+import static com.dawex.weaver.trustframework.vc.core.jsonld.rdf.RdfDatasetTestUtils.toCanonicalNQuads;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the RDF dataset emitted from the model has the same canonical form as the dataset obtained from the serialized
+ * JSON-LD document
+ */
+class JsonLdRdfEmitterConformanceTest {
+
+	private static final Keyring KEYRING = Keyring.builder().key(getSigningJwk()).build();
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("getVerifiableCredentials")
+	void shouldEmitSameCanonicalNQuadsAsJsonLdToRdf(String name, Object verifiableCredential, FormatProvider formatProvider,
+			Supplier<String> baseIri) throws Exception {
+		// given
+		final ObjectMapper objectMapper = getObjectMapper(formatProvider, baseIri);
+		final String json = objectMapper.writeValueAsString(verifiableCredential);
+
+		// when
+		final RdfDataset actual = new JsonLdRdfEmitter(formatProvider, baseIri).toRdfDataset(verifiableCredential);
+
+		// then
+		final RdfDataset expected = JsonLd.toRdf(JsonDocument.of(new StringReader(json))).get();
+		assertThat(actual.size()).isEqualTo(expected.size());
+		assertThat(toCanonicalNQuads(actual)).isEqualTo(toCanonicalNQuads(expected));
+	}
+
+	@Test
+	void shouldVerifySignatureOfEmittedDatasetAgainstSerializedDocument() throws Exception {
+		// given
+		final FormatProvider formatProvider = getFormatProvider();
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final var emitter = new JsonLdRdfEmitter(formatProvider, () -> "https://dawex.com");
+
+		// when
+		final Proof proof = ProofGenerator.generateProof(emitter.toRdfDataset(verifiableCredential), PROOF_TYPE_JSON_WEB_SIGNATURE_2020,
+				"https://dawex.com/api/jwks", KEYRING.getSigner(getSigningJwk().getKeyID()));
+
+		// then
+		final String json = getObjectMapper(formatProvider, () -> "https://dawex.com").writeValueAsString(verifiableCredential);
+		assertThat(JsonWebSignatureUtils.isSignatureValid(proof.jws(), json, getSigningJwk().toPublicJWK())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(proof.jws(), emitter.toRdfDataset(verifiableCredential),
+				KEYRING.getVerifier(getSigningJwk().getKeyID()), proof.type())).isTrue();
+	}
+
+	@Test
+	void shouldGiveDeterministicIrisToNestedObjectsWhenSkolemized() throws Exception {
+		// given
+		final FormatProvider formatProvider = getSkolemizedFormatProvider();
+		final var verifiableCredential = getDataProductVerifiableCredential();
+
+		// when
+		final ObjectMapper objectMapper = getObjectMapper(formatProvider, () -> "https://dawex.com");
+		final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(verifiableCredential));
+		final RdfDataset rdfDataset = new JsonLdRdfEmitter(formatProvider, () -> "https://dawex.com").toRdfDataset(verifiableCredential);
+
+		// then
+		final JsonNode aggregationOf = json.at("/sd:credentialSubject/gax-service:aggregationOf");
+		assertThat(aggregationOf.get(1).get("@id").asText()).isEqualTo("./dataproducts/62bab5ae84fd784-dataproduct#gax-service:aggregationOf/1");
+		assertThat(aggregationOf.get(0).at("/dw:distribution/0/@id").asText())
+				.isEqualTo("./dataproducts/62bab5ae84fd784-dataproduct#gax-service:aggregationOf/0/dw:distribution/0");
+		assertThat(aggregationOf.get(0).at("/dw:distribution/0/dw:location/@id").asText())
+				.isEqualTo("./dataproducts/62bab5ae84fd784-dataproduct#gax-service:aggregationOf/0/dw:distribution/0/dw:location");
+		assertThat(rdfDataset.toList())
+				.isNotEmpty()
+				.noneMatch(quad -> quad.getSubject().isBlankNode() || quad.getObject().isBlankNode());
+	}
+
+	private static Stream<Arguments> getVerifiableCredentials() {
+		final FormatProvider formatProvider = getFormatProvider();
+		final Supplier<String> baseIri = () -> "https://dawex.com";
+		return Stream.of(
+				Arguments.of("organisation", getOrganisationVerifiableCredential(), formatProvider, baseIri),
+				Arguments.of("data product", getDataProductVerifiableCredential(), formatProvider, baseIri),
+				Arguments.of("signed organisation", new SignedObject<>(getOrganisationVerifiableCredential(), getProof()), formatProvider,
+						baseIri),
+				Arguments.of("signed data product", new SignedObject<>(getDataProductVerifiableCredential(), getProof()), formatProvider,
+						baseIri),
+				Arguments.of("base IRI with path", getDataProductVerifiableCredential(), formatProvider,
+						(Supplier<String>) () -> "https://dawex.com/weaver/api/"),
+				Arguments.of("no base IRI", getOrganisationVerifiableCredential(), formatProvider, (Supplier<String>) () -> null),
+				Arguments.of("no format", getDataProductVerifiableCredential(), new DefaultFormatProvider(), baseIri),
+				Arguments.of("partial organisation", getPartialOrganisationVerifiableCredential(), formatProvider, baseIri),
+				Arguments.of("partial data product", getPartialDataProductVerifiableCredential(), formatProvider, baseIri),
+				Arguments.of("special characters", getSpecialCharactersVerifiableCredential(), formatProvider, baseIri),
+				Arguments.of("skolemized organisation", getOrganisationVerifiableCredential(), getSkolemizedFormatProvider(), baseIri),
+				Arguments.of("skolemized signed data product", new SignedObject<>(getDataProductVerifiableCredential(), getProof()),
+						getSkolemizedFormatProvider(), baseIri),
+				Arguments.of("skolemized partial data product", getPartialDataProductVerifiableCredential(), getSkolemizedFormatProvider(),
+						baseIri)
+		);
+	}
+
+	private static OrganisationVerifiableCredential getPartialOrganisationVerifiableCredential() {
+		return OrganisationVerifiableCredential.builder()
+				.id("62b573deb33e417edcb34-id")
+				.organisationCredentialSubject(OrganisationCredentialSubject.builder()
+						.name("Mercat de la Boqueria")
+						.headquarterAddress(Address.builder().countryName("ESP").build())
+						.build())
+				.build();
+	}
+
+	private static DataProductVerifiableCredential getPartialDataProductVerifiableCredential() {
+		return DataProductVerifiableCredential.builder()
+				.id(new DataProductVerifiableCredential.Id("62bab5ae84fd784b1541e8f3", "62b570acb33e417edcb345ee"))
+				.credentialSubject(DataProductCredentialSubject.builder()
+						.title("Statistics of road accidents in France")
+						.termsAndConditions(List.of())
+						.aggregationOf(List.of(AggregationOf.builder().licenses(List.of()).build()))
+						.build())
+				.build();
+	}
+
+	private static DataProductVerifiableCredential getSpecialCharactersVerifiableCredential() {
+		return DataProductVerifiableCredential.builder()
+				.id(new DataProductVerifiableCredential.Id("62bab5ae84fd784b1541e8f3", "62b570acb33e417edcb345ee"))
+				.issuer("62b570acb33e417ed-issuer")
+				.issuanceDate(LocalDate.of(2022, Month.AUGUST, 4).atTime(10, 11, 12, 345_000_000).atZone(ZoneOffset.ofHours(2)))
+				.credentialSubject(DataProductCredentialSubject.builder()
+						.id("62bab5ae84fd784-dataproduct")
+						.title("Statistics \"of\" road\naccidents\tin France \\ 1 000 €, 日本 🚗 \u0007")
+						.issued(LocalDate.of(2022, Month.JANUARY, 18).atStartOfDay(ZoneOffset.UTC))
+						.providedBy("62b570acb33e417-provider")
+						.termsAndConditions(List.of("<terms>", "and & conditions"))
+						.aggregationOf(List.of())
+						.build())
+				.build();
+	}
+
+	private static ObjectMapper getObjectMapper(FormatProvider formatProvider, Supplier<String> baseIri) {
+		return new ObjectMapper()
+				.registerModule(JacksonModuleFactory.organisationSerializationModule(formatProvider, baseIri))
+				.registerModule(JacksonModuleFactory.dataProductSerializationModule(formatProvider, baseIri));
+	}
+
+	private static FormatProvider getSkolemizedFormatProvider() {
+		final DefaultFormatProvider formatProvider = (DefaultFormatProvider) getFormatProvider();
+		formatProvider.setSkolemizationEnabled(true);
+		return formatProvider;
+	}
+}
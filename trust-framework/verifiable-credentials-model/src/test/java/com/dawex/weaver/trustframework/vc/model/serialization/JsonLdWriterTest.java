@@ -0,0 +1,100 @@
+package com.dawex.weaver.trustframework.vc.model.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.ProofGenerator;
+import com.dawex.weaver.trustframework.vc.core.SignedObject;
+import com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils;
+import com.dawex.weaver.trustframework.vc.core.jose.Keyring;
+import com.dawex.weaver.trustframework.vc.core.serialization.JsonLdWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nimbusds.jose.util.X509CertUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static com.dawex.weaver.trustframework.vc.core.jose.JsonWebSignatureUtils.PROOF_TYPE_JSON_WEB_SIGNATURE_2020;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getFormatProvider;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getOrganisationVerifiableCredential;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getSigningJwk;
+import static com.dawex.weaver.trustframework.vc.model.serialization.VerifiableCredentialFixtures.getSigningKeys;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonLdWriterTest {
+
+	private static final ObjectMapper OBJECT_MAPPER = getObjectMapper();
+
+	private static final JsonLdWriter JSON_LD_WRITER = new JsonLdWriter(OBJECT_MAPPER);
+
+	private static final Keyring KEYRING = Keyring.builder().key(getSigningJwk()).build();
+
+	@Test
+	void shouldWriteSameBytesAsString() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final byte[] expected = OBJECT_MAPPER.writeValueAsString(verifiableCredential).getBytes(StandardCharsets.UTF_8);
+
+		// when
+		final var outputStream = new ByteArrayOutputStream();
+		JSON_LD_WRITER.write(verifiableCredential, outputStream);
+		final var channelOutputStream = new ByteArrayOutputStream();
+		JSON_LD_WRITER.write(verifiableCredential, Channels.newChannel(channelOutputStream));
+		final var buffer = ByteBuffer.allocate(8192);
+		final int written = JSON_LD_WRITER.write(verifiableCredential, buffer);
+
+		// then
+		assertThat(JSON_LD_WRITER.writeAsBytes(verifiableCredential)).isEqualTo(expected);
+		assertThat(outputStream.toByteArray()).isEqualTo(expected);
+		assertThat(channelOutputStream.toByteArray()).isEqualTo(expected);
+		assertThat(written).isEqualTo(expected.length);
+		assertThat(buffer.flip()).isEqualTo(ByteBuffer.wrap(expected));
+	}
+
+	@Test
+	void shouldNotMoveBufferPositionWhenItIsTooSmall() {
+		// given
+		final var buffer = ByteBuffer.allocate(64).position(10);
+
+		// when, then
+		assertThatThrownBy(() -> JSON_LD_WRITER.write(getOrganisationVerifiableCredential(), buffer))
+				.isInstanceOf(BufferOverflowException.class);
+		assertThat(buffer.position()).isEqualTo(10);
+	}
+
+	@Test
+	void shouldSignBytesLikeString() throws JsonProcessingException {
+		// given
+		final var verifiableCredential = getOrganisationVerifiableCredential();
+		final byte[] jsonLd = JSON_LD_WRITER.writeAsBytes(verifiableCredential);
+
+		// when
+		final var proof = ProofGenerator.generateProof(jsonLd, PROOF_TYPE_JSON_WEB_SIGNATURE_2020, "https://dawex.com/api/jwks",
+				KEYRING.getSigner(getSigningJwk().getKeyID()));
+		final var streamedProof = ProofGenerator.generateProof(new ByteArrayInputStream(jsonLd), PROOF_TYPE_JSON_WEB_SIGNATURE_2020,
+				"https://dawex.com/api/jwks", KEYRING.getSigner(getSigningJwk().getKeyID()));
+		final var signedVc = new SignedObject<>(verifiableCredential, proof);
+
+		// then
+		final String jsonLdString = OBJECT_MAPPER.writeValueAsString(verifiableCredential);
+		assertThat(JsonWebSignatureUtils.isSignatureValid(proof.jws(), jsonLdString, getSigningJwk().toPublicJWK())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(streamedProof.jws(), jsonLd, KEYRING.getVerifier(getSigningJwk().getKeyID()),
+				streamedProof.type())).isTrue();
+		assertThat(JsonWebSignatureUtils.isSignatureValid(proof.jws(), jsonLdString, X509CertUtils.parse(getSigningKeys().certificates().get(0))))
+				.isTrue();
+		assertThat(JSON_LD_WRITER.writeAsBytes(signedVc))
+				.isEqualTo(OBJECT_MAPPER.writeValueAsString(signedVc).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static ObjectMapper getObjectMapper() {
+		final var objectMapper = new ObjectMapper();
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		objectMapper.registerModule(JacksonModuleFactory.organisationSerializationModule(getFormatProvider(), () -> "https://dawex.com"));
+		return objectMapper;
+	}
+}
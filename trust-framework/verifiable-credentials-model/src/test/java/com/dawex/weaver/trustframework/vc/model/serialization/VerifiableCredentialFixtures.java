@@ -0,0 +1,174 @@
+package com.dawex.weaver.trustframework.vc.model.serialization;
+
+import com.dawex.weaver.trustframework.vc.core.Proof;
+import com.dawex.weaver.trustframework.vc.core.jose.JwkSetUtils;
+import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;
+import com.dawex.weaver.trustframework.vc.model.Address;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.AggregationOf;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.DataProductVerifiableCredential;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Distribution;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.Location;
+import com.dawex.weaver.trustframework.vc.model.dataproduct.PersonalDataPolicy;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationCredentialSubject;
+import com.dawex.weaver.trustframework.vc.model.organisation.OrganisationVerifiableCredential;
+import com.nimbusds.jose.jwk.JWK;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.DATA_PRODUCT_COPYRIGHT_OWNED_BY;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.DATA_PRODUCT_CREDENTIAL_SUBJECT;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.DATA_PRODUCT_ISSUER;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.DATA_PRODUCT_PROVIDED_BY;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.DATA_PRODUCT_VERIFIABLE_CREDENTIAL;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.ORGANISATION_CREDENTIAL_SUBJECT;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.ORGANISATION_ISSUER;
+import static com.dawex.weaver.trustframework.vc.model.serialization.Format.ORGANISATION_VERIFIABLE_CREDENTIAL;
+
+/**
+ * Verifiable credentials, format provider, proof and signing key shared by the serialization tests and the benchmarks
+ */
+public final class VerifiableCredentialFixtures {
+
+	private VerifiableCredentialFixtures() {
+		// no instance allowed
+	}
+
+	/**
+	 * Returns the RSA keys signing the verifiable credentials, with their certificates, created once
+	 */
+	public static JwkSetUtils.CreatedKeys getSigningKeys() {
+		return SigningKeys.CREATED_KEYS;
+	}
+
+	/**
+	 * Returns the first RSA key of {@link #getSigningKeys()}
+	 */
+	public static JWK getSigningJwk() {
+		return SigningKeys.JWK;
+	}
+
+	/**
+	 * Returns a JsonWebSignature2020 proof, whose signature is not valid
+	 */
+	public static Proof getProof() {
+		return Proof.builder()
+				.type("JsonWebSignature2020")
+				.created(LocalDate.of(2022, Month.AUGUST, 4).atTime(10, 11, 12).atZone(ZoneOffset.UTC))
+				.proofPurpose("assertionMethod")
+				.verificationMethod("https://dawex.com/api/jwks")
+				.jws("eyJhbGciOiJQUzI1NiJ9..c2lnbmF0dXJl")
+				.build();
+	}
+
+	public static FormatProvider getFormatProvider() {
+		final DefaultFormatProvider formatProvider = new DefaultFormatProvider();
+		formatProvider.setFormat(ORGANISATION_VERIFIABLE_CREDENTIAL, "./organisations/%s/verifiableCredential");
+		formatProvider.setFormat(ORGANISATION_CREDENTIAL_SUBJECT, "./organisations/%s");
+		formatProvider.setFormat(ORGANISATION_ISSUER, "./organisations/%s");
+		formatProvider.setFormat(DATA_PRODUCT_VERIFIABLE_CREDENTIAL, "./organisations/%s/dataproducts/%s/verifiableCredential");
+		formatProvider.setFormat(DATA_PRODUCT_ISSUER, "./organisations/%s");
+		formatProvider.setFormat(DATA_PRODUCT_CREDENTIAL_SUBJECT, "./dataproducts/%s");
+		formatProvider.setFormat(DATA_PRODUCT_PROVIDED_BY, "./organisations/%s/verifiableCredential");
+		formatProvider.setFormat(DATA_PRODUCT_COPYRIGHT_OWNED_BY, "./organisations/%s/verifiableCredential");
+		return formatProvider;
+	}
+
+	public static OrganisationVerifiableCredential getOrganisationVerifiableCredential() {
+		return OrganisationVerifiableCredential.builder()
+				.id("62b573deb33e417edcb34-id")
+				.issuer("62b573deb33e417ed-issuer")
+				.issuanceDate(LocalDate.of(2022, Month.JULY, 28).atTime(15, 16, 1).atZone(ZoneOffset.UTC))
+				.organisationCredentialSubject(OrganisationCredentialSubject.builder()
+						.id("62b573deb33e417e-company")
+						.name("Mercat de la Boqueria")
+						.registrationNumber("AB-1234-YZ")
+						.headquarterAddress(Address.builder()
+								.streetAddress("La Rambla, 91")
+								.postalCode("08001")
+								.region("Cataluña")
+								.locality("Barcelona")
+								.countryName("ESP")
+								.build())
+						.legalAddress(Address.builder()
+								.streetAddress("7 rue Grenette")
+								.postalCode("74000")
+								.region("Savoie")
+								.locality("Annecy")
+								.countryName("FRA")
+								.build())
+						.build())
+				.build();
+	}
+
+	/**
+	 * Returns a data product verifiable credential aggregating two datasets, with repeated terms and conditions
+	 */
+	public static DataProductVerifiableCredential getDataProductVerifiableCredential() {
+		return getDataProductVerifiableCredential(List.of(
+				getAggregationOf("62bac14584fd784b1541e9cb", PersonalDataPolicy.NO_PERSONAL_DATA, getDistributions()),
+				getAggregationOf("62bac14584fd784b1541e9cc", PersonalDataPolicy.ANONYMIZED_PERSONAL_DATA, getDistributions())));
+	}
+
+	public static DataProductVerifiableCredential getDataProductVerifiableCredential(List<AggregationOf> aggregationOf) {
+		return DataProductVerifiableCredential.builder()
+				.id(new DataProductVerifiableCredential.Id("62bab5ae84fd784b1541e8f3", "62b570acb33e417edcb345ee"))
+				.issuer("62b570acb33e417ed-issuer")
+				.issuanceDate(LocalDate.of(2022, Month.AUGUST, 4).atStartOfDay(ZoneOffset.UTC))
+				.credentialSubject(DataProductCredentialSubject.builder()
+						.id("62bab5ae84fd784-dataproduct")
+						.title("Statistics of road accidents in France")
+						.description("This publication provides data on road accidents in France.")
+						.issued(LocalDate.of(2022, Month.JANUARY, 18).atStartOfDay(ZoneOffset.UTC))
+						.providedBy("62b570acb33e417-provider")
+						.termsAndConditions(List.of("terms", "and", "conditions", "and"))
+						.aggregationOf(aggregationOf)
+						.build())
+				.build();
+	}
+
+	public static AggregationOf getAggregationOf(String id, PersonalDataPolicy personalDataPolicy, List<Distribution> distributions) {
+		return AggregationOf.builder()
+				.id(id)
+				.copyrightOwnedBy("62b570acb33e41-copyright")
+				.licenses(List.of("MIT", "LGPL-3.0"))
+				.personalDataPolicy(personalDataPolicy)
+				.distributions(distributions)
+				.build();
+	}
+
+	/**
+	 * Returns a located distribution, and an empty one without algorithm nor location
+	 */
+	private static List<Distribution> getDistributions() {
+		return List.of(
+				Distribution.builder()
+						.title("tangerine.csv")
+						.mediaType("text/csv")
+						.byteSize(139855L)
+						.fileHash("37f5d519788d497dcaaa345ba0cb9629fb13ffe23011eb7751796153985a86fb")
+						.algorithm("SHA-256")
+						.location(Location.builder()
+								.dataCenterLocation("Europe (Ireland)")
+								.build())
+						.build(),
+				Distribution.builder()
+						.title("tangerine.json")
+						.mediaType("application/json")
+						.byteSize(0L)
+						.fileHash("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+						.build());
+	}
+
+	/**
+	 * The signing keys, created when they are first used
+	 */
+	private static final class SigningKeys {
+		private static final JwkSetUtils.CreatedKeys CREATED_KEYS = JwkSetUtils.createKeys("Test", 12);
+
+		private static final JWK JWK = CREATED_KEYS.jwkSet().getKeys().get(0);
+	}
+}
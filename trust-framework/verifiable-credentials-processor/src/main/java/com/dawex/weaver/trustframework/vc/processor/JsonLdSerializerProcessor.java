@@ -0,0 +1,220 @@
+package com.dawex.weaver.trustframework.vc.processor;
+
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdProperty;
+import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates a dedicated JSON-LD serializer for each class annotated with {@link JsonLdProperty}, {@link JsonLdType} or
+ * {@link JsonLdContexts}.
+ * <p>
+ * The generated serializer of a class <code>Foo</code> is named <code>FooJsonLdSerializer</code> and is created in the same package.
+ * It extends {@link com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer} and calls the getters directly,
+ * so that no reflection is involved when serializing; the JSON output is the same as the one of the reflective serializer.
+ * <p>
+ * The read method of a property is resolved like the reflective
+ * {@link com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializationPlan} does: the record accessor for records,
+ * otherwise the public, non-static and non-void method named after the field, or else the getter (<code>get</code> followed by the
+ * capitalized field name).
+ */
+public class JsonLdSerializerProcessor extends AbstractProcessor {
+
+	static final String SERIALIZER_SUFFIX = "JsonLdSerializer";
+
+	private static final String GETTER_PREFIX = "get";
+
+	private final Set<String> generatedTypes = new HashSet<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Set.of(JsonLdProperty.class.getCanonicalName(), JsonLdType.class.getCanonicalName(),
+				JsonLdContexts.class.getCanonicalName());
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final Set<TypeElement> annotatedTypes = new LinkedHashSet<>();
+		for (Element element : roundEnv.getElementsAnnotatedWith(JsonLdProperty.class)) {
+			if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement typeElement) {
+				annotatedTypes.add(typeElement);
+			}
+		}
+		ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(JsonLdType.class)).forEach(annotatedTypes::add);
+		ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(JsonLdContexts.class)).forEach(annotatedTypes::add);
+
+		for (TypeElement typeElement : annotatedTypes) {
+			if (isSerializable(typeElement) && generatedTypes.add(typeElement.getQualifiedName().toString())) {
+				describe(typeElement).ifPresent(this::generate);
+			}
+		}
+		// the annotations are also read at runtime, so they are not claimed
+		return false;
+	}
+
+	/**
+	 * Only concrete, non-generic and non-private classes and records can have a generated serializer
+	 */
+	private boolean isSerializable(TypeElement typeElement) {
+		final ElementKind kind = typeElement.getKind();
+		if (kind != ElementKind.CLASS && kind != ElementKind.RECORD) {
+			return false;
+		}
+		final Set<Modifier> modifiers = typeElement.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE) || !typeElement.getTypeParameters().isEmpty()) {
+			return false;
+		}
+		final NestingKind nestingKind = typeElement.getNestingKind();
+		if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+			return false;
+		}
+		return nestingKind == NestingKind.TOP_LEVEL || modifiers.contains(Modifier.STATIC) || kind == ElementKind.RECORD;
+	}
+
+	private Optional<SerializerDescriptor> describe(TypeElement typeElement) {
+		final List<PropertyDescriptor> properties = new ArrayList<>();
+		if (!collectProperties(typeElement, properties)) {
+			return Optional.empty();
+		}
+		return Optional.of(new SerializerDescriptor(
+				typeElement,
+				findContextsOwner(typeElement),
+				findTypes(typeElement),
+				properties));
+	}
+
+	private static TypeElement findContextsOwner(TypeElement typeElement) {
+		for (TypeElement current = typeElement; current != null; current = getSuperclass(current)) {
+			if (current.getAnnotation(JsonLdContexts.class) != null) {
+				return current;
+			}
+		}
+		return null;
+	}
+
+	private static List<String> findTypes(TypeElement typeElement) {
+		for (TypeElement current = typeElement; current != null; current = getSuperclass(current)) {
+			final JsonLdType jsonLdType = current.getAnnotation(JsonLdType.class);
+			if (jsonLdType != null) {
+				return List.of(jsonLdType.value());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the properties of the class hierarchy, parent class properties first
+	 *
+	 * @return false if a read method cannot be resolved
+	 */
+	private boolean collectProperties(TypeElement typeElement, List<PropertyDescriptor> properties) {
+		if (typeElement == null) {
+			return true;
+		}
+		if (!collectProperties(getSuperclass(typeElement), properties)) {
+			return false;
+		}
+		for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+			final JsonLdProperty jsonLdProperty = field.getAnnotation(JsonLdProperty.class);
+			if (jsonLdProperty == null) {
+				continue;
+			}
+			final Optional<String> readMethod = findReadMethod(typeElement, field);
+			if (readMethod.isEmpty()) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+						"No read method found for the JSON-LD property " + field.getSimpleName(), field);
+				return false;
+			}
+			properties.add(new PropertyDescriptor(field.getSimpleName().toString(), getJsonFieldName(jsonLdProperty), jsonLdProperty.formatName(),
+					jsonLdProperty.mandatory(), readMethod.get()));
+		}
+		return true;
+	}
+
+	private Optional<String> findReadMethod(TypeElement typeElement, VariableElement field) {
+		final String fieldName = field.getSimpleName().toString();
+		final List<String> candidates = typeElement.getKind() == ElementKind.RECORD
+				? List.of(fieldName)
+				: List.of(fieldName, GETTER_PREFIX + capitalize(fieldName));
+		final List<ExecutableElement> methods =
+				ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement));
+		for (String candidate : candidates) {
+			for (ExecutableElement method : methods) {
+				if (method.getSimpleName().contentEquals(candidate)
+						&& method.getParameters().isEmpty()
+						&& method.getReturnType().getKind() != TypeKind.VOID
+						&& method.getModifiers().contains(Modifier.PUBLIC)
+						&& !method.getModifiers().contains(Modifier.STATIC)) {
+					return Optional.of(candidate);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static TypeElement getSuperclass(TypeElement typeElement) {
+		final TypeMirror superclass = typeElement.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		final TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+		final String name = superElement.getQualifiedName().toString();
+		return Object.class.getName().equals(name) || Record.class.getName().equals(name) ? null : superElement;
+	}
+
+	private static String getJsonFieldName(JsonLdProperty jsonLdProperty) {
+		return jsonLdProperty.namespace().isEmpty()
+				? jsonLdProperty.value()
+				: "%s:%s".formatted(jsonLdProperty.namespace(), jsonLdProperty.value());
+	}
+
+	/**
+	 * Same capitalization as java.beans, used by the reflective serialization plan to resolve getters
+	 */
+	private static String capitalize(String name) {
+		return name.substring(0, 1).toUpperCase(Locale.ENGLISH) + name.substring(1);
+	}
+
+	private void generate(SerializerDescriptor descriptor) {
+		final String serializerName = descriptor.serializerQualifiedName(processingEnv.getElementUtils());
+		try {
+			final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(serializerName, descriptor.typeElement());
+			try (final Writer writer = sourceFile.openWriter()) {
+				writer.write(new SerializerSourceWriter(descriptor, processingEnv.getElementUtils()).write());
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Cannot generate the JSON-LD serializer " + serializerName + ": " + e.getMessage(), descriptor.typeElement());
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.dawex.weaver.trustframework.vc.processor;
+
+/**
+ * A JSON-LD property of a serialized class
+ *
+ * @param fieldName      the name of the annotated field
+ * @param jsonFieldName  the JSON field name, prefixed by the namespace if any
+ * @param formatName     the format name, empty if the value is not formatted
+ * @param mandatory      true if the property is written even if its value is null
+ * @param readMethodName the name of the method returning the property value
+ */
+record PropertyDescriptor(
+		String fieldName,
+		String jsonFieldName,
+		String formatName,
+		boolean mandatory,
+		String readMethodName
+) {
+}
@@ -0,0 +1,59 @@
+package com.dawex.weaver.trustframework.vc.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.List;
+
+/**
+ * Everything needed to generate the JSON-LD serializer of a class, resolved from its annotations
+ *
+ * @param typeElement   the serialized class
+ * @param contextsOwner the class (the serialized class or one of its parents) declaring the JSON-LD contexts, null if there is none
+ * @param types         the JSON-LD types, null if there is none
+ * @param properties    the JSON-LD properties, parent class properties first
+ */
+record SerializerDescriptor(
+		TypeElement typeElement,
+		TypeElement contextsOwner,
+		List<String> types,
+		List<PropertyDescriptor> properties
+) {
+
+	String packageName(Elements elements) {
+		final PackageElement packageElement = elements.getPackageOf(typeElement);
+		return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+	}
+
+	/**
+	 * Name of the serialized class relative to its package, e.g. <code>Outer.Inner</code> for a nested class
+	 */
+	String relativeName(Elements elements) {
+		return relativeName(typeElement, elements);
+	}
+
+	String relativeName(TypeElement element, Elements elements) {
+		final String packageName = packageName(elements);
+		final String qualifiedName = element.getQualifiedName().toString();
+		return elements.getPackageOf(element).equals(elements.getPackageOf(typeElement)) && !packageName.isEmpty()
+				? qualifiedName.substring(packageName.length() + 1)
+				: qualifiedName;
+	}
+
+	/**
+	 * Simple name of the generated serializer, e.g. <code>Outer_InnerJsonLdSerializer</code> for a nested class
+	 */
+	String serializerSimpleName() {
+		final StringBuilder name = new StringBuilder();
+		for (Element element = typeElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			name.insert(0, name.length() == 0 ? element.getSimpleName() : element.getSimpleName() + "_");
+		}
+		return name + JsonLdSerializerProcessor.SERIALIZER_SUFFIX;
+	}
+
+	String serializerQualifiedName(Elements elements) {
+		final String packageName = packageName(elements);
+		return packageName.isEmpty() ? serializerSimpleName() : packageName + "." + serializerSimpleName();
+	}
+}
@@ -0,0 +1,168 @@
+package com.dawex.weaver.trustframework.vc.processor;
+
+import javax.lang.model.util.Elements;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the source code of a generated JSON-LD serializer
+ */
+class SerializerSourceWriter {
+
+	private final SerializerDescriptor descriptor;
+
+	private final Elements elements;
+
+	private final StringBuilder source = new StringBuilder();
+
+	SerializerSourceWriter(SerializerDescriptor descriptor, Elements elements) {
+		this.descriptor = descriptor;
+		this.elements = elements;
+	}
+
+	String write() {
+		final String packageName = descriptor.packageName(elements);
+		final String targetName = descriptor.relativeName(elements);
+		final String serializerName = descriptor.serializerSimpleName();
+
+		if (!packageName.isEmpty()) {
+			line("package %s;", packageName);
+			line("");
+		}
+		line("import com.dawex.weaver.trustframework.vc.core.jsonld.annotation.JsonLdContexts;");
+		line("import com.dawex.weaver.trustframework.vc.core.jsonld.exception.JsonLdSerializationException;");
+		line("import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.FormatProvider;");
+		line("import com.dawex.weaver.trustframework.vc.core.jsonld.serialization.JsonLdSerializer;");
+		line("import com.fasterxml.jackson.core.JsonGenerator;");
+		line("import com.fasterxml.jackson.core.SerializableString;");
+		line("import com.fasterxml.jackson.core.io.SerializedString;");
+		line("import com.fasterxml.jackson.databind.SerializerProvider;");
+		line("");
+		line("import javax.annotation.processing.Generated;");
+		line("import java.io.IOException;");
+		line("import java.util.List;");
+		line("");
+		line("/**");
+		line(" * JSON-LD serializer of {@link %s}, generated at compile time from its annotations", targetName);
+		line(" */");
+		line("@Generated(\"%s\")", JsonLdSerializerProcessor.class.getName());
+		line("public final class %s extends JsonLdSerializer<%s> {", serializerName, targetName);
+		line("");
+		line("\tprivate static final JsonLdContexts CONTEXTS = %s;", descriptor.contextsOwner() == null
+				? "null"
+				: descriptor.relativeName(descriptor.contextsOwner(), elements) + ".class.getAnnotation(JsonLdContexts.class)");
+		line("");
+		line("\tprivate static final List<SerializableString> TYPES = %s;", descriptor.types() == null
+				? "null"
+				: descriptor.types().stream().map(SerializerSourceWriter::serializedString).collect(Collectors.joining(", ", "List.of(", ")")));
+		line("");
+		final List<String> fieldConstants = fieldConstants();
+		final List<String> readMethods = readMethods();
+		for (int i = 0; i < fieldConstants.size(); i++) {
+			line("\tprivate static final SerializableString %s = %s;", fieldConstants.get(i),
+					serializedString(descriptor.properties().get(i).jsonFieldName()));
+			line("");
+		}
+		line("\tpublic %s(FormatProvider formatProvider) {", serializerName);
+		line("\t\tsuper(%s.class, formatProvider);", targetName);
+		line("\t}");
+		line("");
+		line("\t@Override");
+		line("\tpublic void serializeContents(%s value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)", targetName);
+		line("\t\t\tthrows IOException {");
+		line("\t\twriteContext(CONTEXTS, jsonGenerator);");
+		line("\t\twriteType(TYPES, jsonGenerator);");
+		for (int i = 0; i < fieldConstants.size(); i++) {
+			final PropertyDescriptor property = descriptor.properties().get(i);
+			line("\t\twriteJsonLdProperty(%s, %s, %s, %s(value), jsonGenerator);",
+					fieldConstants.get(i), literal(property.formatName()), property.mandatory(), readMethods.get(i));
+		}
+		line("\t}");
+		for (int i = 0; i < readMethods.size(); i++) {
+			// keep the same exception type as a failing getter called by the reflective serializer
+			line("");
+			line("\tprivate static Object %s(%s value) {", readMethods.get(i), targetName);
+			line("\t\ttry {");
+			line("\t\t\treturn value.%s();", descriptor.properties().get(i).readMethodName());
+			line("\t\t} catch (JsonLdSerializationException e) {");
+			line("\t\t\tthrow e;");
+			line("\t\t} catch (RuntimeException e) {");
+			line("\t\t\tthrow new JsonLdSerializationException(e);");
+			line("\t\t}");
+			line("\t}");
+		}
+		line("}");
+		return source.toString();
+	}
+
+	/**
+	 * Returns the names of the constants holding the pre-encoded JSON field names, e.g. FIELD_ISSUANCE_DATE for issuanceDate
+	 */
+	private List<String> fieldConstants() {
+		final Set<String> names = new HashSet<>();
+		return descriptor.properties().stream()
+				.map(property -> {
+					final String name = "FIELD_" + property.fieldName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ENGLISH);
+					// a field may hide a parent class field with the same name
+					String uniqueName = name;
+					for (int suffix = 2; !names.add(uniqueName); suffix++) {
+						uniqueName = name + "_" + suffix;
+					}
+					return uniqueName;
+				})
+				.toList();
+	}
+
+	/**
+	 * Returns the names of the methods calling the read methods, e.g. readIssuanceDate for issuanceDate
+	 */
+	private List<String> readMethods() {
+		final Set<String> names = new HashSet<>();
+		return descriptor.properties().stream()
+				.map(property -> {
+					final String name = "read" + property.fieldName().substring(0, 1).toUpperCase(Locale.ENGLISH)
+							+ property.fieldName().substring(1);
+					String uniqueName = name;
+					for (int suffix = 2; !names.add(uniqueName); suffix++) {
+						uniqueName = name + suffix;
+					}
+					return uniqueName;
+				})
+				.toList();
+	}
+
+	private static String serializedString(String value) {
+		return "new SerializedString(%s)".formatted(literal(value));
+	}
+
+	private void line(String format, Object... args) {
+		source.append(args.length == 0 ? format : format.formatted(args)).append('\n');
+	}
+
+	/**
+	 * Returns the Java String literal of the value
+	 */
+	static String literal(String value) {
+		final StringBuilder literal = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				case '\r' -> literal.append("\\r");
+				case '\t' -> literal.append("\\t");
+				default -> {
+					if (c < 0x20 || c > 0x7e) {
+						literal.append("\\u%04x".formatted((int) c));
+					} else {
+						literal.append(c);
+					}
+				}
+			}
+		}
+		return literal.append('"').toString();
+	}
+}